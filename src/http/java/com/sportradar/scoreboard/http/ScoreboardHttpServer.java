@@ -0,0 +1,228 @@
+package com.sportradar.scoreboard.http;
+
+import com.sportradar.scoreboard.Scoreboard;
+import com.sportradar.scoreboard.SummarySnapshot;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves a {@link Scoreboard} over HTTP with the JDK's built-in server, handling every
+ * exchange on its own virtual thread so that thousands of mostly idle clients cost little
+ * more than their sockets.
+ * <ul>
+ *     <li>{@code POST /games/start?home=..&away=..} starts a game: 201</li>
+ *     <li>{@code POST /games/score?home=..&away=..&homeScore=..&awayScore=..} updates a score: 204</li>
+ *     <li>{@code POST /games/finish?home=..&away=..} finishes a game: 204</li>
+ *     <li>{@code GET /summary} returns the summary as JSON, tagged with the board version</li>
+ * </ul>
+ * Rejected requests answer 400 for invalid arguments and 409 for games that already exist
+ * or are not live, with the reason as plain text.
+ * <p>
+ * Writes are applied one at a time under a lock, as the scoreboard expects a single writer.
+ * Reads never take the lock: they serve the JSON rendering of the latest
+ * {@link SummarySnapshot}, serialized once per board version and then written as is to
+ * every client asking for that version.
+ * Once served, the scoreboard must not be used directly.
+ */
+public final class ScoreboardHttpServer implements AutoCloseable {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String TEXT = "text/plain; charset=utf-8";
+
+    private final Scoreboard scoreboard;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server for a scoreboard and binds it; call {@link #start()} to serve requests.
+     *
+     * @param scoreboard the scoreboard to serve
+     * @param address the address to listen on; port 0 picks a free port
+     * @throws IOException if the address cannot be bound
+     * @throws IllegalArgumentException if scoreboard or address is null
+     */
+    public ScoreboardHttpServer(Scoreboard scoreboard, InetSocketAddress address) throws IOException {
+        if (scoreboard == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null");
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        this.scoreboard = scoreboard;
+        scoreboard.enableSnapshots();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/games/", this::handleGame);
+        server.createContext("/summary", this::handleSummary);
+    }
+
+    /**
+     * Runs a server on an empty scoreboard until the process is stopped.
+     *
+     * @param args the port to listen on, 8080 if omitted
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        ScoreboardHttpServer server = new ScoreboardHttpServer(new Scoreboard(), new InetSocketAddress(port));
+        server.start();
+        System.out.printf("Serving scoreboard on port %d%n", server.getAddress().getPort());
+    }
+
+    /**
+     * Starts serving requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the address the server listens on.
+     *
+     * @return the bound address
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for exchanges in progress and
+     * releases the executor.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+    }
+
+    private void handleGame(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, TEXT, bytes("Method not allowed"));
+                return;
+            }
+            String action = exchange.getRequestURI().getPath().substring("/games/".length());
+            int status;
+            try {
+                Map<String, String> params = parameters(exchange.getRequestURI().getRawQuery());
+                String home = params.get("home");
+                String away = params.get("away");
+                writeLock.lock();
+                try {
+                    switch (action) {
+                        case "start":
+                            scoreboard.startGame(home, away);
+                            status = 201;
+                            break;
+                        case "score":
+                            scoreboard.updateScore(home, away, score(params, "homeScore"), score(params, "awayScore"));
+                            status = 204;
+                            break;
+                        case "finish":
+                            scoreboard.finishGame(home, away);
+                            status = 204;
+                            break;
+                        default:
+                            status = 404;
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, TEXT, bytes(e.getMessage()));
+                return;
+            } catch (IllegalStateException e) {
+                send(exchange, 409, TEXT, bytes(e.getMessage()));
+                return;
+            }
+            send(exchange, status, TEXT, status == 404 ? bytes("Unknown action " + action) : null);
+        }
+    }
+
+    private void handleSummary(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Contexts match by prefix
+            if (!"/summary".equals(exchange.getRequestURI().getPath())) {
+                send(exchange, 404, TEXT, bytes("Not found"));
+                return;
+            }
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, TEXT, bytes("Method not allowed"));
+                return;
+            }
+            SummarySnapshot summary = scoreboard.getSnapshot();
+            String etag = "\"" + summary.getVersion() + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            ByteBuffer body = summary.toJson();
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(200, body.remaining());
+            try (WritableByteChannel out = Channels.newChannel(exchange.getResponseBody())) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static int score(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("Parameter %s is required", name));
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Parameter %s must be an integer", name));
+        }
+    }
+
+    private static Map<String, String> parameters(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
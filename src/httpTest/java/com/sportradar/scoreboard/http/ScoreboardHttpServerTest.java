@@ -0,0 +1,142 @@
+package com.sportradar.scoreboard.http;
+
+import com.sportradar.scoreboard.Scoreboard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardHttpServerTest {
+
+    private Scoreboard scoreboard;
+    private ScoreboardHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scoreboard = new Scoreboard();
+        server = new ScoreboardHttpServer(scoreboard, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void shouldStartUpdateAndFinishGames() throws Exception {
+        assertEquals(201, post("/games/start?home=Mexico&away=Canada").statusCode());
+        assertEquals(201, post("/games/start?home=Spain&away=Brazil").statusCode());
+        assertEquals(204, post("/games/score?home=Spain&away=Brazil&homeScore=10&awayScore=2").statusCode());
+        assertEquals(204, post("/games/finish?home=Mexico&away=Canada").statusCode());
+
+        HttpResponse<String> summary = get("/summary");
+
+        assertEquals(200, summary.statusCode());
+        assertEquals("application/json; charset=utf-8", summary.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("{\"version\":4,\"matches\":[{\"home\":\"Spain\",\"away\":\"Brazil\",\"homeScore\":10,\"awayScore\":2}]}",
+                summary.body());
+    }
+
+    @Test
+    void shouldDecodeAndEscapeTeamNames() throws Exception {
+        post("/games/start?home=C%C3%B4te%20d%27Ivoire&away=%22Quoted%22");
+
+        assertEquals("{\"version\":1,\"matches\":[{\"home\":\"C\u00f4te d'Ivoire\",\"away\":\"\\\"Quoted\\\"\","
+                + "\"homeScore\":0,\"awayScore\":0}]}", get("/summary").body());
+    }
+
+    @Test
+    void shouldServeSameRenderingUntilVersionChanges() throws Exception {
+        post("/games/start?home=Mexico&away=Canada");
+
+        HttpResponse<String> first = get("/summary");
+        HttpResponse<String> second = get("/summary");
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<String> notModified = client.send(request("/summary")
+                .header("If-None-Match", etag).GET().build(), HttpResponse.BodyHandlers.ofString());
+        post("/games/score?home=Mexico&away=Canada&homeScore=1&awayScore=0");
+        HttpResponse<String> changed = get("/summary");
+
+        assertEquals("\"1\"", etag);
+        assertEquals(first.body(), second.body());
+        assertEquals(304, notModified.statusCode());
+        assertEquals("\"2\"", changed.headers().firstValue("ETag").orElseThrow());
+        assertTrue(changed.body().contains("\"homeScore\":1"));
+    }
+
+    @Test
+    void shouldRejectInvalidRequests() throws Exception {
+        post("/games/start?home=Mexico&away=Canada");
+
+        assertEquals(409, post("/games/start?home=Mexico&away=Canada").statusCode());
+        assertEquals(409, post("/games/finish?home=Spain&away=Brazil").statusCode());
+        assertEquals(400, post("/games/start?home=Mexico&away=Mexico").statusCode());
+        assertEquals(400, post("/games/score?home=Mexico&away=Canada&homeScore=one&awayScore=0").statusCode());
+        assertEquals(400, post("/games/score?home=Mexico&away=Canada&homeScore=1").statusCode());
+        assertEquals(404, post("/games/restart?home=Mexico&away=Canada").statusCode());
+        assertEquals(405, get("/games/start?home=Spain&away=Brazil").statusCode());
+        assertEquals(405, post("/summary").statusCode());
+        assertEquals(404, get("/summaryxyz").statusCode());
+        assertEquals(404, get("/summary/anything").statusCode());
+    }
+
+    @Test
+    void shouldServeManyConcurrentClients() throws Exception {
+        int games = 200;
+        List<CompletableFuture<HttpResponse<String>>> starts = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            starts.add(client.sendAsync(request("/games/start?home=Home" + i + "&away=Away" + i)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> start : starts) {
+            assertEquals(201, start.join().statusCode());
+        }
+        List<CompletableFuture<HttpResponse<String>>> reads = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            reads.add(client.sendAsync(request("/summary").GET().build(), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        String expected = reads.get(0).join().body();
+        for (CompletableFuture<HttpResponse<String>> read : reads) {
+            assertEquals(expected, read.join().body());
+        }
+        assertEquals(games, scoreboard.getSnapshot().size());
+    }
+
+    @Test
+    void shouldRejectNullArguments() {
+        InetSocketAddress address = new InetSocketAddress(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardHttpServer(null, address));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardHttpServer(new Scoreboard(), null));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path) throws Exception {
+        return client.send(request(path).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        InetSocketAddress address = server.getAddress();
+        return HttpRequest.newBuilder(URI.create("http://" + address.getHostString() + ":" + address.getPort() + path));
+    }
+}
@@ -0,0 +1,53 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ColumnarScoreboard#getSummary()} on simulation-sized boards, sequential against
+ * parallel. With "realistic" scores (0 to 5 goals a side) the summary counting-sorts; with
+ * "wide" scores (up to a million) it falls back to sorting packed keys. The parallel path
+ * only pays off with several cores and well over a hundred thousand matches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnarSummaryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int liveMatches;
+
+    @Param({"realistic", "wide"})
+    public String scores;
+
+    private ColumnarScoreboard scoreboard;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1L);
+        int bound = "realistic".equals(scores) ? 6 : 1_000_000;
+        scoreboard = new ColumnarScoreboard(liveMatches);
+        for (int i = 0; i < liveMatches; i++) {
+            scoreboard.startGame("Home " + i, "Away " + i);
+            scoreboard.updateScore("Home " + i, "Away " + i, random.nextInt(bound), random.nextInt(bound));
+        }
+    }
+
+    @Benchmark
+    public List<Match> sequential() {
+        scoreboard.setParallelThreshold(Integer.MAX_VALUE);
+        return scoreboard.getSummary();
+    }
+
+    @Benchmark
+    public List<Match> parallel() {
+        scoreboard.setParallelThreshold(0);
+        return scoreboard.getSummary();
+    }
+}
@@ -0,0 +1,90 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures score update throughput as the number of writer threads grows,
+ * comparing {@link ConcurrentScoreboard} with a {@link Scoreboard} behind a single monitor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentScoreboardBenchmark {
+
+    @Param({"concurrent", "synchronized"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int liveMatches;
+
+    private boolean concurrent;
+    private ConcurrentScoreboard concurrentScoreboard;
+    private Scoreboard scoreboard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+
+    @Setup
+    public void setUp() {
+        concurrent = "concurrent".equals(implementation);
+        concurrentScoreboard = new ConcurrentScoreboard();
+        scoreboard = new Scoreboard();
+        homeTeams = new String[liveMatches];
+        awayTeams = new String[liveMatches];
+        for (int i = 0; i < liveMatches; i++) {
+            homeTeams[i] = "Home " + i;
+            awayTeams[i] = "Away " + i;
+            concurrentScoreboard.startGame(homeTeams[i], awayTeams[i]);
+            scoreboard.startGame(homeTeams[i], awayTeams[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void update1Thread() {
+        update();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void update2Threads() {
+        update();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void update4Threads() {
+        update();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void update8Threads() {
+        update();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void updateAllCores() {
+        update();
+    }
+
+    private void update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(liveMatches);
+        int homeScore = random.nextInt(10);
+        int awayScore = random.nextInt(10);
+        if (concurrent) {
+            concurrentScoreboard.updateScore(homeTeams[i], awayTeams[i], homeScore, awayScore);
+        } else {
+            synchronized (scoreboard) {
+                scoreboard.updateScore(homeTeams[i], awayTeams[i], homeScore, awayScore);
+            }
+        }
+    }
+}
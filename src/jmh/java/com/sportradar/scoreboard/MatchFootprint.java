@@ -0,0 +1,75 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the heap retained per live match by {@link Scoreboard}, {@link ConcurrentScoreboard}
+ * and {@link ColumnarScoreboard}, measured with JOL by walking the object graph of a board holding only scored matches.
+ * <p>
+ * Matches pair up teams from a pool of {@value #TEAMS_PER_SIDE} home and up to
+ * {@code matches / TEAMS_PER_SIDE} away teams, as in a replayed fixture set, so that the
+ * figure is dominated by per-match state. Team names are measured separately and left out
+ * of the per-match figure, since all layouts hold the same strings.
+ * Run with {@code ./gradlew footprint}.
+ */
+public final class MatchFootprint {
+    private static final int[] SIZES = {1_000, 100_000, 1_000_000};
+    private static final int TEAMS_PER_SIDE = 1_000;
+
+    private MatchFootprint() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %10s %14s %14s %12s%n", "layout", "matches", "board bytes", "name bytes", "bytes/match");
+        for (int size : SIZES) {
+            String[] homeNames = new String[TEAMS_PER_SIDE];
+            String[] awayNames = new String[(size + TEAMS_PER_SIDE - 1) / TEAMS_PER_SIDE];
+            for (int i = 0; i < homeNames.length; i++) {
+                homeNames[i] = "Home " + i;
+            }
+            for (int i = 0; i < awayNames.length; i++) {
+                awayNames[i] = "Away " + i;
+            }
+            long nameBytes = nameBytes(homeNames) + nameBytes(awayNames);
+
+            String[] homeTeams = new String[size];
+            String[] awayTeams = new String[size];
+            for (int i = 0; i < size; i++) {
+                homeTeams[i] = homeNames[i % TEAMS_PER_SIDE];
+                awayTeams[i] = awayNames[i / TEAMS_PER_SIDE];
+            }
+
+            Scoreboard scoreboard = new Scoreboard();
+            ConcurrentScoreboard concurrent = new ConcurrentScoreboard();
+            ColumnarScoreboard columnar = new ColumnarScoreboard();
+            for (int i = 0; i < size; i++) {
+                scoreboard.updateScore(scoreboard.startGame(homeTeams[i], awayTeams[i]), i % 7, i % 3);
+                concurrent.startGame(homeTeams[i], awayTeams[i]);
+                concurrent.updateScore(homeTeams[i], awayTeams[i], i % 7, i % 3);
+                columnar.startGame(homeTeams[i], awayTeams[i]);
+                columnar.updateScore(homeTeams[i], awayTeams[i], i % 7, i % 3);
+            }
+
+            report("object", size, GraphLayout.parseInstance(scoreboard).totalSize(), nameBytes);
+            report("concurrent", size, GraphLayout.parseInstance(concurrent).totalSize(), nameBytes);
+            report("columnar", size, GraphLayout.parseInstance(columnar).totalSize(), nameBytes);
+        }
+    }
+
+    /**
+     * Returns the bytes held by the names themselves, without the array listing them, which
+     * no board holds.
+     */
+    private static long nameBytes(String[] names) {
+        long bytes = 0;
+        for (String name : names) {
+            bytes += GraphLayout.parseInstance(name).totalSize();
+        }
+        return bytes;
+    }
+
+    private static void report(String layout, int matches, long boardBytes, long nameBytes) {
+        System.out.printf("%-10s %10d %14d %14d %12.1f%n", layout, matches, boardBytes, nameBytes,
+                (boardBytes - nameBytes) / (double) matches);
+    }
+}
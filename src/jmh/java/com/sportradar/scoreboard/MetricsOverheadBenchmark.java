@@ -0,0 +1,54 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ScoreboardMetrics} on the update path: compare {@code none} with
+ * {@code stats} ({@link ScoreboardStats}) and {@code jfr} ({@link JfrScoreboardMetrics}
+ * without a recording). The difference per operation is the overhead of measuring;
+ * {@code gc.alloc.rate.norm} is expected to stay at 0 B/op for all three.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsOverheadBenchmark {
+
+    @Param({"none", "stats", "jfr"})
+    public String metrics;
+
+    @Param({"1000"})
+    public int liveMatches;
+
+    private Scoreboard scoreboard;
+    private Match[] handles;
+    private int[] matchIndexes;
+    private int[] scores;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new Scoreboard();
+        if ("stats".equals(metrics)) {
+            scoreboard.setMetrics(new ScoreboardStats());
+        } else if ("jfr".equals(metrics)) {
+            scoreboard.setMetrics(new JfrScoreboardMetrics());
+        }
+        handles = new Match[liveMatches];
+        for (int i = 0; i < liveMatches; i++) {
+            handles[i] = scoreboard.startGame("Home " + i, "Away " + i);
+        }
+        matchIndexes = Workloads.matchIndexes(liveMatches, "uniform", 1L);
+        scores = Workloads.scores(2L);
+    }
+
+    @Benchmark
+    public void updateScore() {
+        int i = cursor++ & Workloads.SEQUENCE_MASK;
+        scoreboard.updateScore(handles[matchIndexes[i]], scores[i], scores[(i + 1) & Workloads.SEQUENCE_MASK]);
+    }
+}
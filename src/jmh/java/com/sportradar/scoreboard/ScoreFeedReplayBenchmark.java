@@ -0,0 +1,151 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaying a provider feed onto an empty board: a {@link ScoreFeed} fed the events in order,
+ * and fed the same events shuffled within blocks of {@value #SHUFFLE_BLOCK} with a quarter of
+ * them delivered twice, against applying the duplicated stream straight to {@link Scoreboard}
+ * and catching the exceptions thrown by replays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreFeedReplayBenchmark {
+    private static final int UPDATES_PER_MATCH = 6;
+    private static final int SHUFFLE_BLOCK = 16;
+
+    @Param({"1000"})
+    public int matches;
+
+    private long[] inOrderSequences;
+    private ScoreEvent[] inOrderEvents;
+    private long[] shuffledSequences;
+    private ScoreEvent[] shuffledEvents;
+    private ScoreEvent[] duplicatedEvents;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1L);
+        int[] scores = Workloads.scores(2L);
+        List<Object[]> events = new ArrayList<>();
+        for (int match = 0; match < matches; match++) {
+            String home = "Home " + match;
+            String away = "Away " + match;
+            long sequence = 1;
+            events.add(new Object[]{sequence++, ScoreEvent.start(home, away)});
+            for (int i = 0; i < UPDATES_PER_MATCH; i++) {
+                int s = (match * UPDATES_PER_MATCH + i) & Workloads.SEQUENCE_MASK;
+                events.add(new Object[]{sequence++, ScoreEvent.update(home, away, scores[s], scores[(s + 1) & Workloads.SEQUENCE_MASK])});
+            }
+            if (match % 2 == 0) {
+                events.add(new Object[]{sequence, ScoreEvent.finish(home, away)});
+            }
+        }
+        // Interleave matches as a live feed would, keeping each match's events in order
+        List<Object[]> interleaved = new ArrayList<>();
+        List<List<Object[]>> perMatch = new ArrayList<>();
+        int from = 0;
+        for (int match = 0; match < matches; match++) {
+            int to = from + 1 + UPDATES_PER_MATCH + (match % 2 == 0 ? 1 : 0);
+            perMatch.add(new ArrayList<>(events.subList(from, to)));
+            from = to;
+        }
+        while (!perMatch.isEmpty()) {
+            for (int match = perMatch.size() - 1; match >= 0; match--) {
+                List<Object[]> remaining = perMatch.get(match);
+                interleaved.add(remaining.remove(0));
+                if (remaining.isEmpty()) {
+                    perMatch.remove(match);
+                }
+            }
+        }
+
+        List<Object[]> duplicated = new ArrayList<>();
+        for (Object[] event : interleaved) {
+            duplicated.add(event);
+            if (random.nextInt(4) == 0) {
+                duplicated.add(event);
+            }
+        }
+        List<Object[]> shuffled = new ArrayList<>(duplicated);
+        for (int i = 0; i < shuffled.size(); i += SHUFFLE_BLOCK) {
+            Collections.shuffle(shuffled.subList(i, Math.min(i + SHUFFLE_BLOCK, shuffled.size())), random);
+        }
+
+        inOrderSequences = sequences(interleaved);
+        inOrderEvents = events(interleaved);
+        shuffledSequences = sequences(shuffled);
+        shuffledEvents = events(shuffled);
+        duplicatedEvents = events(duplicated);
+    }
+
+    @Benchmark
+    public Scoreboard feedInOrder() {
+        Scoreboard scoreboard = new Scoreboard();
+        ScoreFeed feed = new ScoreFeed(scoreboard);
+        for (int i = 0; i < inOrderEvents.length; i++) {
+            feed.accept(inOrderSequences[i], inOrderEvents[i]);
+        }
+        return scoreboard;
+    }
+
+    @Benchmark
+    public Scoreboard feedShuffledWithDuplicates() {
+        Scoreboard scoreboard = new Scoreboard();
+        ScoreFeed feed = new ScoreFeed(scoreboard);
+        for (int i = 0; i < shuffledEvents.length; i++) {
+            feed.accept(shuffledSequences[i], shuffledEvents[i]);
+        }
+        feed.flush();
+        return scoreboard;
+    }
+
+    @Benchmark
+    public Scoreboard applyDuplicatesCatchingExceptions() {
+        Scoreboard scoreboard = new Scoreboard();
+        for (ScoreEvent event : duplicatedEvents) {
+            try {
+                switch (event.getType()) {
+                    case START:
+                        scoreboard.startGame(event.getHomeTeamName(), event.getAwayTeamName());
+                        break;
+                    case UPDATE:
+                        scoreboard.updateScore(event.getHomeTeamName(), event.getAwayTeamName(),
+                                event.getHomeScore(), event.getAwayScore());
+                        break;
+                    default:
+                        scoreboard.finishGame(event.getHomeTeamName(), event.getAwayTeamName());
+                }
+            } catch (IllegalStateException e) {
+                // A replayed start or finish
+            }
+        }
+        return scoreboard;
+    }
+
+    private static long[] sequences(List<Object[]> events) {
+        long[] result = new long[events.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (Long) events.get(i)[0];
+        }
+        return result;
+    }
+
+    private static ScoreEvent[] events(List<Object[]> events) {
+        ScoreEvent[] result = new ScoreEvent[events.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (ScoreEvent) events.get(i)[1];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link Scoreboard}: starting and finishing, updating, reading the summary,
+ * and a read/write mix. Reports throughput and sampled latency percentiles; run with the
+ * gc profiler (enabled in build.gradle) to get the allocation rate.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreboardBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int liveMatches;
+
+    @Param({"read-heavy", "write-heavy"})
+    public String mix;
+
+    @Param({"uniform", "zipf"})
+    public String skew;
+
+    private Scoreboard scoreboard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int[] matchIndexes;
+    private int[] scores;
+    private boolean[] reads;
+    private int cursor;
+    private int nextTeam;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new Scoreboard();
+        homeTeams = new String[liveMatches];
+        awayTeams = new String[liveMatches];
+        for (int i = 0; i < liveMatches; i++) {
+            homeTeams[i] = "Home " + i;
+            awayTeams[i] = "Away " + i;
+            scoreboard.startGame(homeTeams[i], awayTeams[i]);
+        }
+        matchIndexes = Workloads.matchIndexes(liveMatches, skew, 1L);
+        scores = Workloads.scores(2L);
+        reads = Workloads.reads(mix, 3L);
+    }
+
+    @Benchmark
+    public void updateScore() {
+        int i = cursor++ & Workloads.SEQUENCE_MASK;
+        int match = matchIndexes[i];
+        scoreboard.updateScore(homeTeams[match], awayTeams[match], scores[i], scores[(i + 1) & Workloads.SEQUENCE_MASK]);
+    }
+
+    @Benchmark
+    public List<Match> getSummary() {
+        return scoreboard.getSummary();
+    }
+
+    @Benchmark
+    public List<Match> getTopTen() {
+        return scoreboard.getTopN(10);
+    }
+
+    @Benchmark
+    public SummaryPage getSecondPage() {
+        SummaryPage first = scoreboard.getSummaryPage(null, 20);
+        return first.hasNext() ? scoreboard.getSummaryPage(first.getNextCursor(), 20) : first;
+    }
+
+    /**
+     * Finishes a live match and starts it again, keeping the board size constant.
+     */
+    @Benchmark
+    public Match finishAndStartGame() {
+        int match = matchIndexes[cursor++ & Workloads.SEQUENCE_MASK];
+        scoreboard.finishGame(homeTeams[match], awayTeams[match]);
+        return scoreboard.startGame(homeTeams[match], awayTeams[match]);
+    }
+
+    /**
+     * Starts a game between two fresh teams and finishes it straight away.
+     */
+    @Benchmark
+    public void startAndFinishNewGame(Blackhole blackhole) {
+        String home = homeTeams[nextTeam];
+        String away = awayTeams[(nextTeam + 1) % liveMatches];
+        nextTeam = (nextTeam + 1) % liveMatches;
+        blackhole.consume(scoreboard.startGame(home, away));
+        scoreboard.finishGame(home, away);
+    }
+
+    @Benchmark
+    public void mixed(Blackhole blackhole) {
+        int i = cursor++ & Workloads.SEQUENCE_MASK;
+        if (reads[i]) {
+            blackhole.consume(scoreboard.getSummary());
+        } else {
+            int match = matchIndexes[i];
+            scoreboard.updateScore(homeTeams[match], awayTeams[match], scores[i], scores[(i + 1) & Workloads.SEQUENCE_MASK]);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Score updates from several threads through a {@link ScoreboardPipeline}, with each wait
+ * strategy, against a {@link Scoreboard} behind a lock. {@code publish} measures producer
+ * throughput; {@code publishAndAwait} samples end-to-end latency percentiles, from publishing
+ * a command until the writer has applied it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreboardPipelineBenchmark {
+
+    @Param({"BUSY_SPIN", "YIELD", "PARK", "locked"})
+    public String implementation;
+
+    @Param({"1000"})
+    public int liveMatches;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private ScoreboardPipeline pipeline;
+    private Scoreboard scoreboard;
+    private final ReentrantLock lock = new ReentrantLock();
+    private String[] homeTeams;
+    private String[] awayTeams;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new Scoreboard();
+        homeTeams = new String[liveMatches];
+        awayTeams = new String[liveMatches];
+        for (int i = 0; i < liveMatches; i++) {
+            homeTeams[i] = "Home " + i;
+            awayTeams[i] = "Away " + i;
+            scoreboard.startGame(homeTeams[i], awayTeams[i]);
+        }
+        if (!"locked".equals(implementation)) {
+            pipeline = new ScoreboardPipeline(scoreboard, capacity,
+                    ScoreboardPipeline.WaitStrategy.valueOf(implementation));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long publish1Thread() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long publish4Threads() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long publishAndAwait4Threads() {
+        long sequence = update();
+        if (pipeline != null) {
+            pipeline.awaitApplied(sequence);
+        }
+        return sequence;
+    }
+
+    private long update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(liveMatches);
+        int homeScore = random.nextInt(10);
+        int awayScore = random.nextInt(10);
+        if (pipeline != null) {
+            return pipeline.updateScore(homeTeams[i], awayTeams[i], homeScore, awayScore);
+        }
+        lock.lock();
+        try {
+            scoreboard.updateScore(homeTeams[i], awayTeams[i], homeScore, awayScore);
+            return i;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures score update throughput of {@link ScoreboardRegistry} as caller threads and
+ * shards grow, against a {@link Scoreboard} behind a single monitor.
+ * <p>
+ * {@code update*} waits for every update before sending the next one, so it is bound by
+ * the hand-off latency to the shard writer. {@code pipelined*} keeps {@value #WINDOW}
+ * updates in flight per caller, which is how a feed handler would drive the registry.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreboardRegistryBenchmark {
+    private static final int WINDOW = 64;
+
+    @Param({"registry", "synchronized"})
+    public String implementation;
+
+    @Param({"1", "4", "16"})
+    public int shards;
+
+    @Param({"10000"})
+    public int liveMatches;
+
+    private boolean sharded;
+    private ScoreboardRegistry registry;
+    private Scoreboard scoreboard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+
+    @Setup
+    public void setUp() {
+        sharded = "registry".equals(implementation);
+        registry = new ScoreboardRegistry(shards);
+        scoreboard = new Scoreboard();
+        homeTeams = new String[liveMatches];
+        awayTeams = new String[liveMatches];
+        for (int i = 0; i < liveMatches; i++) {
+            homeTeams[i] = "Home " + i;
+            awayTeams[i] = "Away " + i;
+            registry.startGame(homeTeams[i], awayTeams[i]).join();
+            scoreboard.startGame(homeTeams[i], awayTeams[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void update1Thread() {
+        update();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void update4Threads() {
+        update();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void updateAllCores() {
+        update();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(WINDOW)
+    public void pipelined1Thread() {
+        pipelined();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(WINDOW)
+    public void pipelined4Threads() {
+        pipelined();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @OperationsPerInvocation(WINDOW)
+    public void pipelinedAllCores() {
+        pipelined();
+    }
+
+    private void update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(liveMatches);
+        if (sharded) {
+            registry.updateScore(homeTeams[i], awayTeams[i], random.nextInt(10), random.nextInt(10)).join();
+        } else {
+            synchronized (scoreboard) {
+                scoreboard.updateScore(homeTeams[i], awayTeams[i], random.nextInt(10), random.nextInt(10));
+            }
+        }
+    }
+
+    private void pipelined() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (!sharded) {
+            for (int n = 0; n < WINDOW; n++) {
+                update();
+            }
+            return;
+        }
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[WINDOW];
+        for (int n = 0; n < WINDOW; n++) {
+            int i = random.nextInt(liveMatches);
+            pending[n] = registry.updateScore(homeTeams[i], awayTeams[i], random.nextInt(10), random.nextInt(10));
+        }
+        CompletableFuture.allOf(pending).join();
+    }
+}
@@ -0,0 +1,73 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to take over a board: loading a memory-mapped {@link ScoreboardSnapshot} versus
+ * rebuilding the same board through {@link Scoreboard#startGame} and {@link Scoreboard#updateScore}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotLoadBenchmark {
+
+    @Param({"1000", "100000"})
+    public int liveMatches;
+
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int[] scores;
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        homeTeams = new String[liveMatches];
+        awayTeams = new String[liveMatches];
+        scores = Workloads.scores(1L);
+        Scoreboard scoreboard = new Scoreboard();
+        for (int i = 0; i < liveMatches; i++) {
+            homeTeams[i] = "Home " + i;
+            awayTeams[i] = "Away " + i;
+            scoreboard.startGame(homeTeams[i], awayTeams[i]);
+            scoreboard.updateScore(homeTeams[i], awayTeams[i], homeScore(i), awayScore(i));
+        }
+        snapshot = Files.createTempFile("scoreboard", ".snapshot");
+        ScoreboardSnapshot.write(scoreboard, snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public Scoreboard loadSnapshot() throws IOException {
+        return ScoreboardSnapshot.load(snapshot);
+    }
+
+    @Benchmark
+    public Scoreboard rebuildThroughApi() {
+        Scoreboard scoreboard = new Scoreboard();
+        for (int i = 0; i < liveMatches; i++) {
+            scoreboard.startGame(homeTeams[i], awayTeams[i]);
+            scoreboard.updateScore(homeTeams[i], awayTeams[i], homeScore(i), awayScore(i));
+        }
+        return scoreboard;
+    }
+
+    private int homeScore(int i) {
+        return scores[i & Workloads.SEQUENCE_MASK];
+    }
+
+    private int awayScore(int i) {
+        return scores[(i + 1) & Workloads.SEQUENCE_MASK];
+    }
+}
@@ -0,0 +1,77 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serving the summary as JSON: the cached rendering of {@link Scoreboard#getSummaryJson()}
+ * on a hot read and right after a score change, against serializing {@link Scoreboard#getSummary()}
+ * on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SummaryRenderBenchmark {
+
+    @Param({"1000", "10000"})
+    public int liveMatches;
+
+    private Scoreboard scoreboard;
+    private Match[] handles;
+    private int[] matchIndexes;
+    private int[] scores;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new Scoreboard();
+        handles = new Match[liveMatches];
+        for (int i = 0; i < liveMatches; i++) {
+            handles[i] = scoreboard.startGame("Home " + i, "Away " + i);
+        }
+        matchIndexes = Workloads.matchIndexes(liveMatches, "uniform", 1L);
+        scores = Workloads.scores(2L);
+        scoreboard.getSummaryJson();
+    }
+
+    @Benchmark
+    public ByteBuffer cachedRead() {
+        return scoreboard.getSummaryJson();
+    }
+
+    @Benchmark
+    public ByteBuffer cachedAfterUpdate() {
+        update();
+        return scoreboard.getSummaryJson();
+    }
+
+    @Benchmark
+    public byte[] serializeAfterUpdate() {
+        update();
+        StringBuilder json = new StringBuilder(liveMatches * 64);
+        json.append("{\"version\":").append(scoreboard.getVersion()).append(",\"matches\":[");
+        boolean first = true;
+        for (Match match : scoreboard.getSummary()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("{\"home\":\"").append(match.getHomeTeam().getName())
+                    .append("\",\"away\":\"").append(match.getAwayTeam().getName())
+                    .append("\",\"homeScore\":").append(match.getHomeScore())
+                    .append(",\"awayScore\":").append(match.getAwayScore()).append('}');
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void update() {
+        int i = cursor++ & Workloads.SEQUENCE_MASK;
+        scoreboard.updateScore(handles[matchIndexes[i]], scores[i], scores[(i + 1) & Workloads.SEQUENCE_MASK]);
+    }
+}
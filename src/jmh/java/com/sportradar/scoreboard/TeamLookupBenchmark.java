@@ -0,0 +1,61 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the live matches of one team: {@link Scoreboard#findByTeam(String)} against
+ * filtering {@link Scoreboard#getSummary()}, as the board grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TeamLookupBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int liveMatches;
+
+    private Scoreboard scoreboard;
+    private String[] teams;
+    private int[] matchIndexes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new Scoreboard();
+        teams = new String[liveMatches];
+        for (int i = 0; i < liveMatches; i++) {
+            teams[i] = "Home " + i;
+            scoreboard.startGame(teams[i], "Away " + i);
+        }
+        matchIndexes = Workloads.matchIndexes(liveMatches, "uniform", 1L);
+        scoreboard.findByTeam(teams[0]);
+    }
+
+    @Benchmark
+    public List<Match> findByTeam() {
+        return scoreboard.findByTeam(nextTeam());
+    }
+
+    @Benchmark
+    public List<Match> scanSummary() {
+        String team = nextTeam();
+        List<Match> found = new ArrayList<>();
+        for (Match match : scoreboard.getSummary()) {
+            if (match.getHomeTeam().getName().equals(team) || match.getAwayTeam().getName().equals(team)) {
+                found.add(match);
+            }
+        }
+        return found;
+    }
+
+    private String nextTeam() {
+        return teams[matchIndexes[cursor++ & Workloads.SEQUENCE_MASK]];
+    }
+}
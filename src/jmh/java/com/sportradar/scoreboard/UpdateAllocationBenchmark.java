@@ -0,0 +1,79 @@
+package com.sportradar.scoreboard;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state update paths of {@link Scoreboard}. With the gc profiler,
+ * {@code gc.alloc.rate.norm} is expected to be 0 B/op for both the name-based
+ * and the handle-based update, and for an update of a missing match through
+ * {@link Scoreboard#tryUpdateScore(String, String, int, int)}; the throwing variant
+ * is measured for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UpdateAllocationBenchmark {
+
+    @Param({"1000"})
+    public int liveMatches;
+
+    private Scoreboard scoreboard;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private Match[] handles;
+    private int[] matchIndexes;
+    private int[] scores;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        scoreboard = new Scoreboard();
+        homeTeams = new String[liveMatches];
+        awayTeams = new String[liveMatches];
+        handles = new Match[liveMatches];
+        for (int i = 0; i < liveMatches; i++) {
+            homeTeams[i] = "Home " + i;
+            awayTeams[i] = "Away " + i;
+            handles[i] = scoreboard.startGame(homeTeams[i], awayTeams[i]);
+        }
+        matchIndexes = Workloads.matchIndexes(liveMatches, "uniform", 1L);
+        scores = Workloads.scores(2L);
+    }
+
+    @Benchmark
+    public void updateScoreByName() {
+        int i = cursor++ & Workloads.SEQUENCE_MASK;
+        int match = matchIndexes[i];
+        scoreboard.updateScore(homeTeams[match], awayTeams[match], scores[i], scores[(i + 1) & Workloads.SEQUENCE_MASK]);
+    }
+
+    @Benchmark
+    public Scoreboard.Status tryUpdateMissingMatch() {
+        int i = cursor++ & Workloads.SEQUENCE_MASK;
+        int match = matchIndexes[i];
+        return scoreboard.tryUpdateScore(awayTeams[match], homeTeams[match], scores[i], 0);
+    }
+
+    @Benchmark
+    public RuntimeException updateMissingMatchCatching() {
+        int i = cursor++ & Workloads.SEQUENCE_MASK;
+        int match = matchIndexes[i];
+        try {
+            scoreboard.updateScore(awayTeams[match], homeTeams[match], scores[i], 0);
+            return null;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void updateScoreByHandle() {
+        int i = cursor++ & Workloads.SEQUENCE_MASK;
+        scoreboard.updateScore(handles[matchIndexes[i]], scores[i], scores[(i + 1) & Workloads.SEQUENCE_MASK]);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sportradar.scoreboard;
+
+import java.util.Random;
+
+/**
+ * Pre-computed random sequences shared by the benchmarks, so that drawing the next
+ * match or operation costs an array read rather than a random number generation.
+ */
+final class Workloads {
+    /**
+     * Length of every pre-computed sequence; a power of two so cursors can wrap with a mask.
+     */
+    static final int SEQUENCE_LENGTH = 1 << 16;
+    static final int SEQUENCE_MASK = SEQUENCE_LENGTH - 1;
+
+    private Workloads() {
+    }
+
+    /**
+     * Returns a sequence of match indexes in {@code [0, matchCount)}.
+     *
+     * @param matchCount the number of matches to pick from
+     * @param skew "uniform" for equally popular matches, or "zipf" for a Zipf(1.0)
+     *             distribution in which low indexes are picked far more often
+     * @param seed the random seed
+     * @return the index sequence
+     */
+    static int[] matchIndexes(int matchCount, String skew, long seed) {
+        Random random = new Random(seed);
+        int[] result = new int[SEQUENCE_LENGTH];
+        if ("uniform".equals(skew)) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = random.nextInt(matchCount);
+            }
+            return result;
+        }
+        if (!"zipf".equals(skew)) {
+            throw new IllegalArgumentException("Unknown skew: " + skew);
+        }
+
+        double[] cumulative = new double[matchCount];
+        double sum = 0;
+        for (int i = 0; i < matchCount; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < result.length; i++) {
+            double target = random.nextDouble() * sum;
+            int low = 0;
+            int high = matchCount - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            result[i] = low;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a sequence of read/write decisions.
+     *
+     * @param mix "read-heavy" for 90% reads, "write-heavy" for 10% reads
+     * @param seed the random seed
+     * @return the sequence, {@code true} meaning a read
+     */
+    static boolean[] reads(String mix, long seed) {
+        double readRatio;
+        if ("read-heavy".equals(mix)) {
+            readRatio = 0.9;
+        } else if ("write-heavy".equals(mix)) {
+            readRatio = 0.1;
+        } else {
+            throw new IllegalArgumentException("Unknown mix: " + mix);
+        }
+        Random random = new Random(seed);
+        boolean[] result = new boolean[SEQUENCE_LENGTH];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = random.nextDouble() < readRatio;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the scores to cycle through, all small non-negative values.
+     *
+     * @param seed the random seed
+     * @return the score sequence
+     */
+    static int[] scores(long seed) {
+        Random random = new Random(seed);
+        int[] result = new int[SEQUENCE_LENGTH];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = random.nextInt(8);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package com.sportradar.scoreboard.load;
+
+import com.sportradar.scoreboard.LatencyHistogram;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the pauses of every garbage collection, per collector, and the heap left after
+ * the latest one, from the notifications the collectors' MXBeans send.
+ * <p>
+ * Pauses are recorded in nanoseconds, though the JVM reports them in whole milliseconds.
+ * Concurrent collectors report cycle time rather than pause time under the same name; the
+ * report keeps them apart by collector.
+ */
+final class GcMonitor implements NotificationListener {
+    private final Map<String, LatencyHistogram> pauses = new ConcurrentHashMap<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final Set<String> heapPools = new HashSet<>();
+    private volatile long heapAfterGc = -1;
+
+    /**
+     * Starts listening to every collector of this JVM.
+     */
+    void install() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    /**
+     * Stops listening.
+     */
+    void uninstall() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // Already removed
+            }
+        }
+        emitters.clear();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        String name = info.getGcName() + " (" + info.getGcAction() + ")";
+        // Notifications come from a single service thread, as the histogram requires
+        pauses.computeIfAbsent(name, n -> new LatencyHistogram()).record(info.getGcInfo().getDuration() * 1_000_000);
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        heapAfterGc = used;
+    }
+
+    /**
+     * Returns the pause histograms recorded so far, by collector and action.
+     *
+     * @return the histograms, in nanoseconds
+     */
+    Map<String, LatencyHistogram> getPauses() {
+        return pauses;
+    }
+
+    /**
+     * Returns the heap in use right after the latest collection.
+     *
+     * @return the bytes in use, or -1 before the first collection
+     */
+    long getHeapAfterGc() {
+        return heapAfterGc;
+    }
+}
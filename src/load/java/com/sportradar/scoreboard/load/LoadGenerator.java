@@ -0,0 +1,265 @@
+package com.sportradar.scoreboard.load;
+
+import com.sportradar.scoreboard.LatencyHistogram;
+import com.sportradar.scoreboard.ScoreEvent;
+import com.sportradar.scoreboard.Scoreboard;
+import com.sportradar.scoreboard.ScoreboardMetrics;
+import com.sportradar.scoreboard.ScoreboardStats;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Soak test: drives a {@link Scoreboard} through a synthetic match day of a {@link Tournament}
+ * at a fixed event rate, and writes a report of response times, garbage collection pauses and
+ * heap use over time. Run with {@code ./gradlew soak}; see {@link LoadProfile} for the settings.
+ * <p>
+ * Events are sent on a fixed schedule and response times are measured from when each event
+ * was due, not from when it was sent, so a stall shows up in every event it delayed rather than
+ * in one. The scoreboard's own service times are reported next to them, from
+ * {@link ScoreboardStats}. A summary is read every {@code summary-every} events, as a
+ * front end polling the board would.
+ */
+public final class LoadGenerator {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final long MB = 1024 * 1024;
+
+    private final LoadProfile profile;
+    private final Scoreboard scoreboard = new Scoreboard();
+    private final ScoreboardStats stats = new ScoreboardStats();
+    private final Tournament tournament;
+    private final GcMonitor gc = new GcMonitor();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final Map<Tournament.Kind, LatencyHistogram> responseTimes = new EnumMap<>(Tournament.Kind.class);
+    private final Map<Tournament.Kind, Long> rejected = new EnumMap<>(Tournament.Kind.class);
+    private final LatencyHistogram summaryTimes = new LatencyHistogram();
+    private final List<Sample> samples = new ArrayList<>();
+    private long events;
+    private long elapsedNanos;
+
+    private LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+        this.tournament = new Tournament(profile, new Random(profile.seed));
+        for (Tournament.Kind kind : Tournament.Kind.values()) {
+            responseTimes.put(kind, new LatencyHistogram());
+            rejected.put(kind, 0L);
+        }
+        scoreboard.setMetrics(stats);
+    }
+
+    /**
+     * Runs a soak test and writes its report.
+     *
+     * @param args {@code --name=value} settings, see {@link LoadProfile}
+     * @throws IOException if the report cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        LoadProfile profile = LoadProfile.parse(args);
+        System.out.println("Soak test: " + profile);
+        LoadGenerator generator = new LoadGenerator(profile);
+        generator.run();
+        generator.writeReport();
+        System.out.println("Report written to " + profile.report.toAbsolutePath());
+    }
+
+    private void run() {
+        gc.install();
+        long interval = Math.max(1, 1_000_000_000L / profile.rate);
+        long sampleInterval = (long) (profile.sampleSeconds * 1e9);
+        long start = System.nanoTime();
+        long nextSample = start;
+        double minute = 0;
+        try {
+            for (long due = start; minute < profile.minutes; due += interval) {
+                long now = pace(due);
+                if (now >= nextSample) {
+                    sample(now - start, minute);
+                    nextSample += sampleInterval;
+                }
+                minute = (due - start) * profile.speed / 1e9;
+                ScoreEvent event = tournament.next(minute);
+                if (event == null) {
+                    continue;
+                }
+                Tournament.Kind kind = tournament.getKind();
+                if (apply(event) != Scoreboard.Status.OK) {
+                    rejected.merge(kind, 1L, Long::sum);
+                }
+                responseTimes.get(kind).record(System.nanoTime() - due);
+                if (++events % profile.summaryEvery == 0) {
+                    long before = System.nanoTime();
+                    scoreboard.getSummary();
+                    summaryTimes.record(System.nanoTime() - before);
+                }
+            }
+            elapsedNanos = System.nanoTime() - start;
+            if (samples.get(samples.size() - 1).events != events) {
+                sample(elapsedNanos, minute);
+            }
+        } finally {
+            gc.uninstall();
+        }
+    }
+
+    /**
+     * Waits until an event is due, parking for longer waits and spinning for the last stretch.
+     */
+    private static long pace(long due) {
+        long now;
+        while ((now = System.nanoTime()) < due) {
+            if (due - now > 200_000) {
+                LockSupport.parkNanos(due - now - 100_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        return now;
+    }
+
+    private Scoreboard.Status apply(ScoreEvent event) {
+        switch (event.getType()) {
+            case START:
+                return scoreboard.tryStartGame(event.getHomeTeamName(), event.getAwayTeamName());
+            case UPDATE:
+                return scoreboard.tryUpdateScore(event.getHomeTeamName(), event.getAwayTeamName(),
+                        event.getHomeScore(), event.getAwayScore());
+            default:
+                return scoreboard.tryFinishGame(event.getHomeTeamName(), event.getAwayTeamName());
+        }
+    }
+
+    private void sample(long elapsed, double minute) {
+        samples.add(new Sample(elapsed, minute, stats.getLiveMatches(), events,
+                memory.getHeapMemoryUsage().getUsed(), gc.getHeapAfterGc()));
+    }
+
+    private void writeReport() throws IOException {
+        Path parent = profile.report.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(profile.report))) {
+            double seconds = elapsedNanos / 1e9;
+            out.println("Soak test report");
+            out.println("Profile: " + profile);
+            out.printf("Ran %.1f s, %d events, %.0f events/s achieved of %d/s, %d matches live at peak%n",
+                    seconds, events, events / seconds, profile.rate, stats.getPeakLiveMatches());
+
+            out.println();
+            out.println("Response time from when each event was due, us");
+            header(out, "event", "rejected");
+            for (Tournament.Kind kind : Tournament.Kind.values()) {
+                row(out, kind.name(), responseTimes.get(kind), 1_000, String.valueOf(rejected.get(kind)));
+            }
+
+            out.println();
+            out.println("Service time inside the scoreboard, us, one operation in "
+                    + ScoreboardStats.DEFAULT_SAMPLE_INTERVAL + " sampled");
+            header(out, "operation", "");
+            for (ScoreboardMetrics.Operation operation : new ScoreboardMetrics.Operation[]{
+                    ScoreboardMetrics.Operation.START_GAME, ScoreboardMetrics.Operation.UPDATE_SCORE,
+                    ScoreboardMetrics.Operation.FINISH_GAME}) {
+                row(out, operation.name(), stats.getLatency(operation), 1_000, "");
+            }
+            row(out, "GET_SUMMARY", summaryTimes, 1_000, "");
+
+            out.println();
+            out.println("Garbage collection, ms");
+            header(out, "collector", "time");
+            for (Map.Entry<String, LatencyHistogram> entry : gc.getPauses().entrySet()) {
+                LatencyHistogram pauses = entry.getValue();
+                String total = String.format("%.0f", pauses.getMean() * pauses.getCount() / 1e6);
+                row(out, entry.getKey(), pauses, 1_000_000, total);
+            }
+
+            out.println();
+            out.println("Heap over time");
+            out.printf("%9s %9s %6s %12s %10s %14s%n", "seconds", "minute", "live", "events", "used MB", "after GC MB");
+            for (Sample sample : samples) {
+                out.printf("%9.1f %9.1f %6d %12d %10.1f %14s%n", sample.elapsedNanos / 1e9, sample.minute,
+                        sample.live, sample.events, (double) sample.heapUsed / MB,
+                        sample.heapAfterGc < 0 ? "-" : String.format("%.1f", (double) sample.heapAfterGc / MB));
+            }
+
+            out.println();
+            out.println(growth());
+        }
+    }
+
+    /**
+     * Fits a line through the heap left after collections in the second half of the run, once
+     * the board has warmed up to its steady number of matches. A leak shows as a slope that
+     * stays positive however long the run.
+     */
+    private String growth() {
+        double n = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXY = 0;
+        double sumXX = 0;
+        long halfway = elapsedNanos / 2;
+        long lastHeap = -1;
+        for (Sample sample : samples) {
+            if (sample.elapsedNanos < halfway || sample.heapAfterGc < 0 || sample.heapAfterGc == lastHeap) {
+                continue;
+            }
+            // Count each collection once, not once per sample until the next one
+            lastHeap = sample.heapAfterGc;
+            double x = sample.elapsedNanos / 1e9 / 60;
+            double y = (double) sample.heapAfterGc / MB;
+            n++;
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        if (n < 3 || denominator == 0) {
+            return "Heap growth: not enough collections in the second half of the run to tell";
+        }
+        double slope = (n * sumXY - sumX * sumY) / denominator;
+        return String.format("Heap growth after GC over the second half: %+.2f MB per minute of run time, "
+                + "from %.0f collections", slope, n);
+    }
+
+    private static void header(PrintWriter out, String name, String extra) {
+        out.printf("%-28s %10s %10s %10s %10s %10s %10s %10s%n",
+                name, "count", "p50", "p90", "p99", "p99.9", "max", extra);
+    }
+
+    private static void row(PrintWriter out, String name, LatencyHistogram histogram, double unit, String extra) {
+        out.printf("%-28s %10d", name, histogram.getCount());
+        for (double percentile : PERCENTILES) {
+            out.printf(" %10.1f", histogram.getValueAtPercentile(percentile) / unit);
+        }
+        out.printf(" %10.1f %10s%n", histogram.getMax() / unit, extra);
+    }
+
+    private static final class Sample {
+        final long elapsedNanos;
+        final double minute;
+        final int live;
+        final long events;
+        final long heapUsed;
+        final long heapAfterGc;
+
+        Sample(long elapsedNanos, double minute, int live, long events, long heapUsed, long heapAfterGc) {
+            this.elapsedNanos = elapsedNanos;
+            this.minute = minute;
+            this.live = live;
+            this.events = events;
+            this.heapUsed = heapUsed;
+            this.heapAfterGc = heapAfterGc;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.sportradar.scoreboard.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Settings of a soak run, parsed from {@code --name=value} arguments.
+ * <ul>
+ *     <li>{@code --matches}: matches live at once, 64 by default</li>
+ *     <li>{@code --wave}: matches kicking off together, 8 by default</li>
+ *     <li>{@code --stagger}: simulated minutes between kickoff waves, 15 by default</li>
+ *     <li>{@code --minutes}: simulated length of the match day, 480 by default</li>
+ *     <li>{@code --speed}: simulated minutes per second of run time, 4 by default</li>
+ *     <li>{@code --rate}: feed events per second, 20000 by default</li>
+ *     <li>{@code --goals}: base rate of goals per match per 90 simulated minutes, 2.5 by default</li>
+ *     <li>{@code --corrections}: share of goals later taken back, 0.05 by default</li>
+ *     <li>{@code --summary-every}: events between summary reads, 100 by default</li>
+ *     <li>{@code --sample-seconds}: seconds between heap samples, 1 by default</li>
+ *     <li>{@code --seed}: random seed, 1 by default</li>
+ *     <li>{@code --report}: report file, {@code build/soak-report.txt} by default</li>
+ * </ul>
+ */
+final class LoadProfile {
+    int matches = 64;
+    int wave = 8;
+    double stagger = 15;
+    double minutes = 480;
+    double speed = 4;
+    int rate = 20_000;
+    double goals = 2.5;
+    double corrections = 0.05;
+    int summaryEvery = 100;
+    double sampleSeconds = 1;
+    long seed = 1;
+    Path report = Paths.get("build", "soak-report.txt");
+
+    /**
+     * Parses arguments over the defaults.
+     *
+     * @param args the arguments
+     * @return the profile
+     * @throws IllegalArgumentException if an argument is unknown or out of range
+     */
+    static LoadProfile parse(String[] args) {
+        LoadProfile profile = new LoadProfile();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "matches":
+                    profile.matches = Integer.parseInt(value);
+                    break;
+                case "wave":
+                    profile.wave = Integer.parseInt(value);
+                    break;
+                case "stagger":
+                    profile.stagger = Double.parseDouble(value);
+                    break;
+                case "minutes":
+                    profile.minutes = Double.parseDouble(value);
+                    break;
+                case "speed":
+                    profile.speed = Double.parseDouble(value);
+                    break;
+                case "rate":
+                    profile.rate = Integer.parseInt(value);
+                    break;
+                case "goals":
+                    profile.goals = Double.parseDouble(value);
+                    break;
+                case "corrections":
+                    profile.corrections = Double.parseDouble(value);
+                    break;
+                case "summary-every":
+                    profile.summaryEvery = Integer.parseInt(value);
+                    break;
+                case "sample-seconds":
+                    profile.sampleSeconds = Double.parseDouble(value);
+                    break;
+                case "seed":
+                    profile.seed = Long.parseLong(value);
+                    break;
+                case "report":
+                    profile.report = Paths.get(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown setting: " + name);
+            }
+        }
+        if (profile.matches <= 0 || profile.wave <= 0 || profile.rate <= 0 || profile.summaryEvery <= 0) {
+            throw new IllegalArgumentException("Matches, wave, rate and summary-every must be positive");
+        }
+        if (!(profile.stagger > 0 && profile.minutes > 0 && profile.speed > 0 && profile.sampleSeconds > 0)) {
+            throw new IllegalArgumentException("Stagger, minutes, speed and sample-seconds must be positive");
+        }
+        if (!(profile.goals >= 0 && profile.corrections >= 0 && profile.corrections <= 1)) {
+            throw new IllegalArgumentException("Goals cannot be negative and corrections must be between 0 and 1");
+        }
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("matches=%d wave=%d stagger=%.1fmin minutes=%.0f speed=%.1fmin/s rate=%d/s "
+                        + "goals=%.1f corrections=%.3f summary-every=%d seed=%d",
+                matches, wave, stagger, minutes, speed, rate, goals, corrections, summaryEvery, seed);
+    }
+}
@@ -0,0 +1,179 @@
+package com.sportradar.scoreboard.load;
+
+import com.sportradar.scoreboard.ScoreEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Synthetic match day producing the feed events of a tournament, as a function of simulated
+ * time in minutes.
+ * <p>
+ * Matches kick off in waves of {@code wave} matches, {@code stagger} minutes apart, and last
+ * 105 minutes with half-time plus up to 8 minutes of stoppage time. Each finish schedules a
+ * new match for the next wave, so about {@code matches} are live at once, until no new match
+ * could end before the day does. Between kickoffs and finishes, events go to live matches
+ * picked at random: mostly refreshes of the current score, as providers resend, and goals at a
+ * base rate of {@code goals} per 90 minutes, whatever the event rate. Goals come in bursts: right after a
+ * goal, a match is five times as likely to score again, fading over a few minutes. A share of
+ * goals is taken back by a correction, sent with the match's next event.
+ */
+final class Tournament {
+    private static final double MATCH_MINUTES = 105;
+    private static final double STOPPAGE_MINUTES = 8;
+    private static final double BURST_MINUTES = 2;
+    private static final double BURST_HEAT = 4;
+
+    /**
+     * What an event does to its match.
+     */
+    enum Kind {
+        KICKOFF, GOAL, CORRECTION, REFRESH, FINISH
+    }
+
+    private final LoadProfile profile;
+    private final Random random;
+    private final int teams;
+    private final ArrayDeque<Fixture> scheduled = new ArrayDeque<>();
+    private final PriorityQueue<Fixture> ending = new PriorityQueue<>((a, b) -> Double.compare(a.end, b.end));
+    private final List<Fixture> live = new ArrayList<>();
+    private int fixtures;
+    private double nextWave;
+    private int inWave;
+    private Kind kind;
+
+    Tournament(LoadProfile profile, Random random) {
+        this.profile = profile;
+        this.random = random;
+        // Enough teams that a pairing comes round again only long after it finished
+        this.teams = 4 * profile.matches;
+        for (int i = 0; i < profile.matches; i++) {
+            schedule(0);
+        }
+    }
+
+    /**
+     * Returns the next feed event at a point of the day, and sets {@link #getKind()}.
+     *
+     * @param minute the simulated time
+     * @return the event, or null if no match is live
+     */
+    ScoreEvent next(double minute) {
+        Fixture due = scheduled.peekFirst();
+        if (due != null && due.kickoff <= minute) {
+            scheduled.removeFirst();
+            due.index = live.size();
+            live.add(due);
+            ending.add(due);
+            kind = Kind.KICKOFF;
+            return ScoreEvent.start(due.home, due.away);
+        }
+        Fixture over = ending.peek();
+        if (over != null && over.end <= minute) {
+            ending.remove();
+            Fixture last = live.remove(live.size() - 1);
+            if (last != over) {
+                live.set(over.index, last);
+                last.index = over.index;
+            }
+            schedule(minute);
+            kind = Kind.FINISH;
+            return ScoreEvent.finish(over.home, over.away);
+        }
+        if (live.isEmpty()) {
+            return null;
+        }
+
+        Fixture fixture = live.get(random.nextInt(live.size()));
+        if (fixture.correction != 0) {
+            if (fixture.correction > 0) {
+                fixture.homeScore--;
+            } else {
+                fixture.awayScore--;
+            }
+            fixture.correction = 0;
+            kind = Kind.CORRECTION;
+        } else if (random.nextDouble() < goalChance(fixture, minute)) {
+            boolean home = random.nextBoolean();
+            if (home) {
+                fixture.homeScore++;
+            } else {
+                fixture.awayScore++;
+            }
+            fixture.lastGoal = minute;
+            if (random.nextDouble() < profile.corrections) {
+                fixture.correction = home ? 1 : -1;
+            }
+            kind = Kind.GOAL;
+        } else {
+            kind = Kind.REFRESH;
+        }
+        return ScoreEvent.update(fixture.home, fixture.away, fixture.homeScore, fixture.awayScore);
+    }
+
+    /**
+     * Returns what the last event returned by {@link #next(double)} does.
+     *
+     * @return the kind of the last event
+     */
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the number of live matches.
+     *
+     * @return the number of live matches
+     */
+    int getLive() {
+        return live.size();
+    }
+
+    /**
+     * Returns the chance that an event for a match is a goal: its scoring rate over the
+     * simulated minutes until its next event, which come less often the more matches share
+     * the feed.
+     */
+    private double goalChance(Fixture fixture, double minute) {
+        double minutesPerEvent = live.size() * profile.speed / profile.rate;
+        double heat = 1 + BURST_HEAT * Math.exp(-(minute - fixture.lastGoal) / BURST_MINUTES);
+        return profile.goals / 90 * heat * minutesPerEvent;
+    }
+
+    private void schedule(double minute) {
+        nextWave = Math.max(nextWave, minute);
+        double end = nextWave + MATCH_MINUTES + random.nextDouble() * STOPPAGE_MINUTES;
+        if (end > profile.minutes) {
+            return;
+        }
+        int pairing = fixtures++ % (teams / 2);
+        scheduled.addLast(new Fixture("Team " + 2 * pairing, "Team " + (2 * pairing + 1), nextWave, end));
+        if (++inWave == profile.wave) {
+            inWave = 0;
+            nextWave += profile.stagger;
+        }
+    }
+
+    private static final class Fixture {
+        final String home;
+        final String away;
+        final double kickoff;
+        final double end;
+        int homeScore;
+        int awayScore;
+        double lastGoal = Double.NEGATIVE_INFINITY;
+        // 1 or -1 if the last home or away goal is to be taken back
+        int correction;
+        int index;
+
+        Fixture(String home, String away, double kickoff, double end) {
+            this.home = home;
+            this.away = away;
+            this.kickoff = kickoff;
+            this.end = end;
+        }
+    }
+}
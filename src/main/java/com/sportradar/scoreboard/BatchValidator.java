@@ -0,0 +1,124 @@
+package com.sportradar.scoreboard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Validates a batch of {@link ScoreEvent}s against a scoreboard before any of them is applied,
+ * taking into account the effect of earlier events in the same batch.
+ * <p>
+ * The outcome is a {@link Scoreboard.Status}, as for the {@code try} operations, so that callers
+ * can count a refused batch by its reason and then throw the exception the corresponding
+ * single-event operation would.
+ */
+final class BatchValidator {
+    private final MatchKey[] keys;
+    private Scoreboard.Status status = Scoreboard.Status.OK;
+    private ScoreEvent refused;
+
+    private BatchValidator(int size) {
+        this.keys = new MatchKey[size];
+    }
+
+    /**
+     * Checks the events of the batch in order, up to the first one the scoreboard would refuse.
+     *
+     * @param events the events, in the order they are to be applied
+     * @param teams resolves a valid team name to a team
+     * @param isLive tells whether a match is live on the scoreboard before the batch
+     * @return the outcome, with the match key of each event if the batch is valid
+     * @throws IllegalArgumentException if an event is null
+     */
+    static BatchValidator validate(List<ScoreEvent> events, Function<String, Team> teams, Predicate<MatchKey> isLive) {
+        BatchValidator batch = new BatchValidator(events.size());
+        Map<MatchKey, Boolean> liveAfterEvent = new HashMap<>();
+
+        for (int i = 0; i < batch.keys.length; i++) {
+            ScoreEvent event = events.get(i);
+            if (event == null) {
+                throw new IllegalArgumentException("Score event cannot be null");
+            }
+            Scoreboard.Status status = check(event, i, batch.keys, teams, isLive, liveAfterEvent);
+            if (status != Scoreboard.Status.OK) {
+                batch.status = status;
+                batch.refused = event;
+                break;
+            }
+        }
+        return batch;
+    }
+
+    private static Scoreboard.Status check(ScoreEvent event, int index, MatchKey[] keys, Function<String, Team> teams,
+                                           Predicate<MatchKey> isLive, Map<MatchKey, Boolean> liveAfterEvent) {
+        if (!Team.isValidName(event.getHomeTeamName()) || !Team.isValidName(event.getAwayTeamName())) {
+            return Scoreboard.Status.INVALID_TEAM_NAME;
+        }
+        if (event.getType() == ScoreEvent.Type.START && event.getHomeTeamName().equals(event.getAwayTeamName())) {
+            return Scoreboard.Status.SAME_TEAMS;
+        }
+        MatchKey key = new MatchKey(teams.apply(event.getHomeTeamName()), teams.apply(event.getAwayTeamName()));
+        keys[index] = key;
+
+        Boolean live = liveAfterEvent.get(key);
+        boolean exists = live != null ? live : isLive.test(key);
+
+        switch (event.getType()) {
+            case START:
+                if (exists) {
+                    return Scoreboard.Status.MATCH_EXISTS;
+                }
+                liveAfterEvent.put(key, Boolean.TRUE);
+                return Scoreboard.Status.OK;
+            case UPDATE:
+                if (!exists) {
+                    return Scoreboard.Status.MATCH_NOT_FOUND;
+                }
+                if (event.getHomeScore() < 0 || event.getAwayScore() < 0) {
+                    return Scoreboard.Status.NEGATIVE_SCORE;
+                }
+                return Scoreboard.Status.OK;
+            case FINISH:
+                if (!exists) {
+                    return Scoreboard.Status.MATCH_NOT_FOUND;
+                }
+                liveAfterEvent.put(key, Boolean.FALSE);
+                return Scoreboard.Status.OK;
+            default:
+                throw new IllegalArgumentException("Unknown event type: " + event.getType());
+        }
+    }
+
+    /**
+     * Returns whether the batch may be applied, or why not.
+     *
+     * @return {@link Scoreboard.Status#OK} or the refusal of the first invalid event
+     */
+    Scoreboard.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the match key each event addresses, by position; only complete for a valid batch.
+     *
+     * @return the keys
+     */
+    MatchKey[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * Builds the exception the single-event operation raises for the refused event.
+     *
+     * @return the exception
+     * @throws IllegalStateException if the batch is valid
+     */
+    RuntimeException toException() {
+        if (refused == null) {
+            throw new IllegalStateException("Batch was not refused");
+        }
+        return status.toException(refused.getHomeTeamName(), refused.getAwayTeamName());
+    }
+}
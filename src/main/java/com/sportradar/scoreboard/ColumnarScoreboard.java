@@ -0,0 +1,337 @@
+package com.sportradar.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Scoreboard storage mode for very large boards, such as simulated or replayed fixture
+ * sets. Offers the same operations and ordering as {@link Scoreboard}.
+ * <p>
+ * Matches are kept as parallel primitive arrays (team ids, scores, creation order), one
+ * slot per match, and found through an open-addressing hash of the (home id, away id)
+ * pair. No object is kept per match: {@link Match} instances are only built for the
+ * caller, by {@link #startGame(String, String)} and {@link #getSummary()}, and are
+ * detached copies. Finished matches leave a hole that is reclaimed by compacting the
+ * arrays when they are full.
+ * <p>
+ * Slots are handed out in creation order and compaction keeps their relative order, so
+ * the summary orders slots by total score, then slot. While totals are no larger than the
+ * number of live matches, as with realistic scores, it counting-sorts them in linear time;
+ * otherwise it sorts one packed {@code long} per match. Above a configurable number of live
+ * matches, the packed sort and the building of the returned matches run on the common
+ * fork-join pool.
+ * <p>
+ * Not thread-safe; listeners, snapshots and subscriptions are not supported.
+ */
+public class ColumnarScoreboard {
+    private static final int MIN_CAPACITY = 16;
+    private static final int FINISHED = -1;
+
+    /**
+     * Number of live matches above which the summary is computed in parallel, unless
+     * configured otherwise.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 17;
+
+    private final TeamRegistry teams;
+
+    private int[] homeIds;
+    private int[] awayIds;
+    private int[] homeScores;
+    private int[] awayScores;
+    private long[] creationOrders;
+    private int slots;
+    private int live;
+
+    private final LongIntHashMap index;
+    private long orderCounter;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * Creates a new empty scoreboard.
+     */
+    public ColumnarScoreboard() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty scoreboard sized for the given number of matches.
+     *
+     * @param expectedMatches the number of matches expected to be live at once
+     * @throws IllegalArgumentException if expectedMatches is negative
+     */
+    public ColumnarScoreboard(int expectedMatches) {
+        if (expectedMatches < 0) {
+            throw new IllegalArgumentException("Expected number of matches cannot be negative");
+        }
+        int capacity = Math.max(MIN_CAPACITY, expectedMatches);
+        this.teams = new TeamRegistry(2 * capacity);
+        this.homeIds = new int[capacity];
+        this.awayIds = new int[capacity];
+        this.homeScores = new int[capacity];
+        this.awayScores = new int[capacity];
+        this.creationOrders = new long[capacity];
+        this.index = new LongIntHashMap(capacity);
+    }
+
+    /**
+     * Starts a new game with initial score 0-0.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return a copy of the created match
+     * @throws IllegalArgumentException if team names are invalid or teams are the same
+     * @throws IllegalStateException if a match between these teams already exists
+     */
+    public Match startGame(String homeTeamName, String awayTeamName) {
+        if (Team.isValidName(homeTeamName) && homeTeamName.equals(awayTeamName)) {
+            throw new IllegalArgumentException("Home team and away team must be different");
+        }
+        int homeId = intern(homeTeamName);
+        int awayId = intern(awayTeamName);
+
+        long key = key(homeId, awayId);
+        if (index.get(key) != LongIntHashMap.MISSING) {
+            throw new IllegalStateException(
+                    String.format("Match between %s and %s already exists", homeTeamName, awayTeamName)
+            );
+        }
+
+        if (slots == homeIds.length) {
+            makeRoom();
+        }
+        int slot = slots++;
+        homeIds[slot] = homeId;
+        awayIds[slot] = awayId;
+        homeScores[slot] = 0;
+        awayScores[slot] = 0;
+        creationOrders[slot] = orderCounter++;
+        index.put(key, slot);
+        live++;
+        return toMatch(slot);
+    }
+
+    /**
+     * Updates the score of an existing match.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @param homeScore the new home team score
+     * @param awayScore the new away team score
+     * @throws IllegalArgumentException if team names are invalid or scores are negative
+     * @throws IllegalStateException if the match does not exist
+     */
+    public void updateScore(String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
+        int slot = find(homeTeamName, awayTeamName);
+        if (slot == LongIntHashMap.MISSING) {
+            throw new IllegalStateException(
+                    String.format("Match between %s and %s does not exist", homeTeamName, awayTeamName)
+            );
+        }
+        if (homeScore < 0 || awayScore < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
+        homeScores[slot] = homeScore;
+        awayScores[slot] = awayScore;
+    }
+
+    /**
+     * Finishes a game and removes it from the scoreboard.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @throws IllegalArgumentException if team names are invalid
+     * @throws IllegalStateException if the match does not exist
+     */
+    public void finishGame(String homeTeamName, String awayTeamName) {
+        int slot = find(homeTeamName, awayTeamName);
+        if (slot == LongIntHashMap.MISSING) {
+            throw new IllegalStateException(
+                    String.format("Match between %s and %s does not exist", homeTeamName, awayTeamName)
+            );
+        }
+        index.remove(key(homeIds[slot], awayIds[slot]));
+        homeIds[slot] = FINISHED;
+        live--;
+    }
+
+    /**
+     * Returns a summary of all matches ordered by:
+     * 1. Total score (descending)
+     * 2. Most recently added (for matches with same total score)
+     * <p>
+     * The returned matches are copies and do not change afterwards.
+     *
+     * @return list of matches in the specified order
+     */
+    public List<Match> getSummary() {
+        boolean parallel = live > parallelThreshold;
+        int[] order = countingOrder();
+        if (order == null) {
+            order = sortedOrder(parallel);
+        }
+
+        Match[] result = new Match[order.length];
+        if (parallel) {
+            int[] slotOrder = order;
+            IntStream.range(0, result.length).parallel().forEach(i -> result[i] = toMatch(slotOrder[i]));
+        } else {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = toMatch(order[i]);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * Sets the number of live matches above which {@link #getSummary()} sorts and builds
+     * the returned matches on the common fork-join pool. Below a few hundred thousand
+     * matches, or on few cores, the sequential path is usually faster.
+     *
+     * @param parallelThreshold the number of live matches; {@link Integer#MAX_VALUE} to never go parallel
+     * @throws IllegalArgumentException if parallelThreshold is negative
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold cannot be negative");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns the number of live matches.
+     *
+     * @return the number of live matches
+     */
+    public int size() {
+        return live;
+    }
+
+    /**
+     * Returns the number of bytes held by the match columns and the lookup table, without
+     * object headers and team names. Useful to compare storage modes.
+     *
+     * @return the storage size in bytes
+     */
+    long storageBytes() {
+        return (long) homeIds.length * (4 * Integer.BYTES + Long.BYTES) + index.tableBytes();
+    }
+
+    /**
+     * Orders the live slots by descending total, then descending slot, with one bucket per
+     * total; returns null if the highest total exceeds the number of live matches, or
+     * overflows, so that buckets would cost more than sorting.
+     */
+    private int[] countingOrder() {
+        int maxTotal = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (homeIds[slot] != FINISHED) {
+                int total = homeScores[slot] + awayScores[slot];
+                if (total < 0 || total > live) {
+                    return null;
+                }
+                maxTotal = Math.max(maxTotal, total);
+            }
+        }
+        // Bucket i holds total maxTotal - i, so the highest totals come first
+        int[] starts = new int[maxTotal + 2];
+        for (int slot = 0; slot < slots; slot++) {
+            if (homeIds[slot] != FINISHED) {
+                starts[maxTotal - (homeScores[slot] + awayScores[slot]) + 1]++;
+            }
+        }
+        for (int i = 1; i < starts.length; i++) {
+            starts[i] += starts[i - 1];
+        }
+        int[] order = new int[live];
+        for (int slot = slots - 1; slot >= 0; slot--) {
+            if (homeIds[slot] != FINISHED) {
+                order[starts[maxTotal - (homeScores[slot] + awayScores[slot])]++] = slot;
+            }
+        }
+        return order;
+    }
+
+    private int[] sortedOrder(boolean parallel) {
+        long[] packed = new long[live];
+        int n = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (homeIds[slot] != FINISHED) {
+                packed[n++] = ((long) (homeScores[slot] + awayScores[slot]) << 32) | slot;
+            }
+        }
+        if (parallel) {
+            Arrays.parallelSort(packed);
+        } else {
+            Arrays.sort(packed);
+        }
+
+        int[] order = new int[live];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (int) packed[packed.length - 1 - i];
+        }
+        return order;
+    }
+
+    private Match toMatch(int slot) {
+        Match match = new Match(teams.get(homeIds[slot]), teams.get(awayIds[slot]), creationOrders[slot]);
+        match.updateScore(homeScores[slot], awayScores[slot]);
+        return match;
+    }
+
+    private int find(String homeTeamName, String awayTeamName) {
+        int homeId = findTeam(homeTeamName);
+        int awayId = findTeam(awayTeamName);
+        if (homeId < 0 || awayId < 0) {
+            return LongIntHashMap.MISSING;
+        }
+        return index.get(key(homeId, awayId));
+    }
+
+    private int intern(String name) {
+        return teams.intern(name).getId();
+    }
+
+    private int findTeam(String name) {
+        // Unknown teams cannot be part of any match
+        Team team = teams.find(name);
+        return team == null ? Team.NO_ID : team.getId();
+    }
+
+    /**
+     * Frees slots for new matches: compacts the columns if at least half of the slots
+     * belong to finished matches, otherwise doubles them.
+     */
+    private void makeRoom() {
+        if (live <= slots / 2) {
+            int target = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (homeIds[slot] != FINISHED) {
+                    if (slot != target) {
+                        homeIds[target] = homeIds[slot];
+                        awayIds[target] = awayIds[slot];
+                        homeScores[target] = homeScores[slot];
+                        awayScores[target] = awayScores[slot];
+                        creationOrders[target] = creationOrders[slot];
+                        index.put(key(homeIds[target], awayIds[target]), target);
+                    }
+                    target++;
+                }
+            }
+            slots = target;
+            return;
+        }
+        int capacity = 2 * homeIds.length;
+        homeIds = Arrays.copyOf(homeIds, capacity);
+        awayIds = Arrays.copyOf(awayIds, capacity);
+        homeScores = Arrays.copyOf(homeScores, capacity);
+        awayScores = Arrays.copyOf(awayScores, capacity);
+        creationOrders = Arrays.copyOf(creationOrders, capacity);
+    }
+
+    private static long key(int homeId, int awayId) {
+        return ((long) homeId << 32) | (awayId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,359 @@
+package com.sportradar.scoreboard;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * Thread-safe scoreboard for managing live football matches.
+ * Offers the same operations and ordering as {@link Scoreboard}.
+ * <p>
+ * Matches are partitioned into lock stripes by the hash of their team names, so updates
+ * to different matches rarely contend. Team names are interned once into a shared
+ * dictionary, where known names are found without locking, and matches are keyed by team
+ * ids. Only started games register names. Creation order comes from an atomic sequence.
+ * {@link #getSummary()} copies all stripes under optimistic reads, which the stripes'
+ * concurrent maps make safe to traverse while written, and retries a few times when a
+ * concurrent write invalidated the copy before it takes the stripe read locks.
+ * Either way the summary is a consistent point-in-time snapshot.
+ */
+public class ConcurrentScoreboard {
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int OPTIMISTIC_ATTEMPTS = 4;
+
+    private final Stripe[] stripes;
+    private final AtomicLong orderCounter;
+    private final ConcurrentTeamRegistry teams = new ConcurrentTeamRegistry();
+
+    /**
+     * Creates a new empty scoreboard with the default number of lock stripes.
+     */
+    public ConcurrentScoreboard() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a new empty scoreboard.
+     *
+     * @param stripeCount the number of lock stripes, rounded up to a power of two
+     * @throws IllegalArgumentException if stripeCount is not positive
+     */
+    public ConcurrentScoreboard(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.orderCounter = new AtomicLong();
+    }
+
+    /**
+     * Starts a new game with initial score 0-0.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return a snapshot of the created match
+     * @throws IllegalArgumentException if team names are invalid or teams are the same
+     * @throws IllegalStateException if a match between these teams already exists
+     */
+    public Match startGame(String homeTeamName, String awayTeamName) {
+        if (!Team.isValidName(homeTeamName) || !Team.isValidName(awayTeamName)) {
+            throw new IllegalArgumentException("Team name cannot be null or empty");
+        }
+        if (homeTeamName.equals(awayTeamName)) {
+            throw new IllegalArgumentException("Home team and away team must be different");
+        }
+        Team homeTeam = teams.intern(homeTeamName);
+        Team awayTeam = teams.intern(awayTeamName);
+
+        MatchKey key = new MatchKey(homeTeam, awayTeam);
+        Stripe stripe = stripeFor(homeTeam, awayTeam);
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.matches.containsKey(key)) {
+                throw new IllegalStateException(
+                        String.format("Match between %s and %s already exists", homeTeamName, awayTeamName)
+                );
+            }
+
+            Match match = new Match(homeTeam, awayTeam, orderCounter.getAndIncrement());
+            stripe.matches.put(key, match);
+            return match.copy();
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Updates the score of an existing match.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @param homeScore the new home team score
+     * @param awayScore the new away team score
+     * @throws IllegalArgumentException if team names are invalid or scores are negative
+     * @throws IllegalStateException if the match does not exist
+     */
+    public void updateScore(String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
+        MatchKey key = find(homeTeamName, awayTeamName);
+        if (key == null) {
+            throw new IllegalStateException(
+                    String.format("Match between %s and %s does not exist", homeTeamName, awayTeamName)
+            );
+        }
+        Stripe stripe = stripeFor(homeTeamName, awayTeamName);
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            Match match = stripe.matches.get(key);
+            if (match == null) {
+                throw new IllegalStateException(
+                        String.format("Match between %s and %s does not exist", homeTeamName, awayTeamName)
+                );
+            }
+
+            match.updateScore(homeScore, awayScore);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Finishes a game and removes it from the scoreboard.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @throws IllegalArgumentException if team names are invalid
+     * @throws IllegalStateException if the match does not exist
+     */
+    public void finishGame(String homeTeamName, String awayTeamName) {
+        MatchKey key = find(homeTeamName, awayTeamName);
+        if (key == null) {
+            throw new IllegalStateException(
+                    String.format("Match between %s and %s does not exist", homeTeamName, awayTeamName)
+            );
+        }
+        Stripe stripe = stripeFor(homeTeamName, awayTeamName);
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.matches.remove(key) == null) {
+                throw new IllegalStateException(
+                        String.format("Match between %s and %s does not exist", homeTeamName, awayTeamName)
+                );
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Applies a batch of starts, updates and finishes in order, atomically with respect
+     * to {@link #getSummary()}: a summary shows either none or all of the batch.
+     * <p>
+     * The stripes addressed by the batch are locked once, in a fixed order, for the
+     * whole batch. The batch is validated before anything changes: if any event is
+     * invalid, none of them is applied, and no team name is registered.
+     *
+     * @param events the events to apply, in order
+     * @throws IllegalArgumentException if events is null, or an event is null or has invalid names or scores
+     * @throws IllegalStateException if an event starts an existing match or addresses a missing one
+     */
+    public void applyBatch(List<ScoreEvent> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Score events cannot be null");
+        }
+        boolean[] involved = new boolean[stripes.length];
+        for (ScoreEvent event : events) {
+            if (event == null) {
+                throw new IllegalArgumentException("Score event cannot be null");
+            }
+            if (!Team.isValidName(event.getHomeTeamName()) || !Team.isValidName(event.getAwayTeamName())) {
+                throw new IllegalArgumentException("Team name cannot be null or empty");
+            }
+            involved[stripeIndex(event.getHomeTeamName().hashCode(), event.getAwayTeamName().hashCode())] = true;
+        }
+
+        long[] stamps = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            if (involved[i]) {
+                stamps[i] = stripes[i].lock.writeLock();
+            }
+        }
+        try {
+            // Each name resolves to one team for the whole batch. Names not registered yet get
+            // provisional teams, with ids below Team.NO_ID, until the batch is valid: no live
+            // match can involve them, as matches are only put after their teams are interned.
+            Map<String, Team> resolved = new HashMap<>();
+            Function<String, Team> resolve = name -> resolved.computeIfAbsent(name, n -> {
+                Team team = teams.find(n);
+                return team != null ? team : new Team(n, Team.NO_ID - 1 - resolved.size());
+            });
+            Map<MatchKey, Stripe> routes = new HashMap<>();
+            for (ScoreEvent event : events) {
+                Team homeTeam = resolve.apply(event.getHomeTeamName());
+                Team awayTeam = resolve.apply(event.getAwayTeamName());
+                routes.put(new MatchKey(homeTeam, awayTeam), stripeFor(homeTeam, awayTeam));
+            }
+            BatchValidator batch = BatchValidator.validate(events, resolve,
+                    key -> routes.get(key).matches.containsKey(key));
+            if (batch.getStatus() != Scoreboard.Status.OK) {
+                throw batch.toException();
+            }
+            MatchKey[] keys = batch.getKeys();
+
+            for (int i = 0; i < keys.length; i++) {
+                ScoreEvent event = events.get(i);
+                Map<MatchKey, Match> matches = routes.get(keys[i]).matches;
+                MatchKey key = keys[i];
+                Team homeTeam = resolved.get(event.getHomeTeamName());
+                Team awayTeam = resolved.get(event.getAwayTeamName());
+                if (homeTeam.getId() < Team.NO_ID || awayTeam.getId() < Team.NO_ID) {
+                    // Registered by a start in this batch, now or earlier
+                    homeTeam = teams.intern(homeTeam.getName());
+                    awayTeam = teams.intern(awayTeam.getName());
+                    key = new MatchKey(homeTeam, awayTeam);
+                }
+                switch (event.getType()) {
+                    case START:
+                        matches.put(key, new Match(homeTeam, awayTeam, orderCounter.getAndIncrement()));
+                        break;
+                    case UPDATE:
+                        matches.get(key).updateScore(event.getHomeScore(), event.getAwayScore());
+                        break;
+                    case FINISH:
+                        matches.remove(key);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown event type: " + event.getType());
+                }
+            }
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                if (involved[i]) {
+                    stripes[i].lock.unlockWrite(stamps[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of all matches ordered by:
+     * 1. Total score (descending)
+     * 2. Most recently added (for matches with same total score)
+     * <p>
+     * The returned matches are copies and do not change afterwards.
+     *
+     * @return list of matches in the specified order
+     */
+    public List<Match> getSummary() {
+        List<Match> snapshot = null;
+        for (int attempt = 0; snapshot == null && attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            snapshot = tryOptimisticSnapshot();
+        }
+        if (snapshot == null) {
+            snapshot = lockedSnapshot();
+        }
+        snapshot.sort(SummaryIndex.ORDER);
+        return snapshot;
+    }
+
+    private List<Match> tryOptimisticSnapshot() {
+        long[] stamps = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            stamps[i] = stripes[i].lock.tryOptimisticRead();
+            if (stamps[i] == 0L) {
+                return null;
+            }
+        }
+
+        // Scores read here may be torn by a concurrent update; the stamps below catch that
+        List<Match> snapshot = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            for (Match match : stripe.matches.values()) {
+                snapshot.add(match.copy());
+            }
+        }
+
+        for (int i = 0; i < stripes.length; i++) {
+            if (!stripes[i].lock.validate(stamps[i])) {
+                return null;
+            }
+        }
+        return snapshot;
+    }
+
+    private List<Match> lockedSnapshot() {
+        long[] stamps = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            stamps[i] = stripes[i].lock.readLock();
+        }
+        try {
+            List<Match> snapshot = new ArrayList<>();
+            for (Stripe stripe : stripes) {
+                for (Match match : stripe.matches.values()) {
+                    snapshot.add(match.copy());
+                }
+            }
+            return snapshot;
+        } finally {
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i].lock.unlockRead(stamps[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of team names registered so far.
+     *
+     * @return the number of teams
+     */
+    int getTeamCount() {
+        return teams.size();
+    }
+
+    /**
+     * Returns the key of a team pair, or null if a team was never seen and so cannot be
+     * part of a match.
+     */
+    private MatchKey find(String homeTeamName, String awayTeamName) {
+        Team homeTeam = teams.find(homeTeamName);
+        Team awayTeam = teams.find(awayTeamName);
+        return homeTeam == null || awayTeam == null ? null : new MatchKey(homeTeam, awayTeam);
+    }
+
+    private Stripe stripeFor(Team homeTeam, Team awayTeam) {
+        return stripes[stripeIndex(homeTeam.hashCode(), awayTeam.hashCode())];
+    }
+
+    private Stripe stripeFor(String homeTeamName, String awayTeamName) {
+        return stripes[stripeIndex(homeTeamName.hashCode(), awayTeamName.hashCode())];
+    }
+
+    /**
+     * Routes by the hashes of the names, which a team has before it is interned, so that a
+     * batch can lock the stripes of the games it starts without registering their teams.
+     */
+    private int stripeIndex(int homeHash, int awayHash) {
+        int h = 31 * homeHash + awayHash;
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    /**
+     * A partition of the matches guarded by its own lock. Writers hold the write lock; the
+     * map is concurrent only so that optimistic readers can traverse it safely.
+     */
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private final Map<MatchKey, Match> matches = new ConcurrentHashMap<>();
+    }
+}
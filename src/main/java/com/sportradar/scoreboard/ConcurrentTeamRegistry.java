@@ -0,0 +1,55 @@
+package com.sportradar.scoreboard;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe counterpart of {@link TeamRegistry} for {@link ConcurrentScoreboard}: interns
+ * teams by name and numbers them with dense ids from 0, from any thread.
+ * <p>
+ * Looking up a known name does not lock. Each name is held once, by its interned team.
+ * Teams are never evicted.
+ */
+final class ConcurrentTeamRegistry {
+    private final ConcurrentHashMap<String, Team> teams = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Returns the canonical team for the given name, creating it on first use.
+     *
+     * @param name the team name
+     * @return the interned team
+     * @throws IllegalArgumentException if name is null, empty or blank
+     */
+    Team intern(String name) {
+        Team team = find(name);
+        if (team == null) {
+            // Runs at most once per name, so ids stay dense
+            team = teams.computeIfAbsent(name, n -> new Team(n, nextId.getAndIncrement()));
+        }
+        return team;
+    }
+
+    /**
+     * Returns the canonical team for the given name without registering new names.
+     *
+     * @param name the team name
+     * @return the interned team, or null if no team with this name was interned
+     * @throws IllegalArgumentException if name is null, empty or blank
+     */
+    Team find(String name) {
+        if (!Team.isValidName(name)) {
+            throw new IllegalArgumentException("Team name cannot be null or empty");
+        }
+        return teams.get(name);
+    }
+
+    /**
+     * Returns the number of interned teams.
+     *
+     * @return the number of teams
+     */
+    int size() {
+        return teams.size();
+    }
+}
@@ -0,0 +1,81 @@
+package com.sportradar.scoreboard;
+
+/**
+ * Final result of a finished match, as kept by a {@link MatchArchive}.
+ */
+public final class FinishedMatch {
+    private final Team homeTeam;
+    private final Team awayTeam;
+    private final int homeScore;
+    private final int awayScore;
+    private final long creationOrder;
+    private final long finishedAtMillis;
+
+    FinishedMatch(Team homeTeam, Team awayTeam, int homeScore, int awayScore, long creationOrder, long finishedAtMillis) {
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+        this.creationOrder = creationOrder;
+        this.finishedAtMillis = finishedAtMillis;
+    }
+
+    /**
+     * Returns the home team.
+     *
+     * @return the home team
+     */
+    public Team getHomeTeam() {
+        return homeTeam;
+    }
+
+    /**
+     * Returns the away team.
+     *
+     * @return the away team
+     */
+    public Team getAwayTeam() {
+        return awayTeam;
+    }
+
+    /**
+     * Returns the final home team score.
+     *
+     * @return the home team score
+     */
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    /**
+     * Returns the final away team score.
+     *
+     * @return the away team score
+     */
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    /**
+     * Returns the creation order the match had while it was live.
+     *
+     * @return the creation order
+     */
+    public long getCreationOrder() {
+        return creationOrder;
+    }
+
+    /**
+     * Returns when the match was finished.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getFinishedAtMillis() {
+        return finishedAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return homeTeam + " " + homeScore + " - " + awayTeam + " " + awayScore;
+    }
+}
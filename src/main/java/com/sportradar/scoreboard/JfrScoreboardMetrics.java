@@ -0,0 +1,116 @@
+package com.sportradar.scoreboard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * {@link ScoreboardMetrics} that emits Java Flight Recorder events, for profiling sessions:
+ * {@code com.sportradar.scoreboard.Operation} per timed or rejected operation and
+ * {@code com.sportradar.scoreboard.LiveMatches} per change in the number of live matches.
+ * <p>
+ * Like {@link ScoreboardStats}, it times one operation in
+ * {@value ScoreboardStats#DEFAULT_SAMPLE_INTERVAL} by default, as reading the clock costs
+ * more than the rest of the hook. The events are disabled unless a recording enables them,
+ * for example with {@code jcmd <pid> JFR.start settings=profile}; a disabled event costs a
+ * flag check and allocates nothing. Operations are reported after they complete, so the
+ * duration is a field rather than the event's own start and end time.
+ */
+public final class JfrScoreboardMetrics implements ScoreboardMetrics {
+    private static final EventType OPERATION = EventType.getEventType(OperationEvent.class);
+    private static final EventType LIVE_MATCHES = EventType.getEventType(LiveMatchesEvent.class);
+
+    private final int sampleInterval;
+
+    /**
+     * Creates metrics timing one in {@value ScoreboardStats#DEFAULT_SAMPLE_INTERVAL} operations.
+     */
+    public JfrScoreboardMetrics() {
+        this(ScoreboardStats.DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Creates metrics emitting an event for one in {@code sampleInterval} completed operations.
+     *
+     * @param sampleInterval time one in this many operations, rounded up to a power of two; 1 to time all
+     * @throws IllegalArgumentException if sampleInterval is not positive
+     */
+    public JfrScoreboardMetrics(int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        this.sampleInterval = sampleInterval;
+    }
+
+    @Override
+    public int latencySampleInterval() {
+        return sampleInterval;
+    }
+
+    @Override
+    public void recordOperation(Operation operation, long nanos) {
+        if (nanos == UNTIMED || !OPERATION.isEnabled()) {
+            return;
+        }
+        OperationEvent event = new OperationEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.latency = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void recordFailure(Operation operation, Failure failure) {
+        if (!OPERATION.isEnabled()) {
+            return;
+        }
+        OperationEvent event = new OperationEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.failure = failure.name();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void liveMatchesChanged(int liveMatches) {
+        if (!LIVE_MATCHES.isEnabled()) {
+            return;
+        }
+        LiveMatchesEvent event = new LiveMatchesEvent();
+        if (event.shouldCommit()) {
+            event.liveMatches = liveMatches;
+            event.commit();
+        }
+    }
+
+    @Name("com.sportradar.scoreboard.Operation")
+    @Label("Scoreboard Operation")
+    @Category("Scoreboard")
+    @Description("A scoreboard operation that completed or was rejected")
+    static final class OperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Latency")
+        @Timespan(Timespan.NANOSECONDS)
+        long latency;
+
+        @Label("Failure")
+        @Description("Why the operation was rejected; empty if it completed")
+        String failure;
+    }
+
+    @Name("com.sportradar.scoreboard.LiveMatches")
+    @Label("Scoreboard Live Matches")
+    @Category("Scoreboard")
+    static final class LiveMatchesEvent extends Event {
+        @Label("Live Matches")
+        int liveMatches;
+    }
+}
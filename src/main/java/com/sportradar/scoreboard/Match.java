@@ -3,6 +3,9 @@ package com.sportradar.scoreboard;
 /**
  * Entity representing a football match between two teams.
  * A match maintains the current score and tracks when it was created for ordering purposes.
+ * <p>
+ * Scores only change through the scoreboard holding the match, which keeps its summary
+ * ordered by them; to callers a match is read-only.
  */
 public class Match {
     private final Team homeTeam;
@@ -11,6 +14,21 @@ public class Match {
     private int awayScore;
     private final long creationOrder;
 
+    /**
+     * Forward links maintained by {@link SummaryIndex} while this match is on a scoreboard.
+     */
+    Match[] summaryLinks;
+
+    /**
+     * Number of positions skipped by each of the {@link #summaryLinks}.
+     */
+    int[] summaryWidths;
+
+    /**
+     * Cached view of the current score; cleared whenever the score changes.
+     */
+    private MatchView view;
+
     /**
      * Creates a new match with initial score of 0-0.
      *
@@ -31,18 +49,20 @@ public class Match {
     }
 
     /**
-     * Updates the score of the match.
+     * Updates the score of the match. Only for the scoreboard holding it, which must take the
+     * match out of its summary first, or for a detached match.
      *
      * @param homeScore the new home team score
      * @param awayScore the new away team score
      * @throws IllegalArgumentException if either score is negative
      */
-    public void updateScore(int homeScore, int awayScore) {
+    void updateScore(int homeScore, int awayScore) {
         if (homeScore < 0 || awayScore < 0) {
             throw new IllegalArgumentException("Scores cannot be negative");
         }
         this.homeScore = homeScore;
         this.awayScore = awayScore;
+        this.view = null;
     }
 
     /**
@@ -99,8 +119,34 @@ public class Match {
         return creationOrder;
     }
 
+    /**
+     * Returns an immutable view of the current state of this match, reusing the previous
+     * view as long as the score did not change.
+     *
+     * @return the view
+     */
+    MatchView view() {
+        if (view == null) {
+            view = new MatchView(this);
+        }
+        return view;
+    }
+
+    /**
+     * Returns a detached copy of this match with the same teams, score and creation order.
+     *
+     * @return a copy of this match
+     */
+    Match copy() {
+        Match copy = new Match(homeTeam, awayTeam, creationOrder);
+        copy.homeScore = homeScore;
+        copy.awayScore = awayScore;
+        return copy;
+    }
+
     @Override
     public String toString() {
-        return homeTeam + " " + homeScore + " - " + awayTeam + " " + awayScore;
+        // The view caches its string, so repeated calls between score changes do not rebuild it
+        return view().toString();
     }
 }
\ No newline at end of file
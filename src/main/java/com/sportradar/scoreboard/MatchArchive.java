@@ -0,0 +1,563 @@
+package com.sportradar.scoreboard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded archive of the results of finished matches, filled by registering it as a
+ * {@link ScoreboardListener}, so that results stay available once the scoreboard dropped them.
+ * <p>
+ * At most {@code capacity} results are kept in memory, about 150 bytes each besides the
+ * teams, which are shared with the scoreboard; beyond that, the least recently used or the
+ * oldest finished result is evicted, depending on the {@link Eviction} policy. Results older
+ * than {@code maxAgeMillis} are evicted in either case. A result of a team pair that finishes
+ * again is replaced by the new one.
+ * <p>
+ * With a spill file, evicted results are appended to it instead of being dropped. The file is
+ * a sequence of variable-length records {@code [UTF home][UTF away][int home score]
+ * [int away score][long creation order][long finished at]}, UTF being
+ * {@link DataOutputStream#writeUTF}; it is appended to across restarts and grows until
+ * deleted. An index of the latest record of each pair in the file, 16 bytes per pair and
+ * built by reading the file once when it is first used, lets a lookup that misses in memory
+ * read a single record, or none.
+ * <p>
+ * Thread-safe: the scoreboard's thread archives results while any thread looks them up.
+ * Spilled records are written through a buffer. A failure to write them is kept rather than
+ * thrown at the scoreboard: later results are no longer spilled, lookups that miss in memory
+ * report it as {@link UncheckedIOException}, and {@link #close()} throws it. Once closed, the
+ * archive still answers from memory, but drops evicted results and refuses spill lookups.
+ */
+public final class MatchArchive implements ScoreboardListener, Closeable {
+
+    /**
+     * Which result leaves memory first once the archive is full.
+     */
+    public enum Eviction {
+        /** The result looked up or archived least recently. */
+        LEAST_RECENTLY_USED,
+        /** The result of the match that finished first. */
+        OLDEST_FINISHED
+    }
+
+    private final int capacity;
+    private final Eviction eviction;
+    private final long maxAgeMillis;
+    private final Path spillPath;
+    private final LongSupplier clock;
+    private final Map<PairKey, Entry> entries = new HashMap<>();
+    // Two lists over the same entries: by finish time and by last use, oldest first
+    private Entry oldestFinished;
+    private Entry newestFinished;
+    private Entry leastUsed;
+    private Entry mostUsed;
+    private FileChannel spill;
+    private BufferedOutputStream spillOut;
+    private SpillIndex spillIndex;
+    // Length of the spill file once the buffered records are written
+    private long spillEnd;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private IOException spillFailure;
+    private long spilled;
+    private boolean closed;
+
+    /**
+     * Creates an in-memory archive evicting the least recently used results.
+     *
+     * @param capacity the maximum number of results kept
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public MatchArchive(int capacity) {
+        this(capacity, Eviction.LEAST_RECENTLY_USED, 0, null);
+    }
+
+    /**
+     * Creates an archive.
+     *
+     * @param capacity the maximum number of results kept in memory
+     * @param eviction which result leaves memory first once the archive is full
+     * @param maxAgeMillis how long after its finish a result stays in memory; 0 for no limit
+     * @param spillFile the file evicted results are appended to, created on first use; null to drop them
+     * @throws IllegalArgumentException if capacity is not positive, eviction is null or maxAgeMillis is negative
+     */
+    public MatchArchive(int capacity, Eviction eviction, long maxAgeMillis, Path spillFile) {
+        this(capacity, eviction, maxAgeMillis, spillFile, System::currentTimeMillis);
+    }
+
+    MatchArchive(int capacity, Eviction eviction, long maxAgeMillis, Path spillFile, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (eviction == null) {
+            throw new IllegalArgumentException("Eviction cannot be null");
+        }
+        if (maxAgeMillis < 0) {
+            throw new IllegalArgumentException("Maximum age cannot be negative");
+        }
+        this.capacity = capacity;
+        this.eviction = eviction;
+        this.maxAgeMillis = maxAgeMillis;
+        this.spillPath = spillFile;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void onGameFinished(Match match) {
+        long now = clock.getAsLong();
+        // Keyed by names: the scoreboard's team ids are its own, and an archive outlives them
+        Team homeTeam = match.getHomeTeam();
+        Team awayTeam = match.getAwayTeam();
+        FinishedMatch result = new FinishedMatch(homeTeam, awayTeam,
+                match.getHomeScore(), match.getAwayScore(), match.getCreationOrder(), now);
+        PairKey key = new PairKey(homeTeam.getName(), awayTeam.getName());
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            evict(previous);
+        }
+        Entry entry = new Entry(key, result);
+        entries.put(key, entry);
+        appendFinished(entry);
+        appendUsed(entry);
+        expire(now);
+        while (entries.size() > capacity) {
+            evict(eviction == Eviction.LEAST_RECENTLY_USED ? leastUsed : oldestFinished);
+        }
+    }
+
+    /**
+     * Returns the latest archived result of a team pair, looking in the spill file if it is
+     * no longer in memory. A hit in memory counts as a use for {@link Eviction#LEAST_RECENTLY_USED}.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return the result, or null if none is archived
+     * @throws IllegalArgumentException if team names are invalid
+     * @throws IllegalStateException if the result is not in memory and the archive is closed
+     * @throws UncheckedIOException if the spill file cannot be read, or writing it failed
+     */
+    public synchronized FinishedMatch find(String homeTeamName, String awayTeamName) {
+        if (!Team.isValidName(homeTeamName) || !Team.isValidName(awayTeamName)) {
+            throw new IllegalArgumentException("Team name cannot be null or empty");
+        }
+        expire(clock.getAsLong());
+        PairKey key = new PairKey(homeTeamName, awayTeamName);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (eviction == Eviction.LEAST_RECENTLY_USED) {
+                unlinkUsed(entry);
+                appendUsed(entry);
+            }
+            return entry.result;
+        }
+        return spillPath == null ? null : findSpilled(key);
+    }
+
+    /**
+     * Returns the most recently finished results still in memory, newest first.
+     *
+     * @param limit the maximum number of results
+     * @return a new list with at most limit results
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public synchronized List<FinishedMatch> getRecent(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        expire(clock.getAsLong());
+        List<FinishedMatch> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Entry entry = newestFinished; entry != null && result.size() < limit; entry = entry.previousFinished) {
+            result.add(entry.result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of results in memory.
+     *
+     * @return the number of results in memory
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of results appended to the spill file by this archive.
+     *
+     * @return the number of spilled results
+     */
+    public synchronized long getSpilledCount() {
+        return spilled;
+    }
+
+    /**
+     * Returns the failure that stopped results from being spilled.
+     *
+     * @return the failure, or null if spilling works
+     */
+    public synchronized IOException getSpillFailure() {
+        return spillFailure;
+    }
+
+    /**
+     * Writes out pending spilled results and closes the spill file. Results kept in memory
+     * are not spilled.
+     *
+     * @throws IOException if the spill file cannot be written, now or earlier
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (spill != null) {
+            try {
+                spillOut.close();
+            } catch (IOException e) {
+                fail(e);
+            }
+            spill = null;
+            spillOut = null;
+        }
+        if (spillFailure != null) {
+            throw spillFailure;
+        }
+    }
+
+    private void expire(long now) {
+        if (maxAgeMillis == 0) {
+            return;
+        }
+        while (oldestFinished != null && now - oldestFinished.result.getFinishedAtMillis() >= maxAgeMillis) {
+            evict(oldestFinished);
+        }
+    }
+
+    private void evict(Entry entry) {
+        entries.remove(entry.key);
+        unlinkFinished(entry);
+        unlinkUsed(entry);
+        if (spillPath != null) {
+            write(entry.result);
+        }
+    }
+
+    private void write(FinishedMatch result) {
+        if (spillFailure != null || closed) {
+            return;
+        }
+        try {
+            openSpill();
+            record.reset();
+            recordOut.writeUTF(result.getHomeTeam().getName());
+            recordOut.writeUTF(result.getAwayTeam().getName());
+            recordOut.writeInt(result.getHomeScore());
+            recordOut.writeInt(result.getAwayScore());
+            recordOut.writeLong(result.getCreationOrder());
+            recordOut.writeLong(result.getFinishedAtMillis());
+            record.writeTo(spillOut);
+            spillIndex.put(pairHash(result.getHomeTeam().getName(), result.getAwayTeam().getName()), spillEnd);
+            spillEnd += record.size();
+            spilled++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Keeps the first spill failure and stops spilling; the records in the buffer are lost.
+     */
+    private void fail(IOException e) {
+        if (spillFailure == null) {
+            spillFailure = e;
+        }
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            spill = null;
+            spillOut = null;
+        }
+    }
+
+    /**
+     * Opens the spill file on first use and indexes the records already in it. A torn or
+     * garbled record at the end is cut off, along with anything after it, so that new records
+     * follow the last intact one.
+     */
+    private void openSpill() throws IOException {
+        if (spill != null) {
+            return;
+        }
+        spillIndex = new SpillIndex();
+        spillEnd = 0;
+        if (Files.exists(spillPath)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillPath)))) {
+                byte[] fields = new byte[24];
+                while (true) {
+                    long offset = spillEnd;
+                    String home = in.readUTF();
+                    String away = in.readUTF();
+                    in.readFully(fields);
+                    if (!Team.isValidName(home) || !Team.isValidName(away)) {
+                        break;
+                    }
+                    spillEnd += 2 + 2 + 24 + utfLength(home) + utfLength(away);
+                    spillIndex.put(pairHash(home, away), offset);
+                }
+            } catch (EOFException | UTFDataFormatException e) {
+                // A torn or garbled record, or none, at the end
+            }
+        }
+        FileChannel channel = FileChannel.open(spillPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.truncate(spillEnd);
+            channel.position(spillEnd);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        spill = channel;
+        spillOut = new BufferedOutputStream(Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Returns the latest spilled result of the pair: reads the record the index points at, or
+     * scans the file in the rare case that another pair has the same hash.
+     */
+    private FinishedMatch findSpilled(PairKey key) {
+        if (spillFailure != null) {
+            throw new UncheckedIOException("Spill file write failed", spillFailure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Match archive is closed");
+        }
+        try {
+            if (spill == null && !Files.exists(spillPath)) {
+                return null;
+            }
+            openSpill();
+            long offset = spillIndex.get(pairHash(key.home, key.away));
+            if (offset < 0) {
+                return null;
+            }
+            spillOut.flush();
+            FinishedMatch found = readSpilled(offset, offset + 1, key, false);
+            return found != null ? found : readSpilled(0, offset, key, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the records that start between two offsets, returning the first of the pair, or
+     * the last one if {@code last} is set.
+     */
+    private FinishedMatch readSpilled(long from, long to, PairKey key, boolean last) throws IOException {
+        FinishedMatch found = null;
+        try (FileChannel channel = FileChannel.open(spillPath, StandardOpenOption.READ)) {
+            channel.position(from);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            for (long offset = from; offset < to; ) {
+                String home = in.readUTF();
+                String away = in.readUTF();
+                int homeScore = in.readInt();
+                int awayScore = in.readInt();
+                long creationOrder = in.readLong();
+                long finishedAt = in.readLong();
+                offset += 2 + 2 + 24 + utfLength(home) + utfLength(away);
+                if (home.equals(key.home) && away.equals(key.away)) {
+                    found = new FinishedMatch(new Team(home), new Team(away), homeScore, awayScore,
+                            creationOrder, finishedAt);
+                    if (!last) {
+                        return found;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of bytes {@link DataOutputStream#writeUTF} writes for a string, without
+     * its length prefix.
+     */
+    private static int utfLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return length;
+    }
+
+    private static long pairHash(String home, String away) {
+        long h = (home.hashCode() * 0x9E3779B97F4A7C15L) ^ (away.hashCode() & 0xFFFFFFFFL);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+
+    private void appendFinished(Entry entry) {
+        entry.previousFinished = newestFinished;
+        if (newestFinished == null) {
+            oldestFinished = entry;
+        } else {
+            newestFinished.nextFinished = entry;
+        }
+        newestFinished = entry;
+    }
+
+    private void unlinkFinished(Entry entry) {
+        if (entry.previousFinished == null) {
+            oldestFinished = entry.nextFinished;
+        } else {
+            entry.previousFinished.nextFinished = entry.nextFinished;
+        }
+        if (entry.nextFinished == null) {
+            newestFinished = entry.previousFinished;
+        } else {
+            entry.nextFinished.previousFinished = entry.previousFinished;
+        }
+        entry.previousFinished = null;
+        entry.nextFinished = null;
+    }
+
+    private void appendUsed(Entry entry) {
+        entry.previousUsed = mostUsed;
+        if (mostUsed == null) {
+            leastUsed = entry;
+        } else {
+            mostUsed.nextUsed = entry;
+        }
+        mostUsed = entry;
+    }
+
+    private void unlinkUsed(Entry entry) {
+        if (entry.previousUsed == null) {
+            leastUsed = entry.nextUsed;
+        } else {
+            entry.previousUsed.nextUsed = entry.nextUsed;
+        }
+        if (entry.nextUsed == null) {
+            mostUsed = entry.previousUsed;
+        } else {
+            entry.nextUsed.previousUsed = entry.previousUsed;
+        }
+        entry.previousUsed = null;
+        entry.nextUsed = null;
+    }
+
+    /**
+     * Team pair by name.
+     */
+    private static final class PairKey {
+        final String home;
+        final String away;
+        private final int hash;
+
+        PairKey(String home, String away) {
+            this.home = home;
+            this.away = away;
+            this.hash = 31 * home.hashCode() + away.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PairKey pairKey = (PairKey) o;
+            return hash == pairKey.hash && home.equals(pairKey.home) && away.equals(pairKey.away);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Offset of the latest spilled record by pair hash, in two arrays with linear probing.
+     */
+    private static final class SpillIndex {
+        private long[] hashes = new long[64];
+        private long[] offsets = new long[64];
+        private int size;
+
+        void put(long hash, long offset) {
+            if (hash == 0) {
+                hash = 1;
+            }
+            if (2 * (size + 1) > hashes.length) {
+                grow();
+            }
+            int mask = hashes.length - 1;
+            int i = (int) hash & mask;
+            while (hashes[i] != 0 && hashes[i] != hash) {
+                i = (i + 1) & mask;
+            }
+            if (hashes[i] == 0) {
+                hashes[i] = hash;
+                size++;
+            }
+            offsets[i] = offset;
+        }
+
+        long get(long hash) {
+            if (hash == 0) {
+                hash = 1;
+            }
+            int mask = hashes.length - 1;
+            for (int i = (int) hash & mask; hashes[i] != 0; i = (i + 1) & mask) {
+                if (hashes[i] == hash) {
+                    return offsets[i];
+                }
+            }
+            return -1;
+        }
+
+        private void grow() {
+            long[] oldHashes = hashes;
+            long[] oldOffsets = offsets;
+            hashes = new long[oldHashes.length * 2];
+            offsets = new long[oldHashes.length * 2];
+            size = 0;
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldHashes[i] != 0) {
+                    put(oldHashes[i], oldOffsets[i]);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final PairKey key;
+        final FinishedMatch result;
+        Entry previousFinished;
+        Entry nextFinished;
+        Entry previousUsed;
+        Entry nextUsed;
+
+        Entry(PairKey key, FinishedMatch result) {
+            this.key = key;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sportradar.scoreboard;
+
+/**
+ * Internal key class for identifying matches by team pair, through the ids a
+ * {@link TeamRegistry} gave the teams, so that hashing and equality compare two ints.
+ * Keys must only be compared with keys of teams from the same registry.
+ * <p>
+ * Keys stored in a map are never changed. A scoreboard may keep one extra instance
+ * as a lookup probe and re-target it with {@link #set(Team, Team)}, so that finding
+ * a match by team names does not allocate a key.
+ */
+final class MatchKey {
+    private int homeId;
+    private int awayId;
+
+    /**
+     * Creates an empty probe key; it must be {@link #set(Team, Team) set} before use.
+     */
+    MatchKey() {
+    }
+
+    MatchKey(Team homeTeam, Team awayTeam) {
+        set(homeTeam, awayTeam);
+    }
+
+    /**
+     * Re-targets this key at another team pair. Only valid for probe keys that are
+     * never stored in a map.
+     *
+     * @param homeTeam the home team
+     * @param awayTeam the away team
+     * @return this key
+     */
+    MatchKey set(Team homeTeam, Team awayTeam) {
+        this.homeId = homeTeam.getId();
+        this.awayId = awayTeam.getId();
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MatchKey matchKey = (MatchKey) o;
+        return homeId == matchKey.homeId && awayId == matchKey.awayId;
+    }
+
+    @Override
+    public int hashCode() {
+        // Dense ids: spread the pair, or consecutive teams would share buckets
+        long h = (((long) homeId << 32) | (awayId & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
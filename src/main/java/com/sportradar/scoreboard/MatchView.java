@@ -0,0 +1,166 @@
+package com.sportradar.scoreboard;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Immutable view of a match at one point in time.
+ * Unlike {@link Match}, a view can be shared with any thread and never changes.
+ * <p>
+ * Its renderings are computed on first use and kept, so a summary re-rendered after a
+ * change only renders the rows of the matches whose score changed.
+ */
+public final class MatchView {
+    private final Team homeTeam;
+    private final Team awayTeam;
+    private final int homeScore;
+    private final int awayScore;
+    private final long creationOrder;
+    private String text;
+    private volatile byte[] textRow;
+    private volatile byte[] jsonRow;
+
+    /**
+     * Creates a view of the current state of a match.
+     *
+     * @param match the match
+     */
+    MatchView(Match match) {
+        this.homeTeam = match.getHomeTeam();
+        this.awayTeam = match.getAwayTeam();
+        this.homeScore = match.getHomeScore();
+        this.awayScore = match.getAwayScore();
+        this.creationOrder = match.getCreationOrder();
+    }
+
+    /**
+     * Returns the home team.
+     *
+     * @return the home team
+     */
+    public Team getHomeTeam() {
+        return homeTeam;
+    }
+
+    /**
+     * Returns the away team.
+     *
+     * @return the away team
+     */
+    public Team getAwayTeam() {
+        return awayTeam;
+    }
+
+    /**
+     * Returns the home team score.
+     *
+     * @return the home team score
+     */
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    /**
+     * Returns the away team score.
+     *
+     * @return the away team score
+     */
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    /**
+     * Returns the total score (sum of home and away scores).
+     *
+     * @return the total score
+     */
+    public int getTotalScore() {
+        return homeScore + awayScore;
+    }
+
+    /**
+     * Returns the creation order of the match.
+     *
+     * @return the creation order
+     */
+    public long getCreationOrder() {
+        return creationOrder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MatchView view = (MatchView) o;
+        return homeScore == view.homeScore &&
+                awayScore == view.awayScore &&
+                creationOrder == view.creationOrder &&
+                homeTeam.equals(view.homeTeam) &&
+                awayTeam.equals(view.awayTeam);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * homeTeam.hashCode() + awayTeam.hashCode();
+        result = 31 * result + homeScore;
+        result = 31 * result + awayScore;
+        return 31 * result + Long.hashCode(creationOrder);
+    }
+
+    @Override
+    public String toString() {
+        // Racy but safe, like String.hashCode: every thread computes the same immutable string
+        String result = text;
+        if (result == null) {
+            result = homeTeam + " " + homeScore + " - " + awayTeam + " " + awayScore;
+            text = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns this match as a UTF-8 text line: {@link #toString()} followed by a newline.
+     * The array is shared and must not be modified.
+     */
+    byte[] textRow() {
+        byte[] row = textRow;
+        if (row == null) {
+            row = (toString() + '\n').getBytes(StandardCharsets.UTF_8);
+            textRow = row;
+        }
+        return row;
+    }
+
+    /**
+     * Returns this match as a UTF-8 JSON object. The array is shared and must not be modified.
+     */
+    byte[] jsonRow() {
+        byte[] row = jsonRow;
+        if (row == null) {
+            StringBuilder json = new StringBuilder(64);
+            json.append("{\"home\":");
+            appendJsonString(json, homeTeam.getName());
+            json.append(",\"away\":");
+            appendJsonString(json, awayTeam.getName());
+            json.append(",\"homeScore\":").append(homeScore)
+                    .append(",\"awayScore\":").append(awayScore).append('}');
+            row = json.toString().getBytes(StandardCharsets.UTF_8);
+            jsonRow = row;
+        }
+        return row;
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
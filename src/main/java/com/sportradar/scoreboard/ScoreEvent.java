@@ -0,0 +1,116 @@
+package com.sportradar.scoreboard;
+
+/**
+ * A single change to a scoreboard: starting a game, updating its score or finishing it.
+ * Used to apply many changes in one call, see {@link Scoreboard#applyBatch(java.util.List)}.
+ */
+public final class ScoreEvent {
+
+    /**
+     * The kind of change an event describes.
+     */
+    public enum Type {
+        START,
+        UPDATE,
+        FINISH
+    }
+
+    private final Type type;
+    private final String homeTeamName;
+    private final String awayTeamName;
+    private final int homeScore;
+    private final int awayScore;
+
+    private ScoreEvent(Type type, String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
+        this.type = type;
+        this.homeTeamName = homeTeamName;
+        this.awayTeamName = awayTeamName;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+    }
+
+    /**
+     * Creates an event that starts a new game with initial score 0-0.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return the event
+     */
+    public static ScoreEvent start(String homeTeamName, String awayTeamName) {
+        return new ScoreEvent(Type.START, homeTeamName, awayTeamName, 0, 0);
+    }
+
+    /**
+     * Creates an event that updates the score of an existing match.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @param homeScore the new home team score
+     * @param awayScore the new away team score
+     * @return the event
+     */
+    public static ScoreEvent update(String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
+        return new ScoreEvent(Type.UPDATE, homeTeamName, awayTeamName, homeScore, awayScore);
+    }
+
+    /**
+     * Creates an event that finishes a game.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return the event
+     */
+    public static ScoreEvent finish(String homeTeamName, String awayTeamName) {
+        return new ScoreEvent(Type.FINISH, homeTeamName, awayTeamName, 0, 0);
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return the event type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the home team name.
+     *
+     * @return the home team name
+     */
+    public String getHomeTeamName() {
+        return homeTeamName;
+    }
+
+    /**
+     * Returns the away team name.
+     *
+     * @return the away team name
+     */
+    public String getAwayTeamName() {
+        return awayTeamName;
+    }
+
+    /**
+     * Returns the new home team score; always 0 unless this is an update.
+     *
+     * @return the home team score
+     */
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    /**
+     * Returns the new away team score; always 0 unless this is an update.
+     *
+     * @return the away team score
+     */
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + homeTeamName + " " + homeScore + " - " + awayTeamName + " " + awayScore;
+    }
+}
@@ -0,0 +1,356 @@
+package com.sportradar.scoreboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies a provider feed of sequence-numbered {@link ScoreEvent}s to a {@link Scoreboard},
+ * tolerating events that arrive late, twice or out of order.
+ * <p>
+ * Every match has its own sequence, starting at 1 with the event that starts it. An event is
+ * applied once all events before it in its match's sequence have been; an event whose sequence
+ * was already passed is a replay and is dropped, in constant time and without throwing.
+ * An event that arrives early is held back until the events before it arrive, for at most
+ * {@code reorderWindow} sequence numbers: once a later event of the match arrives, the
+ * missing ones are given up and the held-back events are applied in order. {@link #flush()}
+ * gives up on all missing events at once, for example on a timer.
+ * <p>
+ * Finished matches are remembered, so that replays of their events are dropped too, up to
+ * {@code retainedFinished} matches; a match forgotten that way can be started again. A match
+ * finished on the scoreboard outside the feed counts as finished once the feed next addresses
+ * it. Nothing is remembered of a pair with no live match and no held-back event, such as a
+ * refused start or a stray update, so memory stays bounded by the live matches, the held-back
+ * events, which {@link #flush()} clears, and the retention.
+ * <p>
+ * Not thread-safe, like the scoreboard: the thread that owns the scoreboard must feed it.
+ */
+public final class ScoreFeed {
+    /**
+     * Default number of sequence numbers an event may arrive ahead of its turn.
+     */
+    public static final int DEFAULT_REORDER_WINDOW = 16;
+
+    /**
+     * Default number of finished matches whose replays are still recognized.
+     */
+    public static final int DEFAULT_RETAINED_FINISHED = 4096;
+
+    /**
+     * What became of an event passed to {@link #accept(long, ScoreEvent)}.
+     */
+    public enum Outcome {
+        /** The event was applied to the scoreboard, possibly along with held-back later ones. */
+        APPLIED,
+        /** The event arrived early and is held back until the events before it arrive. */
+        BUFFERED,
+        /** The event was already applied, given up on, or is already held back; it was dropped. */
+        STALE,
+        /** The event was due but the scoreboard refused it, for example an update of a match that is not live. */
+        REJECTED
+    }
+
+    private final Scoreboard scoreboard;
+    private final int reorderWindow;
+    private final int retainedFinished;
+    private final Map<StreamKey, Stream> streams = new HashMap<>();
+    private final StreamKey probe = new StreamKey();
+    private final ArrayDeque<StreamKey> finished = new ArrayDeque<>();
+    private final List<Stream> waiting = new ArrayList<>();
+    private int buffered;
+
+    /**
+     * Creates a feed with the default reorder window and finished-match retention.
+     *
+     * @param scoreboard the scoreboard to apply events to
+     * @throws IllegalArgumentException if scoreboard is null
+     */
+    public ScoreFeed(Scoreboard scoreboard) {
+        this(scoreboard, DEFAULT_REORDER_WINDOW, DEFAULT_RETAINED_FINISHED);
+    }
+
+    /**
+     * Creates a feed.
+     *
+     * @param scoreboard the scoreboard to apply events to
+     * @param reorderWindow how many sequence numbers an event may arrive ahead of its turn
+     * @param retainedFinished how many finished matches to remember for dropping replays
+     * @throws IllegalArgumentException if scoreboard is null, reorderWindow is not positive
+     *                                  or retainedFinished is negative
+     */
+    public ScoreFeed(Scoreboard scoreboard, int reorderWindow, int retainedFinished) {
+        if (scoreboard == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null");
+        }
+        if (reorderWindow <= 0) {
+            throw new IllegalArgumentException("Reorder window must be positive");
+        }
+        if (retainedFinished < 0) {
+            throw new IllegalArgumentException("Retained finished matches cannot be negative");
+        }
+        this.scoreboard = scoreboard;
+        this.reorderWindow = reorderWindow;
+        this.retainedFinished = retainedFinished;
+    }
+
+    /**
+     * Accepts the next event of the feed.
+     *
+     * @param sequence the event's position in its match's sequence, starting at 1
+     * @param event the event
+     * @return what became of the event
+     * @throws IllegalArgumentException if sequence is not positive, or event or its team names are null
+     */
+    public Outcome accept(long sequence, ScoreEvent event) {
+        if (sequence <= 0) {
+            throw new IllegalArgumentException("Sequence must be positive");
+        }
+        if (event == null || event.getHomeTeamName() == null || event.getAwayTeamName() == null) {
+            throw new IllegalArgumentException("Score event and team names cannot be null");
+        }
+        Stream stream = streams.get(probe.set(event.getHomeTeamName(), event.getAwayTeamName()));
+        if (stream == null) {
+            StreamKey key = new StreamKey().set(event.getHomeTeamName(), event.getAwayTeamName());
+            stream = new Stream(key);
+            streams.put(key, stream);
+        }
+        if (sequence <= stream.applied) {
+            return Outcome.STALE;
+        }
+        if (sequence - stream.applied > reorderWindow) {
+            // Too far ahead to wait any longer for the missing events before it
+            release(stream, sequence - reorderWindow);
+            drain(stream);
+        }
+        Outcome outcome;
+        if (sequence == stream.applied + 1) {
+            boolean applied = apply(stream, event);
+            stream.applied = sequence;
+            drain(stream);
+            outcome = applied ? Outcome.APPLIED : Outcome.REJECTED;
+        } else {
+            outcome = hold(stream, sequence, event);
+        }
+        forgetIfIdle(stream);
+        return outcome;
+    }
+
+    /**
+     * Gives up on every missing event and applies all held-back events in sequence order.
+     *
+     * @return the number of held-back events applied or rejected
+     */
+    public int flush() {
+        int released = 0;
+        // Applying events takes streams off the list, and finishing a match may forget others
+        for (Stream stream : waiting.toArray(new Stream[0])) {
+            int before = buffered;
+            release(stream, stream.highestHeld);
+            drain(stream);
+            forgetIfIdle(stream);
+            released += before - buffered;
+        }
+        return released;
+    }
+
+    /**
+     * Returns the number of events held back until the events before them arrive.
+     *
+     * @return the number of held-back events
+     */
+    public int getBuffered() {
+        return buffered;
+    }
+
+    /**
+     * Returns the number of match sequences the feed keeps track of.
+     *
+     * @return the number of live, finished and waiting sequences
+     */
+    int getStreamCount() {
+        return streams.size();
+    }
+
+    /**
+     * Forgets a sequence that has neither a live match, a finished one to recognize replays
+     * of, nor held-back events: there is nothing left to order.
+     */
+    private void forgetIfIdle(Stream stream) {
+        if (stream.match == null && !stream.finished && stream.heldCount == 0) {
+            streams.remove(stream.key);
+        }
+    }
+
+    private Outcome hold(Stream stream, long sequence, ScoreEvent event) {
+        if (stream.held == null) {
+            stream.held = new ScoreEvent[reorderWindow];
+            stream.heldSequences = new long[reorderWindow];
+        }
+        int slot = (int) (sequence % reorderWindow);
+        if (stream.heldSequences[slot] == sequence) {
+            return Outcome.STALE;
+        }
+        stream.held[slot] = event;
+        stream.heldSequences[slot] = sequence;
+        stream.heldCount++;
+        stream.highestHeld = Math.max(stream.highestHeld, sequence);
+        buffered++;
+        if (stream.heldCount == 1) {
+            waiting.add(stream);
+        }
+        return Outcome.BUFFERED;
+    }
+
+    /**
+     * Applies the held-back events up to a sequence number in order, skipping the missing ones.
+     */
+    private void release(Stream stream, long upTo) {
+        for (long sequence = stream.applied + 1; sequence <= upTo && stream.heldCount > 0; sequence++) {
+            ScoreEvent event = take(stream, sequence);
+            if (event != null) {
+                apply(stream, event);
+            }
+        }
+        stream.applied = Math.max(stream.applied, upTo);
+    }
+
+    /**
+     * Applies the held-back events that directly follow the last applied one.
+     */
+    private void drain(Stream stream) {
+        while (stream.heldCount > 0) {
+            ScoreEvent event = take(stream, stream.applied + 1);
+            if (event == null) {
+                return;
+            }
+            apply(stream, event);
+            stream.applied++;
+        }
+    }
+
+    private ScoreEvent take(Stream stream, long sequence) {
+        int slot = (int) (sequence % reorderWindow);
+        if (stream.heldSequences[slot] != sequence) {
+            return null;
+        }
+        ScoreEvent event = stream.held[slot];
+        stream.held[slot] = null;
+        stream.heldSequences[slot] = 0;
+        stream.heldCount--;
+        buffered--;
+        if (stream.heldCount == 0) {
+            waiting.remove(stream);
+        }
+        return event;
+    }
+
+    /**
+     * Applies one due event, using the stream's own state to refuse events the scoreboard
+     * would reject, so that the common refusals cost no exception.
+     *
+     * @return whether the scoreboard accepted the event
+     */
+    private boolean apply(Stream stream, ScoreEvent event) {
+        switch (event.getType()) {
+            case START:
+                if (stream.match != null || stream.finished) {
+                    return false;
+                }
+                try {
+                    stream.match = scoreboard.startGame(event.getHomeTeamName(), event.getAwayTeamName());
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    // Invalid names, or the match was started on the scoreboard outside this feed
+                    return false;
+                }
+                return true;
+            case UPDATE:
+                if (stream.match == null || event.getHomeScore() < 0 || event.getAwayScore() < 0) {
+                    return false;
+                }
+                if (scoreboard.tryUpdateScore(stream.match, event.getHomeScore(), event.getAwayScore())
+                        != Scoreboard.Status.OK) {
+                    // Finished on the scoreboard outside this feed
+                    finished(stream);
+                    return false;
+                }
+                return true;
+            case FINISH:
+                if (stream.match == null) {
+                    return false;
+                }
+                boolean live = scoreboard.tryFinishGame(stream.match) == Scoreboard.Status.OK;
+                finished(stream);
+                return live;
+            default:
+                return false;
+        }
+    }
+
+    private void finished(Stream stream) {
+        stream.match = null;
+        stream.finished = true;
+        finished.addLast(stream.key);
+        while (finished.size() > retainedFinished) {
+            Stream forgotten = streams.remove(finished.removeFirst());
+            if (forgotten.heldCount > 0) {
+                buffered -= forgotten.heldCount;
+                waiting.remove(forgotten);
+                forgotten.held = null;
+                forgotten.heldSequences = null;
+                forgotten.heldCount = 0;
+            }
+        }
+    }
+
+    /**
+     * Progress of one match's sequence.
+     */
+    private static final class Stream {
+        final StreamKey key;
+        long applied;
+        Match match;
+        boolean finished;
+        ScoreEvent[] held;
+        long[] heldSequences;
+        int heldCount;
+        long highestHeld;
+
+        Stream(StreamKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Team-name pair identifying a match's sequence; one instance is reused as a lookup probe,
+     * like {@link MatchKey}.
+     */
+    private static final class StreamKey {
+        private String homeTeamName;
+        private String awayTeamName;
+        private int hash;
+
+        StreamKey set(String homeTeamName, String awayTeamName) {
+            this.homeTeamName = homeTeamName;
+            this.awayTeamName = awayTeamName;
+            this.hash = 31 * homeTeamName.hashCode() + awayTeamName.hashCode();
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StreamKey key = (StreamKey) o;
+            return hash == key.hash &&
+                    homeTeamName.equals(key.homeTeamName) &&
+                    awayTeamName.equals(key.awayTeamName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,54 +1,306 @@
 package com.sportradar.scoreboard;
 
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import static com.sportradar.scoreboard.ScoreboardMetrics.Operation.*;
 
 /**
  * Scoreboard for managing live football matches.
- * Supports starting games.
+ * Supports starting games, updating scores, finishing games and getting a summary.
+ * <p>
+ * The summary order is maintained incrementally on every change, so reading the
+ * summary never sorts. Team names are interned, and matches can also be addressed
+ * through the {@link Match} returned by {@link #startGame(String, String)}, so that
+ * updating a live match does not allocate.
+ * <p>
+ * Not thread-safe: a single thread must change the scoreboard and call its methods.
+ * Other threads can read the summary through {@link #getSnapshot()} once snapshots
+ * are enabled, or have its changes pushed to them through {@link #subscribe(Flow.Subscriber)}.
  */
 public class Scoreboard {
+    private static final long UNTIMED = Long.MIN_VALUE;
+
+    /**
+     * Result of the {@code try} operations, which report refusals as a status instead of
+     * throwing. Each refusal corresponds to the exception the throwing operation raises.
+     */
+    public enum Status {
+        /** The operation was applied. */
+        OK(null),
+        /** A team name was null, empty or blank; {@link IllegalArgumentException} when thrown. */
+        INVALID_TEAM_NAME(ScoreboardMetrics.Failure.BAD_INPUT),
+        /** Both teams of a new game were the same; {@link IllegalArgumentException} when thrown. */
+        SAME_TEAMS(ScoreboardMetrics.Failure.BAD_INPUT),
+        /** A score was negative; {@link IllegalArgumentException} when thrown. */
+        NEGATIVE_SCORE(ScoreboardMetrics.Failure.BAD_INPUT),
+        /** The match handle was null; {@link IllegalArgumentException} when thrown. */
+        NULL_MATCH(ScoreboardMetrics.Failure.BAD_INPUT),
+        /** A game was started for a team pair that already has a live match; {@link IllegalStateException} when thrown. */
+        MATCH_EXISTS(ScoreboardMetrics.Failure.DUPLICATE_MATCH),
+        /** The match is not live on this scoreboard; {@link IllegalStateException} when thrown. */
+        MATCH_NOT_FOUND(ScoreboardMetrics.Failure.MATCH_NOT_FOUND);
+
+        final ScoreboardMetrics.Failure failure;
+
+        Status(ScoreboardMetrics.Failure failure) {
+            this.failure = failure;
+        }
+
+        /**
+         * Builds the exception the throwing operations raise for this refusal.
+         */
+        RuntimeException toException(Object homeTeam, Object awayTeam) {
+            switch (this) {
+                case INVALID_TEAM_NAME:
+                    return new IllegalArgumentException("Team name cannot be null or empty");
+                case SAME_TEAMS:
+                    return new IllegalArgumentException("Home team and away team must be different");
+                case NEGATIVE_SCORE:
+                    return new IllegalArgumentException("Scores cannot be negative");
+                case NULL_MATCH:
+                    return new IllegalArgumentException("Match cannot be null");
+                case MATCH_EXISTS:
+                    return new IllegalStateException(
+                            String.format("Match between %s and %s already exists", homeTeam, awayTeam));
+                case MATCH_NOT_FOUND:
+                    return new IllegalStateException(
+                            String.format("Match between %s and %s does not exist", homeTeam, awayTeam));
+                default:
+                    throw new IllegalStateException("Not a refusal: " + this);
+            }
+        }
+    }
+
     private final Map<MatchKey, Match> matches;
-    private int orderCounter;
+    private final SummaryIndex summary;
+    private final TeamRegistry teams;
+    private final MatchKey probe;
+    private final SummaryDeltaPublisher deltas;
+    private ScoreboardListener[] listeners;
+    private ScoreboardMetrics metrics;
+    private boolean measuring;
+    private int sampleMask;
+    private int sampleCounter;
+    private long orderCounter;
+    private long version;
+    private boolean publishing;
+    private volatile SummarySnapshot snapshot;
+    private SummarySnapshot rendered;
+    private Match started;
+    private Match located;
+
+    /**
+     * Live matches of each team in creation order, built on the first
+     * {@link #findByTeam(String)} and kept up to date from then on; null until then.
+     */
+    private Map<Team, List<Match>> byTeam;
 
     /**
      * Creates a new empty scoreboard.
      */
     public Scoreboard() {
-        this.matches = new LinkedHashMap<>();
+        this(0);
+    }
+
+    /**
+     * Creates a new empty scoreboard sized for the given number of matches.
+     *
+     * @param expectedMatches the number of matches expected to be live at once
+     */
+    Scoreboard(int expectedMatches) {
+        this.matches = new HashMap<>(Math.max(16, (int) (expectedMatches / 0.75f) + 1));
+        this.summary = new SummaryIndex();
+        this.teams = new TeamRegistry(2 * expectedMatches);
+        this.probe = new MatchKey();
+        this.deltas = new SummaryDeltaPublisher(() -> summary.toViews());
+        this.listeners = new ScoreboardListener[0];
+        this.metrics = ScoreboardMetrics.NOOP;
         this.orderCounter = 0;
     }
 
+    /**
+     * Installs metrics to be told about every later operation on this scoreboard,
+     * replacing the previous ones.
+     *
+     * @param metrics the metrics; {@link ScoreboardMetrics#NOOP} to stop measuring
+     * @throws IllegalArgumentException if metrics is null
+     */
+    public void setMetrics(ScoreboardMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null");
+        }
+        int interval = Math.min(Math.max(1, metrics.latencySampleInterval()), 1 << 30);
+        int rounded = Integer.highestOneBit(interval);
+        if (rounded < interval) {
+            rounded <<= 1;
+        }
+        this.metrics = metrics;
+        this.measuring = metrics != ScoreboardMetrics.NOOP;
+        this.sampleMask = rounded - 1;
+        liveMatchesChanged();
+    }
+
+    /**
+     * Registers a listener to be told about every later change to this scoreboard.
+     *
+     * @param listener the listener
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addListener(ScoreboardListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        ScoreboardListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Unregisters a listener; does nothing if it was not registered.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(ScoreboardListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ScoreboardListener[] updated = new ScoreboardListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Subscribes to the changes of the summary, delivered on a shared background executor.
+     * See {@link #subscribe(Flow.Subscriber, Executor)}.
+     *
+     * @param subscriber the subscriber
+     * @throws IllegalArgumentException if subscriber is null
+     */
+    public void subscribe(Flow.Subscriber<? super SummaryDelta> subscriber) {
+        subscribeWith(subscriber, null);
+    }
+
+    /**
+     * Subscribes to the changes of the summary. The subscriber first receives an
+     * {@link SummaryDelta.Type#INSERTED} delta for every live match, then one delta per
+     * started, updated or finished match. The stream never completes.
+     * <p>
+     * Deltas are delivered on the given executor and only as fast as the subscriber
+     * requests them, so a slow subscriber never stalls the scoreboard. While it is behind,
+     * the changes to each match are merged into a single delta.
+     *
+     * @param subscriber the subscriber
+     * @param executor the executor to deliver deltas on
+     * @throws IllegalArgumentException if subscriber or executor is null
+     */
+    public void subscribe(Flow.Subscriber<? super SummaryDelta> subscriber, Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        subscribeWith(subscriber, executor);
+    }
+
+    private void subscribeWith(Flow.Subscriber<? super SummaryDelta> subscriber, Executor executor) {
+        MatchView[] views = summary.toViews();
+        SummaryDelta[] initial = new SummaryDelta[views.length];
+        for (int i = 0; i < views.length; i++) {
+            initial[i] = SummaryDelta.inserted(views[i], i, version);
+        }
+        deltas.subscribe(subscriber, executor, initial);
+    }
+
     /**
      * Starts a new game with initial score 0-0.
      *
      * @param homeTeamName the home team name
      * @param awayTeamName the away team name
-     * @return the created match
+     * @return the created match, read-only; its score changes through this scoreboard
      * @throws IllegalArgumentException if team names are invalid or teams are the same
      * @throws IllegalStateException if a match between these teams already exists
      */
     public Match startGame(String homeTeamName, String awayTeamName) {
-        Team homeTeam = new Team(homeTeamName);
-        Team awayTeam = new Team(awayTeamName);
+        return startGame(homeTeamName, awayTeamName, orderCounter);
+    }
 
-        if (homeTeam.equals(awayTeam)) {
-            throw new IllegalArgumentException("Home team and away team must be different");
+    /**
+     * Starts a new game with initial score 0-0 and the given creation order, for boards
+     * whose creation order comes from outside, such as the shards of a {@link ScoreboardRegistry}.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @param creationOrder the creation order of the new match
+     * @return the created match
+     * @throws IllegalArgumentException if team names are invalid or teams are the same
+     * @throws IllegalStateException if a match between these teams already exists
+     */
+    Match startGame(String homeTeamName, String awayTeamName, long creationOrder) {
+        long start = begin();
+        Status status = start(homeTeamName, awayTeamName, creationOrder);
+        completed(START_GAME, status, start);
+        Match match = started;
+        started = null;
+        if (status != Status.OK) {
+            throw status.toException(homeTeamName, awayTeamName);
         }
+        return match;
+    }
+
+    /**
+     * Starts a new game with initial score 0-0, reporting a refusal as a status instead of
+     * throwing. A refusal does not allocate.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return {@link Status#OK}, {@link Status#INVALID_TEAM_NAME}, {@link Status#SAME_TEAMS}
+     * or {@link Status#MATCH_EXISTS}
+     */
+    public Status tryStartGame(String homeTeamName, String awayTeamName) {
+        long start = begin();
+        Status status = start(homeTeamName, awayTeamName, orderCounter);
+        started = null;
+        return completed(START_GAME, status, start);
+    }
 
-        MatchKey key = new MatchKey(homeTeam, awayTeam);
+    /**
+     * Starts a match, leaving it in {@link #started} on success.
+     */
+    private Status start(String homeTeamName, String awayTeamName, long creationOrder) {
+        if (!Team.isValidName(homeTeamName) || !Team.isValidName(awayTeamName)) {
+            return Status.INVALID_TEAM_NAME;
+        }
+        // Before interning, so that a refused start registers no team
+        if (homeTeamName.equals(awayTeamName)) {
+            return Status.SAME_TEAMS;
+        }
+        Team homeTeam = teams.intern(homeTeamName);
+        Team awayTeam = teams.intern(awayTeamName);
 
-        if (matches.containsKey(key)) {
-            throw new IllegalStateException(
-                    String.format("Match between %s and %s already exists", homeTeamName, awayTeamName)
-            );
+        if (matches.containsKey(probe.set(homeTeam, awayTeam))) {
+            return Status.MATCH_EXISTS;
         }
 
-        int order = orderCounter++;
-        Match match = new Match(homeTeam, awayTeam, order);
-        matches.put(key, match);
+        Match match = new Match(homeTeam, awayTeam, creationOrder);
+        orderCounter = Math.max(orderCounter, creationOrder + 1);
+        matches.put(new MatchKey(homeTeam, awayTeam), match);
+        index(match);
+        summary.insert(match);
+        changed();
+        liveMatchesChanged();
+        if (deltas.hasSubscribers()) {
+            deltas.offer(SummaryDelta.inserted(match.view(), summary.rank(match), version), matches.size());
+        }
 
-        return match;
+        for (ScoreboardListener listener : listeners) {
+            listener.onGameStarted(match);
+        }
+        started = match;
+        return Status.OK;
     }
 
     /**
@@ -62,18 +314,85 @@ public class Scoreboard {
      * @throws IllegalStateException if the match does not exist
      */
     public void updateScore(String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
-        Team homeTeam = new Team(homeTeamName);
-        Team awayTeam = new Team(awayTeamName);
-        MatchKey key = new MatchKey(homeTeam, awayTeam);
+        Status status = tryUpdateScore(homeTeamName, awayTeamName, homeScore, awayScore);
+        if (status != Status.OK) {
+            throw status.toException(homeTeamName, awayTeamName);
+        }
+    }
 
-        Match match = matches.get(key);
-        if (match == null) {
-            throw new IllegalStateException(
-                    String.format("Match between %s and %s does not exist", homeTeamName, awayTeamName)
-            );
+    /**
+     * Updates the score of an existing match, reporting a refusal as a status instead of
+     * throwing. Does not allocate.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @param homeScore the new home team score
+     * @param awayScore the new away team score
+     * @return {@link Status#OK}, {@link Status#INVALID_TEAM_NAME}, {@link Status#MATCH_NOT_FOUND}
+     * or {@link Status#NEGATIVE_SCORE}
+     */
+    public Status tryUpdateScore(String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
+        long start = begin();
+        Status status = locate(homeTeamName, awayTeamName);
+        if (status == Status.OK) {
+            status = reposition(located, homeScore, awayScore);
+        }
+        return completed(UPDATE_SCORE, status, start);
+    }
+
+    /**
+     * Updates the score of a live match returned by {@link #startGame(String, String)}.
+     * Does not allocate.
+     *
+     * @param match the match to update
+     * @param homeScore the new home team score
+     * @param awayScore the new away team score
+     * @throws IllegalArgumentException if match is null or scores are negative
+     * @throws IllegalStateException if the match is not live on this scoreboard
+     */
+    public void updateScore(Match match, int homeScore, int awayScore) {
+        Status status = tryUpdateScore(match, homeScore, awayScore);
+        if (status != Status.OK) {
+            throw refusal(status, match);
+        }
+    }
+
+    /**
+     * Updates the score of a live match returned by {@link #startGame(String, String)},
+     * reporting a refusal as a status instead of throwing. Does not allocate.
+     *
+     * @param match the match to update
+     * @param homeScore the new home team score
+     * @param awayScore the new away team score
+     * @return {@link Status#OK}, {@link Status#NULL_MATCH}, {@link Status#MATCH_NOT_FOUND}
+     * or {@link Status#NEGATIVE_SCORE}
+     */
+    public Status tryUpdateScore(Match match, int homeScore, int awayScore) {
+        long start = begin();
+        Status status = checkLive(match);
+        if (status == Status.OK) {
+            status = reposition(match, homeScore, awayScore);
         }
+        return completed(UPDATE_SCORE, status, start);
+    }
 
+    private Status reposition(Match match, int homeScore, int awayScore) {
+        if (homeScore < 0 || awayScore < 0) {
+            return Status.NEGATIVE_SCORE;
+        }
+        int oldRank = deltas.hasSubscribers() ? summary.rank(match) : SummaryDelta.NO_RANK;
+        summary.remove(match);
         match.updateScore(homeScore, awayScore);
+        summary.insert(match);
+        changed();
+        if (oldRank != SummaryDelta.NO_RANK) {
+            deltas.offer(SummaryDelta.changed(match.view(), oldRank, summary.rank(match), version), matches.size());
+        }
+
+        for (ScoreboardListener listener : listeners) {
+            listener.onScoreUpdated(match);
+        }
+        return Status.OK;
     }
 
     /**
@@ -85,17 +404,317 @@ public class Scoreboard {
      * @throws IllegalStateException if the match does not exist
      */
     public void finishGame(String homeTeamName, String awayTeamName) {
-        Team homeTeam = new Team(homeTeamName);
-        Team awayTeam = new Team(awayTeamName);
-        MatchKey key = new MatchKey(homeTeam, awayTeam);
+        Status status = tryFinishGame(homeTeamName, awayTeamName);
+        if (status != Status.OK) {
+            throw status.toException(homeTeamName, awayTeamName);
+        }
+    }
 
-        if (!matches.containsKey(key)) {
-            throw new IllegalStateException(
-                    String.format("Match between %s and %s does not exist", homeTeamName, awayTeamName)
-            );
+    /**
+     * Finishes a game and removes it from the scoreboard, reporting a refusal as a status
+     * instead of throwing. A refusal does not allocate.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return {@link Status#OK}, {@link Status#INVALID_TEAM_NAME} or {@link Status#MATCH_NOT_FOUND}
+     */
+    public Status tryFinishGame(String homeTeamName, String awayTeamName) {
+        long start = begin();
+        Status status = locate(homeTeamName, awayTeamName);
+        if (status == Status.OK) {
+            remove(located);
+        }
+        return completed(FINISH_GAME, status, start);
+    }
+
+    /**
+     * Finishes a live match returned by {@link #startGame(String, String)} and removes it
+     * from the scoreboard.
+     *
+     * @param match the match to finish
+     * @throws IllegalArgumentException if match is null
+     * @throws IllegalStateException if the match is not live on this scoreboard
+     */
+    public void finishGame(Match match) {
+        Status status = tryFinishGame(match);
+        if (status != Status.OK) {
+            throw refusal(status, match);
+        }
+    }
+
+    private static RuntimeException refusal(Status status, Match match) {
+        return match == null
+                ? status.toException(null, null)
+                : status.toException(match.getHomeTeam(), match.getAwayTeam());
+    }
+
+    /**
+     * Finishes a live match returned by {@link #startGame(String, String)} and removes it
+     * from the scoreboard, reporting a refusal as a status instead of throwing.
+     * A refusal does not allocate.
+     *
+     * @param match the match to finish
+     * @return {@link Status#OK}, {@link Status#NULL_MATCH} or {@link Status#MATCH_NOT_FOUND}
+     */
+    public Status tryFinishGame(Match match) {
+        long start = begin();
+        Status status = checkLive(match);
+        if (status == Status.OK) {
+            remove(match);
+        }
+        return completed(FINISH_GAME, status, start);
+    }
+
+    private void remove(Match match) {
+        int oldRank = deltas.hasSubscribers() ? summary.rank(match) : SummaryDelta.NO_RANK;
+        matches.remove(probe);
+        unindex(match);
+        summary.remove(match);
+        changed();
+        liveMatchesChanged();
+        if (oldRank != SummaryDelta.NO_RANK) {
+            deltas.offer(SummaryDelta.removed(match.view(), oldRank, version), matches.size());
         }
 
-        matches.remove(key);
+        for (ScoreboardListener listener : listeners) {
+            listener.onGameFinished(match);
+        }
+    }
+
+    /**
+     * Applies a batch of starts, updates and finishes in order.
+     * <p>
+     * The whole batch is validated before anything changes: if any event is invalid,
+     * none of them is applied. Each affected match is re-positioned in the summary
+     * once, however many events of the batch address it.
+     * <p>
+     * A listener that throws does not stop the batch: every event is applied and the first
+     * listener failure is rethrown afterwards.
+     *
+     * @param events the events to apply, in order
+     * @throws IllegalArgumentException if events is null, or an event is null or has invalid names or scores
+     * @throws IllegalStateException if an event starts an existing match or addresses a missing one
+     */
+    public void applyBatch(List<ScoreEvent> events) {
+        long start = begin();
+        BatchValidator batch;
+        try {
+            batch = apply(events);
+        } catch (RuntimeException e) {
+            failed(APPLY_BATCH, e);
+            throw e;
+        }
+        if (completed(APPLY_BATCH, batch.getStatus(), start) != Status.OK) {
+            throw batch.toException();
+        }
+    }
+
+    /**
+     * Applies the batch if it is valid, and returns its validation either way.
+     */
+    private BatchValidator apply(List<ScoreEvent> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Score events cannot be null");
+        }
+        // Names not registered yet get provisional teams, with ids below Team.NO_ID, so that a
+        // refused batch registers none; no live match can involve them
+        Map<String, Team> resolved = new HashMap<>();
+        BatchValidator batch = BatchValidator.validate(events, name -> resolved.computeIfAbsent(name, n -> {
+            Team team = teams.find(n);
+            return team != null ? team : new Team(n, Team.NO_ID - 1 - resolved.size());
+        }), matches::containsKey);
+        if (batch.getStatus() != Status.OK) {
+            return batch;
+        }
+        MatchKey[] keys = batch.getKeys();
+        for (int i = 0; i < keys.length; i++) {
+            ScoreEvent event = events.get(i);
+            if (resolved.get(event.getHomeTeamName()).getId() < Team.NO_ID
+                    || resolved.get(event.getAwayTeamName()).getId() < Team.NO_ID) {
+                // Registered by a start of this batch, now or earlier
+                keys[i] = new MatchKey(teams.intern(event.getHomeTeamName()), teams.intern(event.getAwayTeamName()));
+            }
+        }
+
+        // Ranks before the batch of the live matches it addresses, when deltas are wanted
+        Map<Match, Integer> oldRanks = null;
+        if (deltas.hasSubscribers()) {
+            oldRanks = new IdentityHashMap<>();
+            for (MatchKey key : keys) {
+                Match match = matches.get(key);
+                if (match != null && !oldRanks.containsKey(match)) {
+                    oldRanks.put(match, summary.rank(match));
+                }
+            }
+        }
+
+        // Matches taken out of the summary by this batch; null once finished
+        Map<MatchKey, Match> touched = new HashMap<>();
+        RuntimeException listenerFailure = null;
+        for (int i = 0; i < keys.length; i++) {
+            ScoreEvent event = events.get(i);
+            MatchKey key = keys[i];
+            Match match;
+            switch (event.getType()) {
+                case START:
+                    match = new Match(teams.intern(event.getHomeTeamName()),
+                            teams.intern(event.getAwayTeamName()), orderCounter++);
+                    matches.put(key, match);
+                    index(match);
+                    touched.put(key, match);
+                    listenerFailure = notifyListeners(ScoreEvent.Type.START, match, listenerFailure);
+                    break;
+                case UPDATE:
+                    match = touch(touched, key);
+                    match.updateScore(event.getHomeScore(), event.getAwayScore());
+                    listenerFailure = notifyListeners(ScoreEvent.Type.UPDATE, match, listenerFailure);
+                    break;
+                case FINISH:
+                    match = touch(touched, key);
+                    matches.remove(key);
+                    unindex(match);
+                    touched.put(key, null);
+                    listenerFailure = notifyListeners(ScoreEvent.Type.FINISH, match, listenerFailure);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown event type: " + event.getType());
+            }
+        }
+
+        for (Match match : touched.values()) {
+            if (match != null) {
+                summary.insert(match);
+            }
+        }
+        changed();
+        liveMatchesChanged();
+        if (oldRanks != null) {
+            offerBatchDeltas(oldRanks, touched.values());
+        }
+        if (listenerFailure != null) {
+            throw listenerFailure;
+        }
+        return batch;
+    }
+
+    /**
+     * Tells every listener about one change of a batch. A listener that throws must not stop
+     * the batch halfway, with its matches out of the summary, so the first failure is returned
+     * to be rethrown once the batch is applied; later ones are added to it as suppressed.
+     */
+    private RuntimeException notifyListeners(ScoreEvent.Type type, Match match, RuntimeException failure) {
+        for (ScoreboardListener listener : listeners) {
+            try {
+                switch (type) {
+                    case START:
+                        listener.onGameStarted(match);
+                        break;
+                    case UPDATE:
+                        listener.onScoreUpdated(match);
+                        break;
+                    default:
+                        listener.onGameFinished(match);
+                        break;
+                }
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else if (failure != e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * Reports the net effect of a batch as deltas that replay in order: finished matches
+     * are removed from the bottom up, then the started and updated ones are placed by
+     * ascending new rank. The old rank of an updated match is where replaying has left it
+     * by then: its rank before the batch, shifted by the removals and placements before it.
+     * <p>
+     * Positions are counted against the matches the batch left alone, which keep their
+     * relative order: a touched match sits in the gap after as many of them as precede it.
+     * Within a gap, matches already placed come before those still to be placed. Takes
+     * time quadratic in the number of matches the batch touched.
+     */
+    private void offerBatchDeltas(Map<Match, Integer> oldRanks, Collection<Match> live) {
+        List<Match> finished = new ArrayList<>();
+        List<Match> updated = new ArrayList<>();
+        for (Match match : oldRanks.keySet()) {
+            if (matches.get(probe.set(match.getHomeTeam(), match.getAwayTeam())) == match) {
+                updated.add(match);
+            } else {
+                finished.add(match);
+            }
+        }
+        finished.sort((a, b) -> Integer.compare(oldRanks.get(b), oldRanks.get(a)));
+        for (Match match : finished) {
+            deltas.offer(SummaryDelta.removed(match.view(), oldRanks.get(match), version), matches.size());
+        }
+
+        // Gap of each updated match before it is placed, once the finished ones are gone
+        updated.sort((a, b) -> Integer.compare(oldRanks.get(a), oldRanks.get(b)));
+        Map<Match, Integer> oldGaps = new IdentityHashMap<>();
+        for (int i = 0; i < updated.size(); i++) {
+            int rank = oldRanks.get(updated.get(i));
+            int finishedBefore = 0;
+            for (Match match : finished) {
+                if (oldRanks.get(match) < rank) {
+                    finishedBefore++;
+                }
+            }
+            oldGaps.put(updated.get(i), rank - finishedBefore - i);
+        }
+
+        List<Match> placed = new ArrayList<>();
+        for (Match match : live) {
+            if (match != null) {
+                placed.add(match);
+            }
+        }
+        placed.sort(SummaryIndex.ORDER);
+        int[] newGaps = new int[placed.size()];
+        for (int j = 0; j < placed.size(); j++) {
+            Match match = placed.get(j);
+            newGaps[j] = summary.rank(match) - j;
+            int newRank = newGaps[j] + j;
+            for (Match waiting : updated) {
+                if (waiting != match && oldGaps.containsKey(waiting) && oldGaps.get(waiting) < newGaps[j]) {
+                    newRank++;
+                }
+            }
+            Integer oldGap = oldGaps.remove(match);
+            if (oldGap == null) {
+                deltas.offer(SummaryDelta.inserted(match.view(), newRank, version), matches.size());
+                continue;
+            }
+            int oldRank = oldGap;
+            for (int k = 0; k < j; k++) {
+                if (newGaps[k] <= oldGap) {
+                    oldRank++;
+                }
+            }
+            for (Match waiting : updated) {
+                if (waiting == match) {
+                    break;
+                }
+                if (oldGaps.containsKey(waiting)) {
+                    oldRank++;
+                }
+            }
+            deltas.offer(SummaryDelta.changed(match.view(), oldRank, newRank, version), matches.size());
+        }
+    }
+
+    private Match touch(Map<MatchKey, Match> touched, MatchKey key) {
+        if (touched.containsKey(key)) {
+            return touched.get(key);
+        }
+        Match match = matches.get(key);
+        summary.remove(match);
+        touched.put(key, match);
+        return match;
     }
 
     /**
@@ -106,39 +725,372 @@ public class Scoreboard {
      * @return list of matches in the specified order
      */
     public List<Match> getSummary() {
-        return matches.values().stream()
-                .sorted(
-                        Comparator.comparingInt(Match::getTotalScore)
-                                .thenComparingLong(Match::getCreationOrder)
-                                .reversed()
-                )
-                .collect(Collectors.toList());
+        long start = begin();
+        List<Match> result = summary.toList();
+        succeeded(GET_SUMMARY, start);
+        return result;
+    }
+
+    /**
+     * Returns the summary as UTF-8 JSON, in the format of {@link SummarySnapshot#toJson()}.
+     * The rendering is cached until the next change, and a change re-renders only the
+     * matches whose score changed, so repeated calls cost no serialization.
+     *
+     * @return a read-only buffer over the shared rendering
+     */
+    public ByteBuffer getSummaryJson() {
+        return currentSummary().toJson();
+    }
+
+    /**
+     * Returns the summary as UTF-8 text, one {@code "Mexico 0 - Canada 5"} line per match,
+     * cached like {@link #getSummaryJson()}.
+     *
+     * @return a read-only buffer over the shared rendering
+     */
+    public ByteBuffer getSummaryText() {
+        return currentSummary().toText();
+    }
+
+    /**
+     * Returns the summary as of the current version: the published snapshot, or one built
+     * and cached until the next change. Must be called by the writer thread.
+     */
+    SummarySnapshot currentSummary() {
+        if (publishing) {
+            return snapshot;
+        }
+        if (rendered == null || rendered.getVersion() != version) {
+            rendered = new SummarySnapshot(version, summary.toViews());
+        }
+        return rendered;
+    }
+
+    /**
+     * Starts publishing an immutable {@link SummarySnapshot} after every change, readable
+     * from any thread through {@link #getSnapshot()}. Publishing costs a walk over the live
+     * matches per change, reusing the views of matches whose score did not change.
+     */
+    public void enableSnapshots() {
+        if (!publishing) {
+            publishing = true;
+            publish();
+        }
+    }
+
+    /**
+     * Returns the most recently published summary snapshot. Unlike the other methods,
+     * this one may be called from any thread; it takes no lock and copies nothing.
+     *
+     * @return the latest snapshot
+     * @throws IllegalStateException if snapshots were not enabled
+     */
+    public SummarySnapshot getSnapshot() {
+        SummarySnapshot latest = snapshot;
+        if (latest == null) {
+            throw new IllegalStateException("Snapshots are not enabled");
+        }
+        return latest;
+    }
+
+    /**
+     * Returns the current version of this scoreboard, which increases with every change.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    private void changed() {
+        version++;
+        if (publishing) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        snapshot = new SummarySnapshot(version, summary.toViews());
+    }
+
+    /**
+     * Returns the start time of an operation if it is to be timed, {@link #UNTIMED} otherwise.
+     */
+    private long begin() {
+        return measuring && (++sampleCounter & sampleMask) == 0 ? System.nanoTime() : UNTIMED;
+    }
+
+    private void succeeded(ScoreboardMetrics.Operation operation, long start) {
+        if (measuring) {
+            metrics.recordOperation(operation,
+                    start == UNTIMED ? ScoreboardMetrics.UNTIMED : System.nanoTime() - start);
+        }
+    }
+
+    private Status completed(ScoreboardMetrics.Operation operation, Status status, long start) {
+        if (measuring) {
+            if (status == Status.OK) {
+                succeeded(operation, start);
+            } else {
+                metrics.recordFailure(operation, status.failure);
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Records an operation that threw rather than returning a refusal: a null argument is bad
+     * input, anything else, such as a listener failure, is not a refusal and is not counted.
+     */
+    private void failed(ScoreboardMetrics.Operation operation, RuntimeException exception) {
+        if (measuring && exception instanceof IllegalArgumentException) {
+            metrics.recordFailure(operation, ScoreboardMetrics.Failure.BAD_INPUT);
+        }
+    }
+
+    private void liveMatchesChanged() {
+        if (measuring) {
+            metrics.liveMatchesChanged(matches.size());
+        }
+    }
+
+    /**
+     * Returns the live matches a team plays in, at home or away, in the order they were
+     * started. The index behind it is built on the first call, in time proportional to the
+     * number of live matches, and kept up to date from then on; later calls take constant time.
+     *
+     * @param teamName the team name
+     * @return a new list with the team's live matches; empty if it has none
+     * @throws IllegalArgumentException if the team name is invalid
+     */
+    public List<Match> findByTeam(String teamName) {
+        Team team = teams.find(teamName);
+        if (team == null) {
+            return new ArrayList<>(0);
+        }
+        if (byTeam == null) {
+            byTeam = new HashMap<>();
+            for (Match match : matches.values()) {
+                index(match);
+            }
+        }
+        List<Match> found = byTeam.get(team);
+        return found == null ? new ArrayList<>(0) : new ArrayList<>(found);
+    }
+
+    private void index(Match match) {
+        if (byTeam != null) {
+            index(match.getHomeTeam(), match);
+            index(match.getAwayTeam(), match);
+        }
+    }
+
+    private void index(Team team, Match match) {
+        List<Match> teamMatches = byTeam.computeIfAbsent(team, t -> new ArrayList<>(2));
+        int i = teamMatches.size();
+        while (i > 0 && teamMatches.get(i - 1).getCreationOrder() > match.getCreationOrder()) {
+            i--;
+        }
+        teamMatches.add(i, match);
+    }
+
+    private void unindex(Match match) {
+        if (byTeam != null) {
+            unindex(match.getHomeTeam(), match);
+            unindex(match.getAwayTeam(), match);
+        }
+    }
+
+    private void unindex(Team team, Match match) {
+        List<Match> teamMatches = byTeam.get(team);
+        teamMatches.remove(match);
+        if (teamMatches.isEmpty()) {
+            byTeam.remove(team);
+        }
+    }
+
+    /**
+     * Returns the first {@code n} matches of the summary. Takes time proportional to
+     * {@code n}, not to the number of live matches.
+     *
+     * @param n the maximum number of matches to return
+     * @return list of at most n matches in summary order
+     * @throws IllegalArgumentException if n is negative
+     */
+    public List<Match> getTopN(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of matches cannot be negative");
+        }
+        return summary.first(n);
+    }
+
+    /**
+     * Returns one page of the summary. Takes time proportional to the page size plus the
+     * logarithm of the number of live matches.
+     *
+     * @param cursor where the page starts, from {@link SummaryPage#getNextCursor()}; null for the first page
+     * @param limit the maximum number of matches on the page
+     * @return the page, with the cursor for the next one
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public SummaryPage getSummaryPage(SummaryCursor cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        // Fetch one extra match to tell whether a next page exists
+        int fetch = limit == Integer.MAX_VALUE ? limit : limit + 1;
+        List<Match> page = cursor == null
+                ? summary.first(fetch)
+                : summary.after(cursor.getTotalScore(), cursor.getCreationOrder(), fetch);
+        if (page.size() <= limit) {
+            return new SummaryPage(page, null);
+        }
+        page.remove(limit);
+        return new SummaryPage(page, SummaryCursor.after(page.get(limit - 1)));
     }
 
     /**
-     * Internal key class for identifying matches by team pair.
+     * Puts back a match with a known creation order and score, as found in a journal or
+     * snapshot. Listeners are not notified, but subscribers receive the insertion.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @param creationOrder the creation order the match had when it was started
+     * @param homeScore the home team score
+     * @param awayScore the away team score
+     * @return the restored match
+     * @throws IllegalArgumentException if team names are invalid, teams are the same or scores are negative
+     * @throws IllegalStateException if a match between these teams already exists
      */
-    private static class MatchKey {
-        private final Team homeTeam;
-        private final Team awayTeam;
+    Match restoreGame(String homeTeamName, String awayTeamName, long creationOrder, int homeScore, int awayScore) {
+        if (Team.isValidName(homeTeamName) && homeTeamName.equals(awayTeamName)) {
+            throw new IllegalArgumentException("Home team and away team must be different");
+        }
+        Team homeTeam = teams.intern(homeTeamName);
+        Team awayTeam = teams.intern(awayTeamName);
+        if (matches.containsKey(probe.set(homeTeam, awayTeam))) {
+            throw new IllegalStateException(
+                    String.format("Match between %s and %s already exists", homeTeam, awayTeam)
+            );
+        }
 
-        MatchKey(Team homeTeam, Team awayTeam) {
-            this.homeTeam = homeTeam;
-            this.awayTeam = awayTeam;
+        Match match = new Match(homeTeam, awayTeam, creationOrder);
+        match.updateScore(homeScore, awayScore);
+        matches.put(new MatchKey(homeTeam, awayTeam), match);
+        index(match);
+        summary.insert(match);
+        orderCounter = Math.max(orderCounter, creationOrder + 1);
+        changed();
+        liveMatchesChanged();
+        if (deltas.hasSubscribers()) {
+            deltas.offer(SummaryDelta.inserted(match.view(), summary.rank(match), version), matches.size());
+        }
+        return match;
+    }
+
+    /**
+     * Fills an empty scoreboard with restored matches, much faster than restoring them one
+     * by one. The teams must come from {@link #internTeam(String)}. Listeners are not notified,
+     * but subscribers receive the insertions.
+     *
+     * @param ordered the matches, in summary order
+     * @throws IllegalStateException if the scoreboard is not empty or two matches have the same teams
+     * @throws IllegalArgumentException if the matches are not in summary order
+     */
+    void restoreGames(List<Match> ordered) {
+        if (!matches.isEmpty()) {
+            throw new IllegalStateException("Scoreboard is not empty");
+        }
+        for (Match match : ordered) {
+            if (matches.putIfAbsent(new MatchKey(match.getHomeTeam(), match.getAwayTeam()), match) != null) {
+                matches.clear();
+                throw new IllegalStateException(String.format("Match between %s and %s already exists",
+                        match.getHomeTeam(), match.getAwayTeam()));
+            }
+            orderCounter = Math.max(orderCounter, match.getCreationOrder() + 1);
+        }
+        try {
+            summary.load(ordered);
+        } catch (IllegalArgumentException e) {
+            matches.clear();
+            throw e;
         }
+        for (Match match : ordered) {
+            index(match);
+        }
+        changed();
+        liveMatchesChanged();
+        if (deltas.hasSubscribers()) {
+            for (int i = 0; i < ordered.size(); i++) {
+                deltas.offer(SummaryDelta.inserted(ordered.get(i).view(), i, version), matches.size());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of team names registered so far.
+     *
+     * @return the number of teams
+     */
+    int getTeamCount() {
+        return teams.size();
+    }
+
+    /**
+     * Returns the canonical team of this scoreboard for the given name.
+     *
+     * @param name the team name
+     * @return the interned team
+     * @throws IllegalArgumentException if name is null, empty or blank
+     */
+    Team internTeam(String name) {
+        return teams.intern(name);
+    }
+
+    /**
+     * Returns the creation order the next started game will get.
+     *
+     * @return the next creation order
+     */
+    long getNextCreationOrder() {
+        return orderCounter;
+    }
+
+    /**
+     * Moves the creation order sequence forward, so that restored state keeps ordering
+     * later games after every game that was ever started, including finished ones.
+     *
+     * @param nextCreationOrder the creation order the next started game should get at least
+     */
+    void advanceCreationOrder(long nextCreationOrder) {
+        orderCounter = Math.max(orderCounter, nextCreationOrder);
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            MatchKey matchKey = (MatchKey) o;
-            return Objects.equals(homeTeam, matchKey.homeTeam) &&
-                    Objects.equals(awayTeam, matchKey.awayTeam);
+    /**
+     * Finds the live match between two teams without allocating, leaving it in {@link #located}
+     * and {@link #probe} pointing at its key.
+     */
+    private Status locate(String homeTeamName, String awayTeamName) {
+        if (!Team.isValidName(homeTeamName) || !Team.isValidName(awayTeamName)) {
+            return Status.INVALID_TEAM_NAME;
         }
+        Team homeTeam = teams.find(homeTeamName);
+        Team awayTeam = teams.find(awayTeamName);
+        located = homeTeam == null || awayTeam == null ? null : matches.get(probe.set(homeTeam, awayTeam));
+        return located == null ? Status.MATCH_NOT_FOUND : Status.OK;
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(homeTeam, awayTeam);
+    /**
+     * Checks that the given match is live on this scoreboard, leaving {@link #probe}
+     * pointing at its key.
+     */
+    private Status checkLive(Match match) {
+        if (match == null) {
+            return Status.NULL_MATCH;
+        }
+        if (matches.get(probe.set(match.getHomeTeam(), match.getAwayTeam())) != match) {
+            return Status.MATCH_NOT_FOUND;
         }
+        return Status.OK;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,357 @@
+package com.sportradar.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Versioned history of a {@link Scoreboard}, answering what the summary was after a given
+ * change or at a given instant, for replays and disputes. Filled by registering it as a
+ * {@link ScoreboardListener}, which the constructor does.
+ * <p>
+ * Every change recorded gets the next version, starting at 1; version 0 is the board as it was
+ * when the history was created. Changes are delta-encoded into segments of
+ * {@code checkpointInterval} changes, each starting with a checkpoint of the live matches: a
+ * score update costs about five bytes, a start or finish about two, plus the time since the
+ * previous change. A query binary-searches the segments for the latest checkpoint and replays
+ * at most {@code checkpointInterval} changes from it, so it takes time logarithmic in the
+ * history length, plus sorting the matches it returns.
+ * <p>
+ * Once more than {@code retainedChanges} changes are recorded, the oldest segments are dropped,
+ * along with the matches only they refer to, so memory stays bounded by the retention and the
+ * number of live matches per checkpoint.
+ * <p>
+ * Only changes reported to listeners are recorded. Matches put back from a journal, snapshot or
+ * primary are not, so create the history after recovery; changes to a match restored later are
+ * ignored.
+ * <p>
+ * Thread-safe: the scoreboard's thread records changes while any thread queries.
+ */
+public final class ScoreboardHistory implements ScoreboardListener {
+    /**
+     * Number of changes between checkpoints unless configured otherwise.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1024;
+
+    private static final int START = 0;
+    private static final int UPDATE = 1;
+    private static final int FINISH = 2;
+
+    private final int checkpointInterval;
+    private final long retainedChanges;
+    private final LongSupplier clock;
+    private final Map<Match, MatchInfo> live = new IdentityHashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment tail;
+    private long version;
+    private long lastMillis;
+
+    /**
+     * Creates a history of a scoreboard with the default checkpoint interval, and registers
+     * it as a listener. Must be called on the scoreboard's writer thread.
+     *
+     * @param scoreboard the scoreboard
+     * @param retainedChanges the number of latest changes that stay queryable
+     * @throws IllegalArgumentException if scoreboard is null or retainedChanges is not positive
+     */
+    public ScoreboardHistory(Scoreboard scoreboard, long retainedChanges) {
+        this(scoreboard, DEFAULT_CHECKPOINT_INTERVAL, retainedChanges);
+    }
+
+    /**
+     * Creates a history of a scoreboard and registers it as a listener. Must be called on the
+     * scoreboard's writer thread.
+     *
+     * @param scoreboard the scoreboard
+     * @param checkpointInterval the number of changes between checkpoints, which bounds the replay per query
+     * @param retainedChanges the number of latest changes that stay queryable
+     * @throws IllegalArgumentException if scoreboard is null, or checkpointInterval or retainedChanges is not positive
+     */
+    public ScoreboardHistory(Scoreboard scoreboard, int checkpointInterval, long retainedChanges) {
+        this(scoreboard, checkpointInterval, retainedChanges, System::currentTimeMillis);
+    }
+
+    ScoreboardHistory(Scoreboard scoreboard, int checkpointInterval, long retainedChanges, LongSupplier clock) {
+        if (scoreboard == null) {
+            throw new IllegalArgumentException("Scoreboard cannot be null");
+        }
+        if (checkpointInterval <= 0 || retainedChanges <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval and retained changes must be positive");
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.retainedChanges = retainedChanges;
+        this.clock = clock;
+        this.lastMillis = clock.getAsLong();
+        for (Match match : scoreboard.getSummary()) {
+            live.put(match, new MatchInfo(match.getHomeTeam(), match.getAwayTeam(), match.getCreationOrder()));
+        }
+        checkpoint();
+        scoreboard.addListener(this);
+    }
+
+    @Override
+    public synchronized void onGameStarted(Match match) {
+        MatchInfo info = new MatchInfo(match.getHomeTeam(), match.getAwayTeam(), match.getCreationOrder());
+        info.localId = tail.refs.size();
+        tail.refs.add(info);
+        live.put(match, info);
+        record(START, info, match);
+    }
+
+    @Override
+    public synchronized void onScoreUpdated(Match match) {
+        MatchInfo info = live.get(match);
+        if (info != null) {
+            record(UPDATE, info, match);
+        }
+    }
+
+    @Override
+    public synchronized void onGameFinished(Match match) {
+        MatchInfo info = live.remove(match);
+        if (info != null) {
+            record(FINISH, info, match);
+        }
+    }
+
+    /**
+     * Returns the latest version, that of the last change recorded.
+     *
+     * @return the latest version; 0 before the first change
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the oldest version that can still be queried.
+     *
+     * @return the oldest retained version
+     */
+    public synchronized long getOldestVersion() {
+        return segments.get(0).firstVersion;
+    }
+
+    /**
+     * Returns the summary as it was right after a change.
+     *
+     * @param version the version, between {@link #getOldestVersion()} and {@link #getVersion()}
+     * @return detached matches in summary order
+     * @throws IllegalArgumentException if the version is not retained or not reached yet
+     */
+    public synchronized List<Match> getSummaryAt(long version) {
+        if (version > this.version || version < segments.get(0).firstVersion) {
+            throw new IllegalArgumentException(String.format("Version %d is not between %d and %d",
+                    version, segments.get(0).firstVersion, this.version));
+        }
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).firstVersion <= version) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        Segment segment = segments.get(low);
+        return segment.replay((int) (version - segment.firstVersion), Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the summary as it was at an instant, after every change recorded up to it.
+     *
+     * @param epochMillis the instant, in milliseconds since the epoch
+     * @return detached matches in summary order
+     * @throws IllegalArgumentException if the instant is before the oldest retained change
+     */
+    public synchronized List<Match> getSummaryAtTime(long epochMillis) {
+        if (epochMillis < segments.get(0).firstMillis) {
+            throw new IllegalArgumentException(String.format("Time %d is before the oldest retained change at %d",
+                    epochMillis, segments.get(0).firstMillis));
+        }
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).firstMillis <= epochMillis) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return segments.get(low).replay(Integer.MAX_VALUE, epochMillis);
+    }
+
+    /**
+     * Returns an estimate of the memory taken by the retained history: encoded changes and
+     * checkpoints, without the teams shared with the scoreboard.
+     *
+     * @return the estimated size in bytes
+     */
+    public synchronized long getRetainedBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.deltas.length + 12L * segment.checkpointSize + 40L * segment.refs.size();
+        }
+        return bytes;
+    }
+
+    private void record(int type, MatchInfo info, Match match) {
+        long now = Math.max(lastMillis, clock.getAsLong());
+        Segment segment = tail;
+        segment.putVarLong(((long) info.localId << 2) | type);
+        segment.putVarLong(now - lastMillis);
+        if (type == UPDATE) {
+            segment.putVarLong(match.getHomeScore());
+            segment.putVarLong(match.getAwayScore());
+        }
+        segment.count++;
+        lastMillis = now;
+        version++;
+        if (segment.count == checkpointInterval) {
+            segment.deltas = Arrays.copyOf(segment.deltas, segment.length);
+            checkpoint();
+            // Keep the segment holding the oldest retained version, drop the ones before it
+            while (segments.size() > 1 && version - segments.get(1).firstVersion >= retainedChanges) {
+                segments.remove(0);
+            }
+        }
+    }
+
+    /**
+     * Starts a new segment with the current live matches, renumbering them for it.
+     */
+    private void checkpoint() {
+        Segment segment = new Segment(version, lastMillis, live.size());
+        int i = 0;
+        for (Map.Entry<Match, MatchInfo> entry : live.entrySet()) {
+            MatchInfo info = entry.getValue();
+            info.localId = i;
+            segment.refs.add(info);
+            segment.homeScores[i] = entry.getKey().getHomeScore();
+            segment.awayScores[i] = entry.getKey().getAwayScore();
+            i++;
+        }
+        segments.add(segment);
+        tail = segment;
+    }
+
+    /**
+     * Teams and creation order of a match, shared by the segments that refer to it.
+     */
+    private static final class MatchInfo {
+        final Team homeTeam;
+        final Team awayTeam;
+        final long creationOrder;
+        // Index in the refs of the latest segment
+        int localId;
+
+        MatchInfo(Team homeTeam, Team awayTeam, long creationOrder) {
+            this.homeTeam = homeTeam;
+            this.awayTeam = awayTeam;
+            this.creationOrder = creationOrder;
+        }
+    }
+
+    /**
+     * A checkpoint of the live matches followed by the changes made after it. Matches are
+     * referred to by their index in {@link #refs}: first the checkpoint's, then those started
+     * in the segment.
+     */
+    private static final class Segment {
+        final long firstVersion;
+        final long firstMillis;
+        final int checkpointSize;
+        final int[] homeScores;
+        final int[] awayScores;
+        final List<MatchInfo> refs;
+        byte[] deltas = new byte[64];
+        int length;
+        int count;
+
+        Segment(long firstVersion, long firstMillis, int checkpointSize) {
+            this.firstVersion = firstVersion;
+            this.firstMillis = firstMillis;
+            this.checkpointSize = checkpointSize;
+            this.homeScores = new int[checkpointSize];
+            this.awayScores = new int[checkpointSize];
+            this.refs = new ArrayList<>(checkpointSize);
+        }
+
+        /**
+         * Rebuilds the summary after at most {@code changes} changes of this segment, stopping
+         * at the first change made after {@code untilMillis}.
+         */
+        List<Match> replay(int changes, long untilMillis) {
+            int matches = refs.size();
+            int[] home = Arrays.copyOf(homeScores, matches);
+            int[] away = Arrays.copyOf(awayScores, matches);
+            boolean[] alive = new boolean[matches];
+            Arrays.fill(alive, 0, checkpointSize, true);
+
+            int position = 0;
+            long millis = firstMillis;
+            int[] cursor = new int[1];
+            for (int change = 0; change < changes && change < count; change++) {
+                cursor[0] = position;
+                long header = getVarLong(cursor);
+                millis += getVarLong(cursor);
+                if (millis > untilMillis) {
+                    break;
+                }
+                int id = (int) (header >>> 2);
+                switch ((int) header & 3) {
+                    case START:
+                        alive[id] = true;
+                        break;
+                    case UPDATE:
+                        home[id] = (int) getVarLong(cursor);
+                        away[id] = (int) getVarLong(cursor);
+                        break;
+                    default:
+                        alive[id] = false;
+                }
+                position = cursor[0];
+            }
+
+            List<Match> result = new ArrayList<>();
+            for (int id = 0; id < matches; id++) {
+                if (alive[id]) {
+                    MatchInfo info = refs.get(id);
+                    Match match = new Match(info.homeTeam, info.awayTeam, info.creationOrder);
+                    match.updateScore(home[id], away[id]);
+                    result.add(match);
+                }
+            }
+            result.sort(SummaryIndex.ORDER);
+            return result;
+        }
+
+        void putVarLong(long value) {
+            if (deltas.length - length < 10) {
+                deltas = Arrays.copyOf(deltas, 2 * deltas.length);
+            }
+            while ((value & ~0x7FL) != 0) {
+                deltas[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            deltas[length++] = (byte) value;
+        }
+
+        long getVarLong(int[] cursor) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = deltas[cursor[0]++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,570 @@
+package com.sportradar.scoreboard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of the changes made to a {@link Scoreboard}, so that the
+ * live matches, including the creation order that breaks ties in the summary, survive a restart.
+ * <p>
+ * Usage: create the journal, then call {@link #recover()} to rebuild the scoreboard from the
+ * file; the returned scoreboard journals every later change through this listener.
+ * <p>
+ * Changes are encoded into an in-memory buffer on the updating thread. A background thread
+ * writes and forces them to disk in groups: as soon as {@code groupCommitEvents} changes are
+ * pending, or at the latest {@code groupCommitMillis} after the oldest pending change. A crash
+ * can therefore lose the last group; {@link #sync()} waits until everything journaled so far
+ * is durable. {@link #checkpoint(Scoreboard)} rewrites the file as a snapshot of the live
+ * matches, so that recovery replays the snapshot plus the changes made since.
+ * <p>
+ * Each record is {@code [int payload length][int CRC32 of payload][payload]}; the payload is a
+ * type byte followed by its fields, team names being an unsigned short byte count followed by
+ * UTF-8 bytes. A torn or corrupt record at the end of the file is dropped on recovery.
+ * <p>
+ * A single thread must change the scoreboard; {@link #sync()} may be called from any thread.
+ * A failed write, or a change with a team name too long to journal, fails the journal: from
+ * then on every change throws {@link UncheckedIOException} without being journaled, and
+ * {@link #sync()}, {@link #checkpoint(Scoreboard)} and {@link #close()} throw. The scoreboard
+ * keeps the changes all the same.
+ */
+public class ScoreboardJournal implements ScoreboardListener, Closeable {
+    private static final byte START = 1;
+    private static final byte UPDATE = 2;
+    private static final byte FINISH = 3;
+    private static final byte RESTORE = 4;
+    private static final byte NEXT_ORDER = 5;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final Path path;
+    private final int groupCommitEvents;
+    private final long groupCommitMillis;
+    private final Thread flusher;
+
+    // Serializes everything that touches the file; always taken before lock
+    private final Object flushLock = new Object();
+    private FileChannel channel;
+
+    // Guards the fields below
+    private final Object lock = new Object();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer pending;
+    private ByteBuffer spare;
+    private int pendingEvents;
+    private long firstPendingNanos;
+    private long appendedEvents;
+    private long durableEvents;
+    private boolean flushRequested;
+    private boolean recovered;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Opens or creates a journal file.
+     *
+     * @param path the journal file
+     * @param groupCommitEvents the number of pending changes that triggers a write
+     * @param groupCommitMillis the longest time a change waits before it is written
+     * @throws IllegalArgumentException if path is null or a group commit setting is not positive
+     * @throws IOException if the file cannot be opened
+     */
+    public ScoreboardJournal(Path path, int groupCommitEvents, long groupCommitMillis) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Journal path cannot be null");
+        }
+        if (groupCommitEvents <= 0 || groupCommitMillis <= 0) {
+            throw new IllegalArgumentException("Group commit settings must be positive");
+        }
+        this.path = path;
+        this.groupCommitEvents = groupCommitEvents;
+        this.groupCommitMillis = groupCommitMillis;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        this.spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        this.flusher = new Thread(this::flushLoop, "scoreboard-journal");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Rebuilds the scoreboard from the journal and registers this journal as its listener.
+     * Can only be called once.
+     *
+     * @return the recovered scoreboard
+     * @throws IOException if the file cannot be read or holds a record that cannot be applied
+     * @throws IllegalStateException if the journal was already recovered or is closed
+     */
+    public Scoreboard recover() throws IOException {
+        Scoreboard scoreboard = new Scoreboard();
+        synchronized (flushLock) {
+            synchronized (lock) {
+                checkUsable();
+                if (recovered) {
+                    throw new IllegalStateException("Journal was already recovered");
+                }
+                recovered = true;
+            }
+            long valid = replay(channel, scoreboard);
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+            }
+            channel.position(valid);
+        }
+        scoreboard.addListener(this);
+        return scoreboard;
+    }
+
+    @Override
+    public void onGameStarted(Match match) {
+        byte[] home = journaledName(match.getHomeTeam());
+        byte[] away = journaledName(match.getAwayTeam());
+        synchronized (lock) {
+            ByteBuffer buffer = beginRecord(1 + 8 + 4 + home.length + away.length);
+            buffer.put(START).putLong(match.getCreationOrder());
+            putName(buffer, home);
+            putName(buffer, away);
+            endRecord();
+        }
+    }
+
+    @Override
+    public void onScoreUpdated(Match match) {
+        byte[] home = journaledName(match.getHomeTeam());
+        byte[] away = journaledName(match.getAwayTeam());
+        synchronized (lock) {
+            ByteBuffer buffer = beginRecord(1 + 4 + home.length + away.length + 8);
+            buffer.put(UPDATE);
+            putName(buffer, home);
+            putName(buffer, away);
+            buffer.putInt(match.getHomeScore()).putInt(match.getAwayScore());
+            endRecord();
+        }
+    }
+
+    @Override
+    public void onGameFinished(Match match) {
+        byte[] home = journaledName(match.getHomeTeam());
+        byte[] away = journaledName(match.getAwayTeam());
+        synchronized (lock) {
+            ByteBuffer buffer = beginRecord(1 + 4 + home.length + away.length);
+            buffer.put(FINISH);
+            putName(buffer, home);
+            putName(buffer, away);
+            endRecord();
+        }
+    }
+
+    /**
+     * Waits until every change journaled so far has been written and forced to disk.
+     *
+     * @throws IOException if writing the journal failed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void sync() throws IOException, InterruptedException {
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+            long target = appendedEvents;
+            flushRequested = true;
+            lock.notifyAll();
+            while (durableEvents < target) {
+                if (failure != null) {
+                    throw failure;
+                }
+                lock.wait();
+            }
+        }
+    }
+
+    /**
+     * Replaces the journal with a snapshot of the given scoreboard, which must be the one
+     * returned by {@link #recover()}. Must be called on the thread that changes the scoreboard.
+     *
+     * @param scoreboard the scoreboard this journal records
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void checkpoint(Scoreboard scoreboard) throws IOException {
+        synchronized (flushLock) {
+            long covered;
+            synchronized (lock) {
+                checkUsable();
+                // Pending changes are part of the scoreboard state written below
+                covered = appendedEvents;
+            }
+
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                writeSnapshot(scoreboard, temp);
+            } catch (IOException e) {
+                // The journal itself is untouched and still complete
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+
+            channel.close();
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // The snapshot, or the journal it failed to replace
+                try {
+                    channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    channel.position(channel.size());
+                } catch (IOException e) {
+                    synchronized (lock) {
+                        failure = e;
+                        lock.notifyAll();
+                    }
+                    throw e;
+                }
+            }
+
+            synchronized (lock) {
+                // The single writer is in here, so nothing was journaled since
+                pending.clear();
+                pendingEvents = 0;
+                durableEvents = Math.max(durableEvents, covered);
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot of the scoreboard to a new file and forces it to disk.
+     */
+    private static void writeSnapshot(Scoreboard scoreboard, Path file) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+            CRC32 snapshotCrc = new CRC32();
+
+            buffer = ensureCapacity(buffer, HEADER_BYTES + 9);
+            int start = buffer.position();
+            buffer.position(start + HEADER_BYTES);
+            buffer.put(NEXT_ORDER).putLong(scoreboard.getNextCreationOrder());
+            sealRecord(buffer, start, snapshotCrc);
+
+            for (Match match : scoreboard.getSummary()) {
+                byte[] home = encode(match.getHomeTeam());
+                byte[] away = encode(match.getAwayTeam());
+                int payload = 1 + 8 + 4 + home.length + away.length + 8;
+                if (buffer.remaining() < HEADER_BYTES + payload) {
+                    writeFully(out, buffer);
+                    buffer = ensureCapacity(buffer, HEADER_BYTES + payload);
+                }
+                start = buffer.position();
+                buffer.position(start + HEADER_BYTES);
+                buffer.put(RESTORE).putLong(match.getCreationOrder());
+                putName(buffer, home);
+                putName(buffer, away);
+                buffer.putInt(match.getHomeScore()).putInt(match.getAwayScore());
+                sealRecord(buffer, start, snapshotCrc);
+            }
+            writeFully(out, buffer);
+            out.force(true);
+        }
+    }
+
+    /**
+     * Writes all pending changes, stops the background writer and closes the file.
+     *
+     * @throws IOException if writing or closing the journal failed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (flushLock) {
+            channel.close();
+        }
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            synchronized (lock) {
+                try {
+                    while (!closed && !flushRequested && pendingEvents < groupCommitEvents) {
+                        if (pendingEvents == 0) {
+                            lock.wait();
+                            continue;
+                        }
+                        long waitMillis = groupCommitMillis - (System.nanoTime() - firstPendingNanos) / 1_000_000L;
+                        if (waitMillis <= 0) {
+                            break;
+                        }
+                        lock.wait(waitMillis);
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (closed && pendingEvents == 0) {
+                    return;
+                }
+            }
+
+            synchronized (flushLock) {
+                ByteBuffer batch;
+                long batchEnd;
+                synchronized (lock) {
+                    flushRequested = false;
+                    if (pendingEvents == 0) {
+                        // A checkpoint took the pending changes
+                        continue;
+                    }
+                    batch = pending;
+                    pending = spare;
+                    spare = null;
+                    pendingEvents = 0;
+                    batchEnd = appendedEvents;
+                }
+
+                try {
+                    writeFully(channel, batch);
+                    channel.force(false);
+                } catch (IOException e) {
+                    synchronized (lock) {
+                        failure = e;
+                        lock.notifyAll();
+                    }
+                    return;
+                }
+
+                synchronized (lock) {
+                    spare = batch;
+                    durableEvents = Math.max(durableEvents, batchEnd);
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves room for a record in the pending buffer; caller holds {@link #lock}.
+     */
+    private ByteBuffer beginRecord(int payloadBytes) {
+        if (failure != null) {
+            throw new UncheckedIOException("Journal write failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        pending = ensureCapacity(pending, HEADER_BYTES + payloadBytes);
+        pending.mark();
+        pending.position(pending.position() + HEADER_BYTES);
+        return pending;
+    }
+
+    /**
+     * Completes the record started by {@link #beginRecord(int)}; caller holds {@link #lock}.
+     */
+    private void endRecord() {
+        int end = pending.position();
+        pending.reset();
+        int start = pending.position();
+        pending.position(end);
+        sealRecord(pending, start, crc);
+
+        if (pendingEvents++ == 0) {
+            firstPendingNanos = System.nanoTime();
+        }
+        appendedEvents++;
+        if (pendingEvents >= groupCommitEvents) {
+            lock.notifyAll();
+        }
+    }
+
+    private void checkUsable() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Journal write failed", failure);
+        }
+    }
+
+    /**
+     * Replays all intact records into the scoreboard.
+     *
+     * @return the length of the intact prefix of the file
+     */
+    private static long replay(FileChannel channel, Scoreboard scoreboard) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        CRC32 recordCrc = new CRC32();
+        long position = 0;
+        long valid = 0;
+
+        long size = channel.size();
+        channel.position(0);
+        boolean eof = false;
+        while (true) {
+            buffer.flip();
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt(start);
+                int checksum = buffer.getInt(start + 4);
+                if (length <= 0 || length > size - position - HEADER_BYTES) {
+                    // Garbage or a torn record: the length must not be trusted to allocate
+                    return valid;
+                }
+                if (buffer.remaining() < HEADER_BYTES + length) {
+                    if (HEADER_BYTES + length > buffer.capacity()) {
+                        ByteBuffer larger = ByteBuffer.allocate(HEADER_BYTES + length);
+                        larger.put(buffer);
+                        buffer = larger;
+                        buffer.flip();
+                    }
+                    break;
+                }
+                recordCrc.reset();
+                recordCrc.update(buffer.array(), start + HEADER_BYTES, length);
+                if ((int) recordCrc.getValue() != checksum) {
+                    return valid;
+                }
+
+                buffer.position(start + HEADER_BYTES);
+                ByteBuffer record = buffer.slice();
+                record.limit(length);
+                try {
+                    apply(record, scoreboard);
+                } catch (RuntimeException e) {
+                    throw new IOException("Journal record at offset " + position + " cannot be applied", e);
+                }
+                buffer.position(start + HEADER_BYTES + length);
+                position += HEADER_BYTES + length;
+                valid = position;
+            }
+            if (eof) {
+                return valid;
+            }
+            buffer.compact();
+            if (channel.read(buffer) < 0) {
+                eof = true;
+            }
+        }
+    }
+
+    private static void apply(ByteBuffer record, Scoreboard scoreboard) {
+        byte type = record.get();
+        switch (type) {
+            case START: {
+                long creationOrder = record.getLong();
+                scoreboard.restoreGame(getName(record), getName(record), creationOrder, 0, 0);
+                break;
+            }
+            case UPDATE:
+                scoreboard.updateScore(getName(record), getName(record), record.getInt(), record.getInt());
+                break;
+            case FINISH:
+                scoreboard.finishGame(getName(record), getName(record));
+                break;
+            case RESTORE: {
+                long creationOrder = record.getLong();
+                scoreboard.restoreGame(getName(record), getName(record), creationOrder, record.getInt(), record.getInt());
+                break;
+            }
+            case NEXT_ORDER:
+                scoreboard.advanceCreationOrder(record.getLong());
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record type: " + type);
+        }
+    }
+
+    /**
+     * Encodes a name for a change record. A name that cannot be journaled fails the journal, as
+     * a journal missing a change would no longer replay to the scoreboard.
+     */
+    private byte[] journaledName(Team team) {
+        try {
+            return encode(team);
+        } catch (IllegalArgumentException e) {
+            synchronized (lock) {
+                if (failure == null) {
+                    failure = new IOException(e.getMessage(), e);
+                }
+                lock.notifyAll();
+                throw new UncheckedIOException("Journal write failed", failure);
+            }
+        }
+    }
+
+    static byte[] encode(Team team) {
+        byte[] bytes = team.getName().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Team name is too long to journal: " + team);
+        }
+        return bytes;
+    }
+
+    static void putName(ByteBuffer buffer, byte[] name) {
+        buffer.putShort((short) name.length).put(name);
+    }
+
+    static String getName(ByteBuffer record) {
+        int length = record.getShort() & 0xFFFF;
+        String name = new String(record.array(), record.arrayOffset() + record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return name;
+    }
+
+    /**
+     * Fills in the header of the record that starts at {@code start} and ends at the buffer position.
+     */
+    private static void sealRecord(ByteBuffer buffer, int start, CRC32 checksum) {
+        int length = buffer.position() - start - HEADER_BYTES;
+        checksum.reset();
+        checksum.update(buffer.array(), buffer.arrayOffset() + start + HEADER_BYTES, length);
+        buffer.putInt(start, length);
+        buffer.putInt(start + 4, (int) checksum.getValue());
+    }
+
+    static ByteBuffer ensureCapacity(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * Writes the bytes put into the buffer so far and clears it.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
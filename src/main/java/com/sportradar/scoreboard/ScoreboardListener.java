@@ -0,0 +1,35 @@
+package com.sportradar.scoreboard;
+
+/**
+ * Callback for changes made to a {@link Scoreboard}.
+ * <p>
+ * Listeners are called on the thread that changed the scoreboard, right after the change
+ * was applied, once per change and in the order the changes were made (this includes
+ * every event of a batch). The match passed in is the live match and must not be modified.
+ */
+public interface ScoreboardListener {
+
+    /**
+     * Called after a game was started.
+     *
+     * @param match the started match
+     */
+    default void onGameStarted(Match match) {
+    }
+
+    /**
+     * Called after the score of a match was updated.
+     *
+     * @param match the updated match
+     */
+    default void onScoreUpdated(Match match) {
+    }
+
+    /**
+     * Called after a game was finished and removed from the scoreboard.
+     *
+     * @param match the finished match
+     */
+    default void onGameFinished(Match match) {
+    }
+}
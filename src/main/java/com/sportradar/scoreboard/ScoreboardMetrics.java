@@ -0,0 +1,85 @@
+package com.sportradar.scoreboard;
+
+/**
+ * Hook for measuring a {@link Scoreboard}, installed with
+ * {@link Scoreboard#setMetrics(ScoreboardMetrics)}.
+ * <p>
+ * Called on the thread that uses the scoreboard, right after each operation. Implementations
+ * should be cheap: the hook is on the hot path of every operation. Reading the clock costs
+ * more than the rest of the hook, so the scoreboard only times one in
+ * {@link #latencySampleInterval()} operations, and does not read the clock at all while the
+ * {@link #NOOP} default is installed. See {@link ScoreboardStats}
+ * for counters and latency histograms, and {@link JfrScoreboardMetrics} for Flight Recorder events.
+ */
+public interface ScoreboardMetrics {
+
+    /**
+     * Metrics that record nothing; the default of every scoreboard.
+     */
+    ScoreboardMetrics NOOP = new ScoreboardMetrics() {
+    };
+
+    /**
+     * Latency passed to {@link #recordOperation(Operation, long)} for operations that were not timed.
+     */
+    long UNTIMED = -1;
+
+    /**
+     * Measured scoreboard operations.
+     */
+    enum Operation {
+        START_GAME,
+        UPDATE_SCORE,
+        FINISH_GAME,
+        GET_SUMMARY,
+        APPLY_BATCH
+    }
+
+    /**
+     * Reasons an operation was rejected.
+     */
+    enum Failure {
+        /** A game was started for a team pair that already has a live match. */
+        DUPLICATE_MATCH,
+        /** A match was updated or finished that is not live. */
+        MATCH_NOT_FOUND,
+        /** Names, scores or other arguments were invalid. */
+        BAD_INPUT
+    }
+
+    /**
+     * Returns how many operations the scoreboard lets pass between two timed ones; read once,
+     * when the metrics are installed.
+     *
+     * @return the sampling interval, rounded up to a power of two; 1 to time every operation
+     */
+    default int latencySampleInterval() {
+        return 1;
+    }
+
+    /**
+     * Called after an operation completed.
+     *
+     * @param operation the operation
+     * @param nanos how long it took, in nanoseconds, or {@link #UNTIMED} if it was not timed
+     */
+    default void recordOperation(Operation operation, long nanos) {
+    }
+
+    /**
+     * Called after an operation was rejected with an exception.
+     *
+     * @param operation the operation
+     * @param failure why it was rejected
+     */
+    default void recordFailure(Operation operation, Failure failure) {
+    }
+
+    /**
+     * Called when the number of live matches changed, and once when the metrics are installed.
+     *
+     * @param liveMatches the number of live matches
+     */
+    default void liveMatchesChanged(int liveMatches) {
+    }
+}
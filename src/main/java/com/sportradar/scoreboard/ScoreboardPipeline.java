@@ -0,0 +1,308 @@
+package com.sportradar.scoreboard;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lets any number of threads change a {@link Scoreboard} without locking it: producers
+ * publish commands into a pre-allocated ring of reusable slots, and a single writer thread
+ * applies them in batches, in the order they were claimed.
+ * <p>
+ * A producer claims the next slot with a compare-and-set, fills it in and marks it published;
+ * the writer applies every published slot in a row, then frees them all with one store.
+ * When all {@code capacity} slots are taken, producers wait for the writer, which bounds the
+ * backlog. Producers and the writer wait according to the {@link WaitStrategy}.
+ * <p>
+ * Commands are applied with the scoreboard's {@code try} methods, so a refused command costs
+ * no exception; refusals are counted by {@link #getRejected()}, and by the scoreboard's metrics
+ * if installed. A command that throws, such as one whose listener fails, is counted as refused
+ * too and the writer goes on with the next; the first such exception is kept for
+ * {@link #getFailure()}. The writer thread owns the scoreboard: read it through snapshots,
+ * enabled before the pipeline is created.
+ */
+public final class ScoreboardPipeline implements Closeable {
+    private static final byte START = 1;
+    private static final byte UPDATE = 2;
+    private static final byte FINISH = 3;
+    // Set in the claimed sequence once the writer has stopped, so that no command is claimed after
+    private static final long SEALED = 1L << 62;
+
+    /**
+     * How a thread waits for the ring: the writer for published commands, producers for free slots.
+     */
+    public enum WaitStrategy {
+        /** Spins on the CPU: lowest latency, but keeps a core busy while idle. */
+        BUSY_SPIN,
+        /** Yields the CPU between checks: low latency while other threads are runnable. */
+        YIELD,
+        /** Parks for the shortest sleep between checks, usually tens of microseconds: no idle CPU use. */
+        PARK
+    }
+
+    private final Scoreboard scoreboard;
+    private final WaitStrategy waitStrategy;
+    private final int mask;
+    private final Command[] ring;
+    // Sequence of the command in each slot, stored once the slot is filled in
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+
+    /**
+     * Creates a pipeline and starts its writer thread.
+     *
+     * @param scoreboard the scoreboard to apply commands to; no other thread may change it
+     * @param capacity the number of slots, rounded up to a power of two
+     * @param waitStrategy how producers and the writer wait
+     * @throws IllegalArgumentException if scoreboard or waitStrategy is null, or capacity is not positive
+     */
+    public ScoreboardPipeline(Scoreboard scoreboard, int capacity, WaitStrategy waitStrategy) {
+        if (scoreboard == null || waitStrategy == null) {
+            throw new IllegalArgumentException("Scoreboard and wait strategy cannot be null");
+        }
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.scoreboard = scoreboard;
+        this.waitStrategy = waitStrategy;
+        this.mask = size - 1;
+        this.ring = new Command[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Command();
+        }
+        // Slot i first holds sequence i + 1
+        this.published = new AtomicLongArray(size);
+        this.writer = new Thread(this::drainLoop, "scoreboard-pipeline");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Publishes a start of a game, waiting while the ring is full.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return the command's sequence, for {@link #awaitApplied(long)}
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public long startGame(String homeTeamName, String awayTeamName) {
+        return publish(START, homeTeamName, awayTeamName, 0, 0);
+    }
+
+    /**
+     * Publishes a score update, waiting while the ring is full.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @param homeScore the new home team score
+     * @param awayScore the new away team score
+     * @return the command's sequence, for {@link #awaitApplied(long)}
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public long updateScore(String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
+        return publish(UPDATE, homeTeamName, awayTeamName, homeScore, awayScore);
+    }
+
+    /**
+     * Publishes the finish of a game, waiting while the ring is full.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return the command's sequence, for {@link #awaitApplied(long)}
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public long finishGame(String homeTeamName, String awayTeamName) {
+        return publish(FINISH, homeTeamName, awayTeamName, 0, 0);
+    }
+
+    /**
+     * Waits, according to the wait strategy, until a command has been applied.
+     *
+     * @param sequence the sequence returned when the command was published
+     * @throws IllegalStateException if the pipeline was closed, or its writer stopped, before applying it
+     */
+    public void awaitApplied(long sequence) {
+        while (applied.get() < sequence) {
+            if (!writer.isAlive() && applied.get() < sequence) {
+                throw new IllegalStateException("Pipeline is closed");
+            }
+            idle();
+        }
+    }
+
+    /**
+     * Returns the sequence of the latest applied command; commands are applied in sequence order.
+     *
+     * @return the applied sequence
+     */
+    public long getAppliedSequence() {
+        return applied.get();
+    }
+
+    /**
+     * Returns the number of commands published but not applied yet.
+     *
+     * @return the backlog
+     */
+    public int getBacklog() {
+        return (int) ((claimed.get() & ~SEALED) - applied.get());
+    }
+
+    /**
+     * Returns the number of applied commands the scoreboard refused, such as updates of
+     * matches that are not live.
+     *
+     * @return the number of refused commands
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the first exception thrown while applying a command; the command counts as refused.
+     *
+     * @return the exception, or null if no command threw
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops accepting commands, waits until the published ones are applied and stops the
+     * writer thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long publish(byte type, String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
+        long sequence;
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Pipeline is closed");
+            }
+            long last = claimed.get();
+            if ((last & SEALED) != 0) {
+                throw new IllegalStateException("Pipeline is closed");
+            }
+            if (last - applied.get() > mask) {
+                // Full: wait for the writer to free a slot
+                idle();
+            } else if (claimed.compareAndSet(last, last + 1)) {
+                sequence = last + 1;
+                break;
+            }
+        }
+        int slot = (int) (sequence - 1) & mask;
+        Command command = ring[slot];
+        command.type = type;
+        command.homeTeamName = homeTeamName;
+        command.awayTeamName = awayTeamName;
+        command.homeScore = homeScore;
+        command.awayScore = awayScore;
+        published.lazySet(slot, sequence);
+        return sequence;
+    }
+
+    private void drainLoop() {
+        try {
+            drain();
+        } finally {
+            // Also when the writer dies of an error: producers must not wait for it
+            closed = true;
+        }
+    }
+
+    private void drain() {
+        long next = 1;
+        while (true) {
+            long end = next;
+            while (published.get((int) (end - 1) & mask) == end) {
+                apply(ring[(int) (end - 1) & mask]);
+                end++;
+                if (end - next > mask) {
+                    break;
+                }
+            }
+            if (end > next) {
+                // One store frees the whole batch
+                applied.lazySet(end - 1);
+                next = end;
+            } else if (closed && claimed.compareAndSet(next - 1, (next - 1) | SEALED)) {
+                // A producer that saw the pipeline open either claimed before this, and is
+                // drained, or fails to claim now
+                return;
+            } else {
+                idle();
+            }
+        }
+    }
+
+    private void apply(Command command) {
+        Scoreboard.Status status;
+        try {
+            switch (command.type) {
+                case START:
+                    status = scoreboard.tryStartGame(command.homeTeamName, command.awayTeamName);
+                    break;
+                case UPDATE:
+                    status = scoreboard.tryUpdateScore(command.homeTeamName, command.awayTeamName,
+                            command.homeScore, command.awayScore);
+                    break;
+                default:
+                    status = scoreboard.tryFinishGame(command.homeTeamName, command.awayTeamName);
+            }
+        } catch (RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            status = null;
+        }
+        if (status != Scoreboard.Status.OK) {
+            rejected.lazySet(rejected.get() + 1);
+        }
+        // Let the names be collected before the slot is reused
+        command.homeTeamName = null;
+        command.awayTeamName = null;
+    }
+
+    private void idle() {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            default:
+                LockSupport.parkNanos(1);
+        }
+    }
+
+    /**
+     * A reusable ring slot.
+     */
+    private static final class Command {
+        byte type;
+        String homeTeamName;
+        String awayTeamName;
+        int homeScore;
+        int awayScore;
+    }
+}
@@ -0,0 +1,247 @@
+package com.sportradar.scoreboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Scoreboard partitioned into independent shards, so that writes scale with the number
+ * of cores instead of contending on one board.
+ * <p>
+ * Each match lives on the shard chosen by hashing its team pair. A shard is a plain
+ * {@link Scoreboard} driven by its own single writer thread: operations are queued to
+ * that thread and complete the returned future once applied. Creation order comes from
+ * one sequence shared by all shards, taken when the caller starts the game, so the summary
+ * order is the same as on a single board fed in the order of the calls.
+ * <p>
+ * The summary merges the ordered summaries of all shards. Each shard's part is a
+ * consistent snapshot, but shards are read one after another, so a summary taken while
+ * games are being changed may show some of those changes and not others.
+ */
+public final class ScoreboardRegistry implements AutoCloseable {
+    private final Shard[] shards;
+    private final AtomicLong orderCounter;
+
+    /**
+     * Creates a new empty registry with one shard per available processor.
+     */
+    public ScoreboardRegistry() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new empty registry.
+     *
+     * @param shardCount the number of shards, each with its own writer thread
+     * @throws IllegalArgumentException if shardCount is not positive
+     */
+    public ScoreboardRegistry(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        this.orderCounter = new AtomicLong();
+    }
+
+    /**
+     * Starts a new game with initial score 0-0.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return a future completed with a view of the created match, or exceptionally
+     *         with the exception {@link Scoreboard#startGame(String, String)} would throw
+     * @throws IllegalArgumentException if team names are invalid
+     * @throws IllegalStateException if this registry is closed
+     */
+    public CompletableFuture<MatchView> startGame(String homeTeamName, String awayTeamName) {
+        Shard shard = shardFor(homeTeamName, awayTeamName);
+        // Taken on the caller's thread: shards run their queues independently
+        long creationOrder = orderCounter.getAndIncrement();
+        return submit(shard, scoreboard -> scoreboard.startGame(homeTeamName, awayTeamName, creationOrder).view());
+    }
+
+    /**
+     * Updates the score of an existing match.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @param homeScore the new home team score
+     * @param awayScore the new away team score
+     * @return a future completed once the score is updated, or exceptionally with the
+     *         exception {@link Scoreboard#updateScore(String, String, int, int)} would throw
+     * @throws IllegalArgumentException if team names are invalid
+     * @throws IllegalStateException if this registry is closed
+     */
+    public CompletableFuture<Void> updateScore(String homeTeamName, String awayTeamName, int homeScore, int awayScore) {
+        return submit(shardFor(homeTeamName, awayTeamName), scoreboard -> {
+            scoreboard.updateScore(homeTeamName, awayTeamName, homeScore, awayScore);
+            return null;
+        });
+    }
+
+    /**
+     * Finishes a game and removes it from the registry.
+     *
+     * @param homeTeamName the home team name
+     * @param awayTeamName the away team name
+     * @return a future completed once the game is finished, or exceptionally with the
+     *         exception {@link Scoreboard#finishGame(String, String)} would throw
+     * @throws IllegalArgumentException if team names are invalid
+     * @throws IllegalStateException if this registry is closed
+     */
+    public CompletableFuture<Void> finishGame(String homeTeamName, String awayTeamName) {
+        return submit(shardFor(homeTeamName, awayTeamName), scoreboard -> {
+            scoreboard.finishGame(homeTeamName, awayTeamName);
+            return null;
+        });
+    }
+
+    /**
+     * Returns all matches of all shards, in the same order as {@link Scoreboard#getSummary()}.
+     *
+     * @return views of the matches in summary order
+     * @throws IllegalStateException if this registry is closed
+     */
+    public List<MatchView> getSummary() {
+        return collect(Scoreboard::getSummary, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first {@code n} matches of the summary. Reads at most {@code n} matches
+     * from each shard.
+     *
+     * @param n the maximum number of matches to return
+     * @return views of at most n matches in summary order
+     * @throws IllegalArgumentException if n is negative
+     * @throws IllegalStateException if this registry is closed
+     */
+    public List<MatchView> getTopN(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of matches cannot be negative");
+        }
+        return collect(scoreboard -> scoreboard.getTopN(n), n);
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Stops the writer threads once the operations already queued have been applied.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.writer.shutdown();
+        }
+        boolean interrupted = false;
+        for (Shard shard : shards) {
+            try {
+                shard.writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<MatchView> collect(Function<Scoreboard, List<Match>> query, int limit) {
+        List<CompletableFuture<MatchView[]>> parts = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            parts.add(submit(shard, scoreboard -> {
+                List<Match> matches = query.apply(scoreboard);
+                MatchView[] views = new MatchView[matches.size()];
+                for (int i = 0; i < views.length; i++) {
+                    views[i] = matches.get(i).view();
+                }
+                return views;
+            }));
+        }
+        MatchView[][] ordered = new MatchView[parts.size()][];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = parts.get(i).join();
+        }
+        return merge(ordered, limit);
+    }
+
+    /**
+     * Merges lists that are each in summary order into one list in summary order.
+     *
+     * @param parts the lists to merge, each in summary order
+     * @param limit the maximum number of matches to return
+     * @return a new list with the first {@code limit} matches of all lists
+     */
+    static List<MatchView> merge(MatchView[][] parts, int limit) {
+        int total = 0;
+        for (MatchView[] part : parts) {
+            total += part.length;
+        }
+        List<MatchView> result = new ArrayList<>(Math.min(total, limit));
+        int[] positions = new int[parts.length];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, parts.length),
+                (a, b) -> SummaryIndex.VIEW_ORDER.compare(parts[a][positions[a]], parts[b][positions[b]]));
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].length > 0) {
+                heads.add(i);
+            }
+        }
+        while (!heads.isEmpty() && result.size() < limit) {
+            int i = heads.poll();
+            result.add(parts[i][positions[i]++]);
+            if (positions[i] < parts[i].length) {
+                heads.add(i);
+            }
+        }
+        return result;
+    }
+
+    private <T> CompletableFuture<T> submit(Shard shard, Function<Scoreboard, T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(() -> operation.apply(shard.scoreboard), shard.writer);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Scoreboard registry is closed", e);
+        }
+    }
+
+    private Shard shardFor(String homeTeamName, String awayTeamName) {
+        if (!Team.isValidName(homeTeamName) || !Team.isValidName(awayTeamName)) {
+            throw new IllegalArgumentException("Team name cannot be null or empty");
+        }
+        // By name: each shard numbers its teams on its own
+        int h = 31 * homeTeamName.hashCode() + awayTeamName.hashCode();
+        return shards[Math.floorMod(h ^ (h >>> 16), shards.length)];
+    }
+
+    /**
+     * A scoreboard and the only thread allowed to use it.
+     */
+    private static final class Shard {
+        private final Scoreboard scoreboard = new Scoreboard();
+        private final ExecutorService writer;
+
+        Shard(int index) {
+            this.writer = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "scoreboard-shard-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.sportradar.scoreboard;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica of a scoreboard streamed by a {@link ScoreboardReplicator}.
+ * <p>
+ * The replica keeps its own {@link Scoreboard}, applies the primary's changes to it in order on
+ * a background thread, and publishes a {@link SummarySnapshot} once per batch of changes read
+ * from the connection, so that any number of threads can read it without locking. Matches keep
+ * the primary's creation orders, so the summary is ordered exactly as on the primary once
+ * {@link #getAppliedSequence()} reaches {@link ScoreboardReplicator#getSequence()}.
+ * <p>
+ * {@link #getLagMillis()} tells how far behind the primary the replica may be: the time since
+ * the primary sent the last change or heartbeat applied, measured on both machines' clocks.
+ * A replica does not reconnect: once {@link #isConnected()} turns false, open a new one.
+ */
+public final class ScoreboardReplica implements Closeable {
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final Scoreboard scoreboard = new Scoreboard();
+    private final Thread receiver;
+    private final Object lock = new Object();
+    // Bytes received, in write mode; frames before frameStart were applied
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private int frameStart;
+    private volatile SummarySnapshot snapshot;
+    private volatile long appliedSequence;
+    private volatile long primaryMillis;
+    private volatile boolean connected = true;
+    private volatile Exception failure;
+
+    /**
+     * Connects to a primary and loads its live matches; later changes are applied in the background.
+     *
+     * @param primary the address of the primary's replicator
+     * @throws IllegalArgumentException if primary is null
+     * @throws IOException if the primary cannot be reached or its stream cannot be read
+     */
+    public ScoreboardReplica(InetSocketAddress primary) throws IOException {
+        if (primary == null) {
+            throw new IllegalArgumentException("Primary address cannot be null");
+        }
+        this.channel = SocketChannel.open(primary);
+        try {
+            loadSnapshot();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.receiver = new Thread(this::receiveLoop, "scoreboard-replica");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    /**
+     * Returns the summary as of the latest applied batch of changes. May be called from any thread.
+     *
+     * @return the latest snapshot
+     */
+    public SummarySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the matches in summary order, as of the latest applied batch of changes.
+     * May be called from any thread.
+     *
+     * @return an unmodifiable list of immutable views
+     */
+    public List<MatchView> getSummary() {
+        return snapshot.getMatches();
+    }
+
+    /**
+     * Returns the sequence of the latest change visible through {@link #getSnapshot()}.
+     *
+     * @return the applied sequence
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Returns the time since the primary sent the latest change or heartbeat this replica
+     * applied; it stays within the heartbeat interval, plus transfer time, while the replica
+     * keeps up.
+     *
+     * @return the replication lag in milliseconds
+     */
+    public long getLagMillis() {
+        return Math.max(0, System.currentTimeMillis() - primaryMillis);
+    }
+
+    /**
+     * Waits until the changes up to a sequence are visible, for example to read after a write
+     * made on the primary.
+     *
+     * @param sequence the primary sequence to wait for
+     * @param timeoutMillis the longest time to wait
+     * @return whether the sequence was reached
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        synchronized (lock) {
+            while (appliedSequence < sequence) {
+                long waitMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                if (waitMillis <= 0 || !connected) {
+                    return false;
+                }
+                lock.wait(waitMillis);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns whether the replica still receives changes from the primary.
+     *
+     * @return false once the connection was closed or the stream could not be applied
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Returns why the replica stopped receiving changes, if it was not closed by {@link #close()}.
+     *
+     * @return the failure, or null
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    /**
+     * Disconnects from the primary. The last snapshot stays readable.
+     *
+     * @throws IOException if the connection cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        connected = false;
+        channel.close();
+        try {
+            receiver.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the live matches sent on connection, in summary order, up to the frame that
+     * marks them current.
+     */
+    private void loadSnapshot() throws IOException {
+        List<Match> restored = new ArrayList<>();
+        while (true) {
+            ByteBuffer frame = nextFrame();
+            byte type = frame.get();
+            long sequence = frame.getLong();
+            long sentMillis = frame.getLong();
+            if (type == ScoreboardReplicator.SYNCED) {
+                scoreboard.restoreGames(restored);
+                publish(sequence, sentMillis);
+                return;
+            }
+            if (type != ScoreboardReplicator.RESTORE) {
+                throw new IOException("Unexpected replication frame type before sync: " + type);
+            }
+            long creationOrder = frame.getLong();
+            Team home = scoreboard.internTeam(ScoreboardJournal.getName(frame));
+            Team away = scoreboard.internTeam(ScoreboardJournal.getName(frame));
+            Match match = new Match(home, away, creationOrder);
+            match.updateScore(frame.getInt(), frame.getInt());
+            restored.add(match);
+        }
+    }
+
+    private void receiveLoop() {
+        try {
+            while (true) {
+                long sequence = appliedSequence;
+                long sentMillis = primaryMillis;
+                // Apply every frame already received, then publish them at once
+                do {
+                    ByteBuffer frame = nextFrame();
+                    byte type = frame.get();
+                    long frameSequence = frame.getLong();
+                    sentMillis = frame.getLong();
+                    if (type == ScoreboardReplicator.HEARTBEAT) {
+                        continue;
+                    }
+                    if (frameSequence != sequence + 1) {
+                        throw new IOException(String.format("Replication gap: expected sequence %d but got %d",
+                                sequence + 1, frameSequence));
+                    }
+                    apply(type, frame);
+                    sequence = frameSequence;
+                } while (hasFrame());
+                publish(sequence, sentMillis);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (connected) {
+                failure = e;
+            }
+        } finally {
+            synchronized (lock) {
+                connected = false;
+                lock.notifyAll();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already stopped receiving
+            }
+        }
+    }
+
+    private void apply(byte type, ByteBuffer frame) {
+        switch (type) {
+            case ScoreboardReplicator.START: {
+                long creationOrder = frame.getLong();
+                scoreboard.restoreGame(ScoreboardJournal.getName(frame), ScoreboardJournal.getName(frame),
+                        creationOrder, 0, 0);
+                break;
+            }
+            case ScoreboardReplicator.UPDATE:
+                scoreboard.updateScore(ScoreboardJournal.getName(frame), ScoreboardJournal.getName(frame),
+                        frame.getInt(), frame.getInt());
+                break;
+            case ScoreboardReplicator.FINISH:
+                scoreboard.finishGame(ScoreboardJournal.getName(frame), ScoreboardJournal.getName(frame));
+                break;
+            default:
+                throw new IllegalStateException("Unknown replication frame type: " + type);
+        }
+    }
+
+    private void publish(long sequence, long sentMillis) {
+        snapshot = scoreboard.currentSummary();
+        primaryMillis = sentMillis;
+        synchronized (lock) {
+            appliedSequence = sequence;
+            lock.notifyAll();
+        }
+    }
+
+    private boolean hasFrame() {
+        int available = buffer.position() - frameStart;
+        return available >= 4 && available >= 4 + buffer.getInt(frameStart);
+    }
+
+    /**
+     * Returns the payload of the next frame, reading from the connection until it is complete.
+     * The payload stays valid until the next call.
+     */
+    private ByteBuffer nextFrame() throws IOException {
+        if (!hasFrame()) {
+            // Move the partial frame to the front, making room for the rest of it
+            int available = buffer.position() - frameStart;
+            System.arraycopy(buffer.array(), frameStart, buffer.array(), 0, available);
+            buffer.position(available);
+            frameStart = 0;
+            do {
+                if (available >= 4 && 4 + buffer.getInt(0) > buffer.capacity()) {
+                    ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * buffer.capacity(), 4 + buffer.getInt(0)));
+                    buffer.flip();
+                    buffer = larger.put(buffer);
+                }
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Primary closed the replication stream");
+                }
+                available = buffer.position();
+            } while (!hasFrame());
+        }
+        int length = buffer.getInt(frameStart);
+        ByteBuffer frame = ByteBuffer.wrap(buffer.array(), frameStart + 4, length).slice();
+        frameStart += 4 + length;
+        return frame;
+    }
+}
@@ -0,0 +1,472 @@
+package com.sportradar.scoreboard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primary side of replication: streams every change made to a {@link Scoreboard} to
+ * {@link ScoreboardReplica}s connected over TCP, so that they can serve reads.
+ * <p>
+ * A replica that connects first receives the live matches, with their creation orders, and
+ * then every later change in the order the primary made them, each numbered by a sequence.
+ * Replicas therefore order their summary exactly like the primary, ties included.
+ * <p>
+ * Changes are encoded on the writer thread into each replica's pending buffer; one thread
+ * per replica writes them out, so a slow replica never stalls the writer. A replica whose
+ * pending bytes exceed {@code maxPendingBytes} is disconnected and must connect again.
+ * While no change is pending, a heartbeat is sent every {@code heartbeatMillis} so that
+ * idle replicas can tell how current they are.
+ * <p>
+ * Each frame is {@code [int payload length][payload]}; the payload is a type byte, the
+ * sequence and the primary's clock in milliseconds as longs, then the fields of the change,
+ * team names being encoded as in {@link ScoreboardJournal}.
+ * <p>
+ * A change whose team names cannot be encoded, being over 64 KiB, cannot be streamed: the
+ * replicator then fails closed, disconnecting every replica and accepting no more, rather than
+ * let them miss a change unnoticed. {@link #getFailure()} tells why.
+ * <p>
+ * Must be created on the scoreboard's writer thread, after any recovery, since restored
+ * matches do not reach listeners. Closing stops the stream; the replicator should then be
+ * removed from the scoreboard's listeners.
+ */
+public final class ScoreboardReplicator implements ScoreboardListener, Closeable {
+    /**
+     * Default interval between heartbeats to idle replicas.
+     */
+    public static final long DEFAULT_HEARTBEAT_MILLIS = 100;
+
+    /**
+     * Default number of bytes a replica may fall behind before it is disconnected.
+     */
+    public static final int DEFAULT_MAX_PENDING_BYTES = 16 * 1024 * 1024;
+
+    static final byte RESTORE = 1;
+    static final byte SYNCED = 2;
+    static final byte START = 3;
+    static final byte UPDATE = 4;
+    static final byte FINISH = 5;
+    static final byte HEARTBEAT = 6;
+
+    static final int FRAME_HEADER_BYTES = 4 + 1 + 8 + 8;
+
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final long heartbeatMillis;
+    private final int maxPendingBytes;
+    private final ServerSocketChannel server;
+    private final Thread acceptor;
+
+    // Guards the fields below and every replica's buffers
+    private final Object lock = new Object();
+    private final Map<Match, Match> live = new IdentityHashMap<>();
+    private final List<Replica> replicas = new ArrayList<>();
+    private ByteBuffer frame = ByteBuffer.allocate(256);
+    private long sequence;
+    private boolean closed;
+    private IllegalStateException failure;
+
+    /**
+     * Starts replicating a scoreboard, with the default heartbeat and backlog limit.
+     *
+     * @param scoreboard the primary scoreboard
+     * @param address the address to accept replicas on; port 0 picks a free port
+     * @throws IllegalArgumentException if scoreboard or address is null
+     * @throws IOException if the address cannot be bound
+     */
+    public ScoreboardReplicator(Scoreboard scoreboard, InetSocketAddress address) throws IOException {
+        this(scoreboard, address, DEFAULT_HEARTBEAT_MILLIS, DEFAULT_MAX_PENDING_BYTES);
+    }
+
+    /**
+     * Starts replicating a scoreboard.
+     *
+     * @param scoreboard the primary scoreboard
+     * @param address the address to accept replicas on; port 0 picks a free port
+     * @param heartbeatMillis the interval between heartbeats to idle replicas
+     * @param maxPendingBytes the number of bytes a replica may fall behind before it is disconnected
+     * @throws IllegalArgumentException if scoreboard or address is null, or a limit is not positive
+     * @throws IOException if the address cannot be bound
+     */
+    public ScoreboardReplicator(Scoreboard scoreboard, InetSocketAddress address, long heartbeatMillis,
+                                int maxPendingBytes) throws IOException {
+        if (scoreboard == null || address == null) {
+            throw new IllegalArgumentException("Scoreboard and address cannot be null");
+        }
+        if (heartbeatMillis <= 0 || maxPendingBytes <= 0) {
+            throw new IllegalArgumentException("Heartbeat interval and pending limit must be positive");
+        }
+        this.heartbeatMillis = heartbeatMillis;
+        this.maxPendingBytes = maxPendingBytes;
+        for (Match match : scoreboard.getSummary()) {
+            live.put(match, match.copy());
+        }
+        this.server = ServerSocketChannel.open();
+        server.bind(address);
+        scoreboard.addListener(this);
+        this.acceptor = new Thread(this::acceptLoop, "scoreboard-replicator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @Override
+    public void onGameStarted(Match match) {
+        byte[] home = encode(match.getHomeTeam());
+        byte[] away = encode(match.getAwayTeam());
+        if (home == null || away == null) {
+            return;
+        }
+        synchronized (lock) {
+            live.put(match, match.copy());
+            ByteBuffer buffer = beginFrame(START, ++sequence, 8 + 4 + home.length + away.length);
+            buffer.putLong(match.getCreationOrder());
+            ScoreboardJournal.putName(buffer, home);
+            ScoreboardJournal.putName(buffer, away);
+            send();
+        }
+    }
+
+    @Override
+    public void onScoreUpdated(Match match) {
+        byte[] home = encode(match.getHomeTeam());
+        byte[] away = encode(match.getAwayTeam());
+        if (home == null || away == null) {
+            return;
+        }
+        synchronized (lock) {
+            live.get(match).updateScore(match.getHomeScore(), match.getAwayScore());
+            ByteBuffer buffer = beginFrame(UPDATE, ++sequence, 4 + home.length + away.length + 8);
+            ScoreboardJournal.putName(buffer, home);
+            ScoreboardJournal.putName(buffer, away);
+            buffer.putInt(match.getHomeScore()).putInt(match.getAwayScore());
+            send();
+        }
+    }
+
+    @Override
+    public void onGameFinished(Match match) {
+        byte[] home = encode(match.getHomeTeam());
+        byte[] away = encode(match.getAwayTeam());
+        if (home == null || away == null) {
+            return;
+        }
+        synchronized (lock) {
+            live.remove(match);
+            ByteBuffer buffer = beginFrame(FINISH, ++sequence, 4 + home.length + away.length);
+            ScoreboardJournal.putName(buffer, home);
+            ScoreboardJournal.putName(buffer, away);
+            send();
+        }
+    }
+
+    /**
+     * Returns the address replicas connect to.
+     *
+     * @return the bound address
+     * @throws IOException if the replicator is closed
+     */
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    /**
+     * Returns the sequence of the latest change, which a replica has applied once its
+     * {@link ScoreboardReplica#getAppliedSequence()} reaches it.
+     *
+     * @return the latest sequence; 0 before the first change
+     */
+    public long getSequence() {
+        synchronized (lock) {
+            return sequence;
+        }
+    }
+
+    /**
+     * Returns the number of connected replicas.
+     *
+     * @return the number of replicas
+     */
+    public int getReplicaCount() {
+        synchronized (lock) {
+            return replicas.size();
+        }
+    }
+
+    /**
+     * Returns why the replicator stopped streaming on its own.
+     *
+     * @return the failure, or null while the replicator streams or once closed normally
+     */
+    public IllegalStateException getFailure() {
+        synchronized (lock) {
+            return failure;
+        }
+    }
+
+    /**
+     * Stops accepting replicas and disconnects the connected ones. Changes made afterwards
+     * are no longer streamed.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        List<Replica> disconnected;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            disconnected = new ArrayList<>(replicas);
+            replicas.clear();
+            lock.notifyAll();
+        }
+        server.close();
+        for (Replica replica : disconnected) {
+            replica.disconnect();
+        }
+        try {
+            acceptor.join();
+            for (Replica replica : disconnected) {
+                replica.sender.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptLoop() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (IOException e) {
+                // Closed
+                return;
+            }
+            try {
+                channel.socket().setTcpNoDelay(true);
+            } catch (IOException e) {
+                closeQuietly(channel);
+                continue;
+            }
+            synchronized (lock) {
+                if (closed) {
+                    closeQuietly(channel);
+                    return;
+                }
+                Replica replica = new Replica(channel);
+                replica.pending = encodeSnapshot(replica.pending);
+                if (replica.pending == null) {
+                    closeQuietly(channel);
+                    return;
+                }
+                replicas.add(replica);
+                replica.sender.start();
+            }
+        }
+    }
+
+    /**
+     * Encodes the live matches in summary order, followed by the sequence they are current
+     * as of; caller holds {@link #lock}.
+     *
+     * @return the buffer, or null if a name cannot be encoded and the replicator failed
+     */
+    private ByteBuffer encodeSnapshot(ByteBuffer buffer) {
+        List<Match> ordered = new ArrayList<>(live.values());
+        ordered.sort(SummaryIndex.ORDER);
+        for (Match match : ordered) {
+            byte[] home = encode(match.getHomeTeam());
+            byte[] away = encode(match.getAwayTeam());
+            if (home == null || away == null) {
+                return null;
+            }
+            frame = beginFrame(RESTORE, sequence, 8 + 4 + home.length + away.length + 8);
+            frame.putLong(match.getCreationOrder());
+            ScoreboardJournal.putName(frame, home);
+            ScoreboardJournal.putName(frame, away);
+            frame.putInt(match.getHomeScore()).putInt(match.getAwayScore());
+            buffer = append(buffer, endFrame());
+        }
+        beginFrame(SYNCED, sequence, 0);
+        return append(buffer, endFrame());
+    }
+
+    /**
+     * Starts a frame in the shared frame buffer; caller holds {@link #lock}.
+     */
+    private ByteBuffer beginFrame(byte type, long frameSequence, int fieldBytes) {
+        frame.clear();
+        frame = ScoreboardJournal.ensureCapacity(frame, FRAME_HEADER_BYTES + fieldBytes);
+        frame.putInt(FRAME_HEADER_BYTES - 4 + fieldBytes)
+                .put(type)
+                .putLong(frameSequence)
+                .putLong(System.currentTimeMillis());
+        return frame;
+    }
+
+    private ByteBuffer endFrame() {
+        frame.flip();
+        return frame;
+    }
+
+    /**
+     * Queues the frame in the shared buffer to every replica, dropping those too far
+     * behind; caller holds {@link #lock}.
+     */
+    private void send() {
+        if (closed || replicas.isEmpty()) {
+            return;
+        }
+        ByteBuffer encoded = endFrame();
+        for (int i = replicas.size() - 1; i >= 0; i--) {
+            Replica replica = replicas.get(i);
+            if (replica.pending.position() + encoded.remaining() > maxPendingBytes) {
+                replicas.remove(i);
+                replica.disconnect();
+                continue;
+            }
+            replica.pending = append(replica.pending, encoded.duplicate());
+        }
+        lock.notifyAll();
+    }
+
+    /**
+     * Encodes a team name for a frame, failing the replicator closed if it is too long.
+     *
+     * @return the name's bytes, or null if the replicator failed
+     */
+    private byte[] encode(Team team) {
+        try {
+            return ScoreboardJournal.encode(team);
+        } catch (IllegalArgumentException e) {
+            fail(e);
+            return null;
+        }
+    }
+
+    /**
+     * Stops streaming for good: replicas that missed a change must not carry on as if
+     * they were current. Caller may hold {@link #lock}.
+     */
+    private void fail(IllegalArgumentException cause) {
+        synchronized (lock) {
+            if (failure == null) {
+                failure = new IllegalStateException("Replication stopped: " + cause.getMessage(), cause);
+            }
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Replica replica : replicas) {
+                replica.disconnect();
+            }
+            replicas.clear();
+            lock.notifyAll();
+        }
+        try {
+            server.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static ByteBuffer append(ByteBuffer buffer, ByteBuffer bytes) {
+        buffer = ScoreboardJournal.ensureCapacity(buffer, bytes.remaining());
+        return buffer.put(bytes);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to do with it
+        }
+    }
+
+    /**
+     * One connected replica and the thread that writes its pending frames.
+     */
+    private final class Replica {
+        final SocketChannel channel;
+        final Thread sender;
+        ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        boolean disconnected;
+
+        Replica(SocketChannel channel) {
+            this.channel = channel;
+            this.sender = new Thread(this::sendLoop, "scoreboard-replicator-sender");
+            sender.setDaemon(true);
+        }
+
+        private void sendLoop() {
+            while (true) {
+                ByteBuffer batch;
+                synchronized (lock) {
+                    long deadline = System.nanoTime() + heartbeatMillis * 1_000_000L;
+                    try {
+                        while (!disconnected && pending.position() == 0) {
+                            long waitMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                            if (waitMillis <= 0) {
+                                // All changes up to the current sequence were written already
+                                beginFrame(HEARTBEAT, sequence, 0);
+                                pending = append(pending, endFrame());
+                                break;
+                            }
+                            lock.wait(waitMillis);
+                        }
+                    } catch (InterruptedException e) {
+                        disconnected = true;
+                    }
+                    if (disconnected) {
+                        return;
+                    }
+                    batch = pending;
+                    pending = spare;
+                    spare = null;
+                }
+
+                try {
+                    batch.flip();
+                    while (batch.hasRemaining()) {
+                        channel.write(batch);
+                    }
+                    batch.clear();
+                } catch (IOException e) {
+                    synchronized (lock) {
+                        replicas.remove(this);
+                    }
+                    if (!(e instanceof ClosedChannelException)) {
+                        disconnect();
+                    }
+                    return;
+                }
+
+                synchronized (lock) {
+                    spare = batch;
+                }
+            }
+        }
+
+        /**
+         * Closes the connection; the sender stops at its next wake-up. Caller may hold {@link #lock}.
+         */
+        void disconnect() {
+            synchronized (lock) {
+                disconnected = true;
+                lock.notifyAll();
+            }
+            closeQuietly(channel);
+        }
+    }
+}
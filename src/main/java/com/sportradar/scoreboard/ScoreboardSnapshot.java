@@ -0,0 +1,196 @@
+package com.sportradar.scoreboard;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-layout binary snapshot of a {@link Scoreboard}, written and read through memory-mapped
+ * files so that a standby node can take over a large board without replaying its history.
+ * <p>
+ * Layout, little-endian:
+ * <pre>
+ * header        int magic, int version, long next creation order,
+ *               int team count, int match count, int name bytes, int reserved
+ * team offsets  (team count + 1) ints, offset of each team name in the name block
+ * names         UTF-8 team names, back to back, padded to a multiple of 8 bytes
+ * matches       per match: int home team id, int away team id,
+ *               int home score, int away score, long creation order
+ * </pre>
+ * Team ids are indexes into the team offsets. Matches are stored in summary order.
+ */
+public final class ScoreboardSnapshot {
+    private static final int MAGIC = 0x5342534E;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int MATCH_BYTES = 24;
+
+    private ScoreboardSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the scoreboard, replacing the file if it exists. The snapshot is
+     * written and forced to a temporary file next to it first, then moved over it atomically,
+     * so the file holds either the previous snapshot or the new one, never part of either.
+     *
+     * @param scoreboard the scoreboard to save
+     * @param path the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Scoreboard scoreboard, Path path) throws IOException {
+        List<Match> matches = scoreboard.getSummary();
+
+        Map<Team, Integer> teamIds = new HashMap<>();
+        List<byte[]> names = new ArrayList<>();
+        for (Match match : matches) {
+            addTeam(match.getHomeTeam(), teamIds, names);
+            addTeam(match.getAwayTeam(), teamIds, names);
+        }
+        int nameBytes = 0;
+        for (byte[] name : names) {
+            nameBytes += name.length;
+        }
+
+        int matchesOffset = align(HEADER_BYTES + 4 * (names.size() + 1) + nameBytes);
+        long size = matchesOffset + (long) MATCH_BYTES * matches.size();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(scoreboard.getNextCreationOrder())
+                    .putInt(names.size())
+                    .putInt(matches.size())
+                    .putInt(nameBytes)
+                    .putInt(0);
+
+            int offset = 0;
+            for (byte[] name : names) {
+                buffer.putInt(offset);
+                offset += name.length;
+            }
+            buffer.putInt(offset);
+            for (byte[] name : names) {
+                buffer.put(name);
+            }
+
+            buffer.position(matchesOffset);
+            for (Match match : matches) {
+                buffer.putInt(teamIds.get(match.getHomeTeam()))
+                        .putInt(teamIds.get(match.getAwayTeam()))
+                        .putInt(match.getHomeScore())
+                        .putInt(match.getAwayScore())
+                        .putLong(match.getCreationOrder());
+            }
+            buffer.force();
+            // The mapping does not cover the file's length
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Builds a new scoreboard from a snapshot file.
+     *
+     * @param path the snapshot file
+     * @return the restored scoreboard
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static Scoreboard load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Not a scoreboard snapshot: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a scoreboard snapshot: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported scoreboard snapshot version " + version + ": " + path);
+            }
+            long nextCreationOrder = buffer.getLong();
+            int teamCount = buffer.getInt();
+            int matchCount = buffer.getInt();
+            int nameBytes = buffer.getInt();
+            buffer.getInt();
+
+            int namesOffset = HEADER_BYTES + 4 * (teamCount + 1);
+            int matchesOffset = align(namesOffset + nameBytes);
+            if (teamCount < 0 || matchCount < 0 || nameBytes < 0
+                    || size != matchesOffset + (long) MATCH_BYTES * matchCount) {
+                throw new IOException("Corrupt scoreboard snapshot: " + path);
+            }
+
+            Scoreboard scoreboard = new Scoreboard(matchCount);
+            try {
+                Team[] teams = new Team[teamCount];
+                byte[] name = new byte[0];
+                int start = buffer.getInt(HEADER_BYTES);
+                for (int i = 0; i < teamCount; i++) {
+                    int end = buffer.getInt(HEADER_BYTES + 4 * (i + 1));
+                    int length = end - start;
+                    if (name.length < length) {
+                        name = new byte[length];
+                    }
+                    buffer.position(namesOffset + start);
+                    buffer.get(name, 0, length);
+                    teams[i] = scoreboard.internTeam(new String(name, 0, length, StandardCharsets.UTF_8));
+                    start = end;
+                }
+
+                List<Match> matches = new ArrayList<>(matchCount);
+                buffer.position(matchesOffset);
+                for (int i = 0; i < matchCount; i++) {
+                    Team homeTeam = teams[buffer.getInt()];
+                    Team awayTeam = teams[buffer.getInt()];
+                    int homeScore = buffer.getInt();
+                    int awayScore = buffer.getInt();
+                    Match match = new Match(homeTeam, awayTeam, buffer.getLong());
+                    match.updateScore(homeScore, awayScore);
+                    matches.add(match);
+                }
+                scoreboard.restoreGames(matches);
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt scoreboard snapshot: " + path, e);
+            }
+            scoreboard.advanceCreationOrder(nextCreationOrder);
+            return scoreboard;
+        }
+    }
+
+    private static void addTeam(Team team, Map<Team, Integer> teamIds, List<byte[]> names) {
+        if (!teamIds.containsKey(team)) {
+            teamIds.put(team, names.size());
+            names.add(team.getName().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+}
@@ -0,0 +1,133 @@
+package com.sportradar.scoreboard;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link ScoreboardMetrics} that keeps operation counts, failures by cause, a
+ * {@link LatencyHistogram} per operation and live-match gauges in memory, for an exporter
+ * or a health endpoint to read from any thread.
+ * <p>
+ * Every operation is counted, but by default only one in {@value #DEFAULT_SAMPLE_INTERVAL}
+ * is timed, which keeps the cost to a few nanoseconds per operation where reading the clock
+ * alone can take tens. An instance must only be installed on one scoreboard.
+ */
+public final class ScoreboardStats implements ScoreboardMetrics {
+    /**
+     * Number of operations per timed operation unless configured otherwise.
+     */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    private static final int FAILURES = Failure.values().length;
+
+    private final int sampleInterval;
+    private final AtomicLongArray counts;
+    private final LatencyHistogram[] latencies;
+    private final AtomicLongArray failures;
+    private final AtomicInteger liveMatches = new AtomicInteger();
+    private final AtomicInteger peakLiveMatches = new AtomicInteger();
+
+    /**
+     * Creates empty statistics timing one in {@value #DEFAULT_SAMPLE_INTERVAL} operations.
+     */
+    public ScoreboardStats() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param sampleInterval time one in this many operations, rounded up to a power of two; 1 to time all
+     * @throws IllegalArgumentException if sampleInterval is not positive
+     */
+    public ScoreboardStats(int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        this.sampleInterval = sampleInterval;
+        Operation[] operations = Operation.values();
+        this.counts = new AtomicLongArray(operations.length);
+        this.latencies = new LatencyHistogram[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        this.failures = new AtomicLongArray(operations.length * FAILURES);
+    }
+
+    @Override
+    public int latencySampleInterval() {
+        return sampleInterval;
+    }
+
+    @Override
+    public void recordOperation(Operation operation, long nanos) {
+        int i = operation.ordinal();
+        // Single writer: an ordered store is enough and avoids a locked instruction
+        counts.lazySet(i, counts.get(i) + 1);
+        if (nanos != UNTIMED) {
+            latencies[i].record(nanos);
+        }
+    }
+
+    @Override
+    public void recordFailure(Operation operation, Failure failure) {
+        failures.incrementAndGet(operation.ordinal() * FAILURES + failure.ordinal());
+    }
+
+    @Override
+    public void liveMatchesChanged(int live) {
+        liveMatches.lazySet(live);
+        if (live > peakLiveMatches.get()) {
+            peakLiveMatches.lazySet(live);
+        }
+    }
+
+    /**
+     * Returns the number of times an operation completed.
+     *
+     * @param operation the operation
+     * @return the number of completed operations
+     */
+    public long getCount(Operation operation) {
+        return counts.get(operation.ordinal());
+    }
+
+    /**
+     * Returns the number of times an operation was rejected for a given reason.
+     *
+     * @param operation the operation
+     * @param failure the reason
+     * @return the number of rejected operations
+     */
+    public long getFailures(Operation operation, Failure failure) {
+        return failures.get(operation.ordinal() * FAILURES + failure.ordinal());
+    }
+
+    /**
+     * Returns the latencies of the timed calls of an operation, in nanoseconds.
+     *
+     * @param operation the operation
+     * @return the live histogram; it keeps changing as operations complete
+     */
+    public LatencyHistogram getLatency(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * Returns the number of live matches.
+     *
+     * @return the number of live matches
+     */
+    public int getLiveMatches() {
+        return liveMatches.get();
+    }
+
+    /**
+     * Returns the highest number of live matches seen since these statistics were installed.
+     *
+     * @return the peak number of live matches
+     */
+    public int getPeakLiveMatches() {
+        return peakLiveMatches.get();
+    }
+}
@@ -0,0 +1,70 @@
+package com.sportradar.scoreboard;
+
+/**
+ * Position in the summary order, just after a given match. Used to request the next page
+ * of the summary, see {@link Scoreboard#getSummaryPage(SummaryCursor, int)}.
+ * <p>
+ * A cursor identifies a position rather than a match: if scores change between two page
+ * requests, matches that moved across the cursor may be skipped or returned twice.
+ */
+public final class SummaryCursor {
+    private final int totalScore;
+    private final long creationOrder;
+
+    /**
+     * Creates a cursor positioned just after a match with the given total score and creation order.
+     *
+     * @param totalScore the total score of the last match already seen
+     * @param creationOrder the creation order of the last match already seen
+     */
+    public SummaryCursor(int totalScore, long creationOrder) {
+        this.totalScore = totalScore;
+        this.creationOrder = creationOrder;
+    }
+
+    /**
+     * Creates a cursor positioned just after the given match.
+     *
+     * @param match the last match already seen
+     * @return the cursor
+     */
+    public static SummaryCursor after(Match match) {
+        return new SummaryCursor(match.getTotalScore(), match.getCreationOrder());
+    }
+
+    /**
+     * Returns the total score of the last match already seen.
+     *
+     * @return the total score
+     */
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    /**
+     * Returns the creation order of the last match already seen.
+     *
+     * @return the creation order
+     */
+    public long getCreationOrder() {
+        return creationOrder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SummaryCursor cursor = (SummaryCursor) o;
+        return totalScore == cursor.totalScore && creationOrder == cursor.creationOrder;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * totalScore + Long.hashCode(creationOrder);
+    }
+
+    @Override
+    public String toString() {
+        return totalScore + ":" + creationOrder;
+    }
+}
@@ -0,0 +1,141 @@
+package com.sportradar.scoreboard;
+
+/**
+ * One change to the summary of a {@link Scoreboard}, as pushed to subscribers of
+ * {@link Scoreboard#subscribe(java.util.concurrent.Flow.Subscriber)}.
+ * <p>
+ * Ranks are zero-based positions in the summary. {@link #getOldRank()} is the position
+ * before the change and {@link #getNewRank()} the position after it; a change that
+ * moves one match also shifts the matches in between, which is not reported separately.
+ * Deltas are meant to be replayed in delivery order: removing the match at its old rank,
+ * if any, then inserting it at its new rank, if any, turns the previous summary into the
+ * next one. A {@link Type#RESET} clears the replayed summary.
+ */
+public final class SummaryDelta {
+
+    /**
+     * Kinds of change.
+     */
+    public enum Type {
+        /** A match was added to the summary; only the new rank is set. */
+        INSERTED,
+        /** A match left the summary; only the old rank is set. */
+        REMOVED,
+        /** The score of a match changed and so did its rank. */
+        MOVED,
+        /** The score of a match changed but its rank did not. */
+        SCORE_CHANGED,
+        /**
+         * The subscriber fell too far behind and the deltas it missed were dropped: the summary
+         * is to be cleared, and the {@link #INSERTED} deltas that follow rebuild it. Has no match.
+         */
+        RESET
+    }
+
+    /**
+     * Rank reported for the side of a change where the match is not in the summary.
+     */
+    public static final int NO_RANK = -1;
+
+    private final Type type;
+    private final MatchView match;
+    private final int oldRank;
+    private final int newRank;
+    private final long version;
+
+    SummaryDelta(Type type, MatchView match, int oldRank, int newRank, long version) {
+        this.type = type;
+        this.match = match;
+        this.oldRank = oldRank;
+        this.newRank = newRank;
+        this.version = version;
+    }
+
+    static SummaryDelta inserted(MatchView match, int newRank, long version) {
+        return new SummaryDelta(Type.INSERTED, match, NO_RANK, newRank, version);
+    }
+
+    static SummaryDelta reset(long version) {
+        return new SummaryDelta(Type.RESET, null, NO_RANK, NO_RANK, version);
+    }
+
+    static SummaryDelta removed(MatchView match, int oldRank, long version) {
+        return new SummaryDelta(Type.REMOVED, match, oldRank, NO_RANK, version);
+    }
+
+    static SummaryDelta changed(MatchView match, int oldRank, int newRank, long version) {
+        return new SummaryDelta(oldRank == newRank ? Type.SCORE_CHANGED : Type.MOVED,
+                match, oldRank, newRank, version);
+    }
+
+    /**
+     * Combines this delta with a later one for the same match, as if both changes had
+     * been a single one. Only valid if no other delta came between them, as the later
+     * ranks assume the summary those in between produced.
+     *
+     * @param later the later delta for the same match
+     * @return the combined delta, or null if the two cancel out
+     */
+    SummaryDelta then(SummaryDelta later) {
+        if (type == Type.INSERTED) {
+            return later.type == Type.REMOVED ? null : inserted(later.match, later.newRank, later.version);
+        }
+        if (later.type == Type.REMOVED) {
+            return removed(later.match, oldRank, later.version);
+        }
+        return changed(later.match, oldRank, later.newRank, later.version);
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return the type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the match as of this change; for a removal, as it was when it left the summary.
+     *
+     * @return the match, or null for a {@link Type#RESET}
+     */
+    public MatchView getMatch() {
+        return match;
+    }
+
+    /**
+     * Returns the rank of the match before the change.
+     *
+     * @return the old rank, or {@link #NO_RANK} for an insertion
+     */
+    public int getOldRank() {
+        return oldRank;
+    }
+
+    /**
+     * Returns the rank of the match after the change.
+     *
+     * @return the new rank, or {@link #NO_RANK} for a removal
+     */
+    public int getNewRank() {
+        return newRank;
+    }
+
+    /**
+     * Returns the scoreboard version this change produced.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        if (type == Type.RESET) {
+            return type + " (version " + version + ")";
+        }
+        return type + " " + match + " (" + oldRank + " -> " + newRank + ", version " + version + ")";
+    }
+}
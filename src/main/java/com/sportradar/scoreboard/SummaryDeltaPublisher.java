@@ -0,0 +1,299 @@
+package com.sportradar.scoreboard;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pushes {@link SummaryDelta summary deltas} of one scoreboard to its subscribers.
+ * <p>
+ * The writer only ever adds a delta to each subscription's pending queue, so a slow
+ * subscriber cannot stall it. Deltas are delivered on an executor, no faster than the
+ * subscriber requests them. While a subscriber is behind, consecutive deltas of the same
+ * match are merged into one; deltas of a match separated by others are not, since the
+ * ranks of those in between depend on the earlier change. Once the queue outgrows the
+ * number of live matches by more than {@value #SLACK}, it is replaced by a
+ * {@link SummaryDelta.Type#RESET} and the current summary, so the backlog stays bounded
+ * by the size of the summary.
+ * <p>
+ * {@link #subscribe}, {@link #offer} and {@link #hasSubscribers} must be called by the
+ * scoreboard's writer thread; subscriptions may be used from any thread.
+ */
+final class SummaryDeltaPublisher {
+    // As in SubmissionPublisher, the common pool only if it has more than one worker; otherwise
+    // one daemon thread, shared by every scoreboard, delivers all deltas
+    private static final Executor DEFAULT_EXECUTOR = ForkJoinPool.getCommonPoolParallelism() > 1
+            ? ForkJoinPool.commonPool()
+            : Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "scoreboard-deltas");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Number of pending deltas allowed beyond the number of live matches before a resync.
+     */
+    static final int SLACK = 16;
+
+    private final Supplier<MatchView[]> summary;
+    private DeltaSubscription[] subscriptions = new DeltaSubscription[0];
+
+    /**
+     * Creates a publisher.
+     *
+     * @param summary the current summary of the scoreboard, read on its writer thread to resync
+     *                subscribers that fell behind
+     */
+    SummaryDeltaPublisher(Supplier<MatchView[]> summary) {
+        this.summary = summary;
+    }
+
+    /**
+     * Adds a subscriber and queues the given deltas for it, describing the current summary.
+     *
+     * @param subscriber the subscriber
+     * @param executor the executor to deliver deltas on, or null for the default one
+     * @param initial the deltas to send first
+     * @throws IllegalArgumentException if subscriber is null
+     */
+    void subscribe(Flow.Subscriber<? super SummaryDelta> subscriber, Executor executor, SummaryDelta[] initial) {
+        if (subscriber == null) {
+            throw new IllegalArgumentException("Subscriber cannot be null");
+        }
+        prune();
+        for (DeltaSubscription subscription : subscriptions) {
+            if (subscription.subscriber == subscriber) {
+                subscriber.onError(new IllegalStateException("Subscriber is already subscribed"));
+                return;
+            }
+        }
+        DeltaSubscription subscription = new DeltaSubscription(subscriber,
+                executor == null ? DEFAULT_EXECUTOR : executor);
+        for (SummaryDelta delta : initial) {
+            subscription.offer(delta, Integer.MAX_VALUE);
+        }
+        DeltaSubscription[] updated = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        updated[subscriptions.length] = subscription;
+        subscriptions = updated;
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Tells whether any subscription is still active, so that the writer can skip
+     * building deltas nobody will receive.
+     *
+     * @return true if there is at least one active subscription
+     */
+    boolean hasSubscribers() {
+        if (subscriptions.length == 0) {
+            return false;
+        }
+        prune();
+        return subscriptions.length != 0;
+    }
+
+    /**
+     * Queues a delta for every active subscription, resyncing those whose backlog grew too
+     * long. Must be called once the change is applied, so that a resync includes it.
+     *
+     * @param delta the delta
+     * @param liveMatches the number of live matches after the change
+     */
+    void offer(SummaryDelta delta, int liveMatches) {
+        SummaryDelta[] resync = null;
+        int limit = liveMatches + SLACK;
+        for (DeltaSubscription subscription : subscriptions) {
+            if (!subscription.offer(delta, limit)) {
+                if (resync == null) {
+                    resync = resync(delta.getVersion());
+                }
+                subscription.resync(resync);
+            }
+        }
+    }
+
+    private SummaryDelta[] resync(long version) {
+        MatchView[] views = summary.get();
+        SummaryDelta[] resync = new SummaryDelta[views.length + 1];
+        resync[0] = SummaryDelta.reset(version);
+        for (int i = 0; i < views.length; i++) {
+            resync[i + 1] = SummaryDelta.inserted(views[i], i, version);
+        }
+        return resync;
+    }
+
+    private void prune() {
+        int active = 0;
+        for (DeltaSubscription subscription : subscriptions) {
+            if (!subscription.cancelled) {
+                active++;
+            }
+        }
+        if (active == subscriptions.length) {
+            return;
+        }
+        DeltaSubscription[] updated = new DeltaSubscription[active];
+        int i = 0;
+        for (DeltaSubscription subscription : subscriptions) {
+            if (!subscription.cancelled) {
+                updated[i++] = subscription;
+            }
+        }
+        subscriptions = updated;
+    }
+
+    /**
+     * One subscriber's pending deltas and demand. Delivery runs as a task on the executor
+     * that drains pending deltas while there is demand; at most one such task runs at a time.
+     */
+    private static final class DeltaSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super SummaryDelta> subscriber;
+        private final Executor executor;
+        // Pending deltas, oldest first; guarded by itself
+        private final ArrayDeque<SummaryDelta> pending = new ArrayDeque<>();
+        // Version of the summary last resynced to; deltas up to it are already included
+        private long resyncedVersion = -1;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean cancelled;
+        private long invalidRequest;
+        private volatile boolean invalid;
+
+        DeltaSubscription(Flow.Subscriber<? super SummaryDelta> subscriber, Executor executor) {
+            this.subscriber = subscriber;
+            this.executor = executor;
+        }
+
+        /**
+         * Queues a delta, merging it with the last pending one if both are of the same match.
+         *
+         * @return false if the queue is now longer than the limit and must be resynced
+         */
+        boolean offer(SummaryDelta delta, int limit) {
+            if (cancelled) {
+                return true;
+            }
+            synchronized (pending) {
+                if (delta.getVersion() <= resyncedVersion) {
+                    return true;
+                }
+                SummaryDelta last = pending.peekLast();
+                if (last != null && last.getType() != SummaryDelta.Type.RESET
+                        && last.getMatch().getCreationOrder() == delta.getMatch().getCreationOrder()) {
+                    pending.removeLast();
+                    SummaryDelta merged = last.then(delta);
+                    if (merged != null) {
+                        pending.addLast(merged);
+                    }
+                } else {
+                    pending.addLast(delta);
+                }
+                if (pending.size() > limit) {
+                    return false;
+                }
+            }
+            if (demand.get() > 0) {
+                schedule();
+            }
+            return true;
+        }
+
+        /**
+         * Replaces the pending deltas with a reset and the current summary.
+         */
+        void resync(SummaryDelta[] deltas) {
+            synchronized (pending) {
+                pending.clear();
+                pending.addAll(Arrays.asList(deltas));
+                resyncedVersion = deltas[0].getVersion();
+            }
+            if (demand.get() > 0) {
+                schedule();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = n;
+                invalid = true;
+            } else {
+                long current;
+                do {
+                    current = demand.get();
+                } while (!demand.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            synchronized (pending) {
+                pending.clear();
+            }
+        }
+
+        private void schedule() {
+            if (work.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancel();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    return;
+                }
+                if (invalid) {
+                    cancel();
+                    subscriber.onError(new IllegalArgumentException(
+                            String.format("Requested %d deltas; requests must be positive", invalidRequest)));
+                    return;
+                }
+                long requested = demand.get();
+                long delivered = 0;
+                while (delivered != requested) {
+                    SummaryDelta delta = poll();
+                    if (delta == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(delta);
+                    } catch (RuntimeException e) {
+                        cancel();
+                        return;
+                    }
+                    if (cancelled) {
+                        return;
+                    }
+                    delivered++;
+                }
+                if (delivered != 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-delivered);
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private SummaryDelta poll() {
+            synchronized (pending) {
+                return pending.pollFirst();
+            }
+        }
+    }
+}
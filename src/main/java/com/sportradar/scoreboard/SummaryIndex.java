@@ -0,0 +1,322 @@
+package com.sportradar.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Live ordering of the matches on a scoreboard, as required by the summary:
+ * total score descending, then most recently added first.
+ * <p>
+ * Implemented as a skip list threaded through the matches themselves, so that
+ * inserting, removing and re-positioning a match is O(log n) and does not allocate
+ * once the match has been inserted for the first time. A match must be removed
+ * before its score changes and inserted again afterwards.
+ * <p>
+ * Every link also records how many positions it skips, which gives the rank of a match
+ * in O(log n) as well. A link past the last match skips to the virtual position
+ * {@code size + 1}, so no link needs special treatment.
+ * <p>
+ * Not thread-safe.
+ */
+final class SummaryIndex {
+
+    /**
+     * Summary order: total score descending, then creation order descending.
+     */
+    static final Comparator<Match> ORDER = Comparator.comparingInt(Match::getTotalScore)
+            .thenComparingLong(Match::getCreationOrder)
+            .reversed();
+
+    /**
+     * {@link #ORDER} for match views.
+     */
+    static final Comparator<MatchView> VIEW_ORDER = Comparator.comparingInt(MatchView::getTotalScore)
+            .thenComparingLong(MatchView::getCreationOrder)
+            .reversed();
+
+    private static final int MAX_LEVEL = 16;
+
+    private final Match[] head = new Match[MAX_LEVEL];
+    private final int[] headWidths = new int[MAX_LEVEL];
+    private final Match[] update = new Match[MAX_LEVEL];
+    private final int[] updateRanks = new int[MAX_LEVEL];
+    private int level = 1;
+    private int size;
+
+    SummaryIndex() {
+        headWidths[0] = 1;
+    }
+
+    /**
+     * Inserts a match at the position given by its current score.
+     *
+     * @param match the match to insert; must not already be in this index
+     */
+    void insert(Match match) {
+        Match[] links = match.summaryLinks;
+        if (links == null) {
+            int height = randomLevel();
+            links = new Match[height];
+            match.summaryLinks = links;
+            match.summaryWidths = new int[height];
+        }
+        int[] widths = match.summaryWidths;
+        for (; level < links.length; level++) {
+            head[level] = null;
+            headWidths[level] = size + 1;
+        }
+
+        Match prev = null;
+        int rank = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            Match next = next(prev, i);
+            while (next != null && precedes(next, match)) {
+                rank += width(prev, i);
+                prev = next;
+                next = next.summaryLinks[i];
+            }
+            update[i] = prev;
+            updateRanks[i] = rank;
+        }
+
+        int matchRank = rank + 1;
+        for (int i = 0; i < level; i++) {
+            prev = update[i];
+            update[i] = null;
+            if (i < links.length) {
+                int skipped = matchRank - updateRanks[i];
+                links[i] = next(prev, i);
+                widths[i] = width(prev, i) - skipped + 1;
+                link(prev, i, match);
+                setWidth(prev, i, skipped);
+            } else {
+                setWidth(prev, i, width(prev, i) + 1);
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Fills an empty index with matches that are already in summary order, linking each
+     * of them in O(1) instead of searching for its position.
+     *
+     * @param ordered the matches, in summary order; none of them may be in an index
+     * @throws IllegalStateException if this index is not empty
+     * @throws IllegalArgumentException if the matches are not in summary order
+     */
+    void load(List<Match> ordered) {
+        if (size != 0) {
+            throw new IllegalStateException("Index is not empty");
+        }
+        Match[] tails = new Match[MAX_LEVEL];
+        int[] tailRanks = new int[MAX_LEVEL];
+        Match previous = null;
+        int rank = 0;
+        for (Match match : ordered) {
+            if (previous != null && !precedes(previous, match)) {
+                clear();
+                throw new IllegalArgumentException("Matches are not in summary order");
+            }
+            int height = randomLevel();
+            Match[] links = new Match[height];
+            match.summaryLinks = links;
+            match.summaryWidths = new int[height];
+            rank++;
+            for (int i = 0; i < height; i++) {
+                link(tails[i], i, match);
+                setWidth(tails[i], i, rank - tailRanks[i]);
+                tails[i] = match;
+                tailRanks[i] = rank;
+            }
+            level = Math.max(level, height);
+            previous = match;
+        }
+        for (int i = 0; i < level; i++) {
+            setWidth(tails[i], i, rank + 1 - tailRanks[i]);
+        }
+        size = rank;
+    }
+
+    private void clear() {
+        Arrays.fill(head, null);
+        headWidths[0] = 1;
+        level = 1;
+        size = 0;
+    }
+
+    /**
+     * Removes a match, using its current score to locate it.
+     *
+     * @param match the match to remove; must be in this index
+     */
+    void remove(Match match) {
+        Match[] links = match.summaryLinks;
+
+        Match prev = null;
+        for (int i = level - 1; i >= 0; i--) {
+            Match next = next(prev, i);
+            while (next != null && next != match && precedes(next, match)) {
+                prev = next;
+                next = next.summaryLinks[i];
+            }
+            if (next == match) {
+                link(prev, i, links[i]);
+                setWidth(prev, i, width(prev, i) + match.summaryWidths[i] - 1);
+                links[i] = null;
+            } else {
+                setWidth(prev, i, width(prev, i) - 1);
+            }
+        }
+        while (level > 1 && head[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    /**
+     * Returns the position of a match in summary order. Takes O(log n).
+     *
+     * @param match the match; must be in this index
+     * @return the zero-based position of the match
+     * @throws IllegalStateException if the match is not in this index
+     */
+    int rank(Match match) {
+        Match prev = null;
+        int rank = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            Match next = next(prev, i);
+            while (next != null && (next == match || precedes(next, match))) {
+                rank += width(prev, i);
+                if (next == match) {
+                    return rank - 1;
+                }
+                prev = next;
+                next = next.summaryLinks[i];
+            }
+        }
+        throw new IllegalStateException(String.format("Match %s is not in the summary", match));
+    }
+
+    /**
+     * Returns the number of matches in this index.
+     *
+     * @return the number of matches
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns all matches in summary order.
+     *
+     * @return a new list holding every match in summary order
+     */
+    List<Match> toList() {
+        List<Match> result = new ArrayList<>(size);
+        for (Match match = head[0]; match != null; match = match.summaryLinks[0]) {
+            result.add(match);
+        }
+        return result;
+    }
+
+    /**
+     * Returns views of all matches in summary order.
+     *
+     * @return a new array holding a view of every match in summary order
+     */
+    MatchView[] toViews() {
+        MatchView[] result = new MatchView[size];
+        int i = 0;
+        for (Match match = head[0]; match != null; match = match.summaryLinks[0]) {
+            result[i++] = match.view();
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code limit} matches in summary order, starting just after the
+     * position given by a total score and creation order. Takes O(log n + limit).
+     *
+     * @param totalScore the total score of the position to start after
+     * @param creationOrder the creation order of the position to start after
+     * @param limit the maximum number of matches to return
+     * @return a new list with the matches
+     */
+    List<Match> after(int totalScore, long creationOrder, int limit) {
+        Match prev = null;
+        for (int i = level - 1; i >= 0; i--) {
+            Match next = next(prev, i);
+            while (next != null && atOrBefore(next, totalScore, creationOrder)) {
+                prev = next;
+                next = next.summaryLinks[i];
+            }
+        }
+        return collect(next(prev, 0), limit);
+    }
+
+    /**
+     * Returns the first {@code limit} matches in summary order. Takes O(limit).
+     *
+     * @param limit the maximum number of matches to return
+     * @return a new list with the matches
+     */
+    List<Match> first(int limit) {
+        return collect(head[0], limit);
+    }
+
+    private List<Match> collect(Match from, int limit) {
+        List<Match> result = new ArrayList<>(Math.min(limit, size));
+        for (Match match = from; match != null && result.size() < limit; match = match.summaryLinks[0]) {
+            result.add(match);
+        }
+        return result;
+    }
+
+    private static boolean atOrBefore(Match match, int totalScore, long creationOrder) {
+        int total = match.getTotalScore();
+        return total > totalScore || (total == totalScore && match.getCreationOrder() >= creationOrder);
+    }
+
+    private Match next(Match prev, int i) {
+        return prev == null ? head[i] : prev.summaryLinks[i];
+    }
+
+    private int width(Match prev, int i) {
+        return prev == null ? headWidths[i] : prev.summaryWidths[i];
+    }
+
+    private void setWidth(Match prev, int i, int width) {
+        if (prev == null) {
+            headWidths[i] = width;
+        } else {
+            prev.summaryWidths[i] = width;
+        }
+    }
+
+    private void link(Match prev, int i, Match match) {
+        if (prev == null) {
+            head[i] = match;
+        } else {
+            prev.summaryLinks[i] = match;
+        }
+    }
+
+    private static boolean precedes(Match a, Match b) {
+        int totalA = a.getTotalScore();
+        int totalB = b.getTotalScore();
+        return totalA > totalB || (totalA == totalB && a.getCreationOrder() > b.getCreationOrder());
+    }
+
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        int result = 1;
+        while ((bits & 3) == 0 && result < MAX_LEVEL) {
+            result++;
+            bits >>>= 2;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sportradar.scoreboard;
+
+import java.util.List;
+
+/**
+ * One page of the summary, with the cursor to request the following page.
+ */
+public final class SummaryPage {
+    private final List<Match> matches;
+    private final SummaryCursor nextCursor;
+
+    SummaryPage(List<Match> matches, SummaryCursor nextCursor) {
+        this.matches = matches;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Returns the matches of this page in summary order.
+     *
+     * @return the matches
+     */
+    public List<Match> getMatches() {
+        return matches;
+    }
+
+    /**
+     * Returns the cursor for the next page.
+     *
+     * @return the cursor, or null if this is the last page
+     */
+    public SummaryCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Tells whether more matches follow this page.
+     *
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
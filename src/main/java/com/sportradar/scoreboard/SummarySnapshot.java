@@ -0,0 +1,137 @@
+package com.sportradar.scoreboard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable summary of a scoreboard as of one version, safe to read from any thread.
+ * See {@link Scoreboard#getSnapshot()}.
+ * <p>
+ * The JSON and text renderings are built on first request and kept with the snapshot,
+ * from rows cached on each {@link MatchView}: a new version copies the rows of unchanged
+ * matches and renders only the changed ones.
+ */
+public final class SummarySnapshot {
+    private final long version;
+    private final MatchView[] matches;
+    private final List<MatchView> matchList;
+    private volatile ByteBuffer json;
+    private volatile ByteBuffer text;
+
+    SummarySnapshot(long version, MatchView[] matches) {
+        this.version = version;
+        this.matches = matches;
+        this.matchList = new ViewList(matches);
+    }
+
+    /**
+     * Returns the scoreboard version this snapshot was taken at. Versions increase
+     * with every change to the scoreboard.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the matches in summary order, as an unmodifiable list backed by this snapshot.
+     *
+     * @return the matches
+     */
+    public List<MatchView> getMatches() {
+        return matchList;
+    }
+
+    /**
+     * Returns the number of matches.
+     *
+     * @return the number of matches
+     */
+    public int size() {
+        return matches.length;
+    }
+
+    /**
+     * Returns the summary as UTF-8 JSON:
+     * {@code {"version":1,"matches":[{"home":"Mexico","away":"Canada","homeScore":0,"awayScore":5}]}}.
+     *
+     * @return a read-only buffer over the rendering shared by all callers, positioned at its start
+     */
+    public ByteBuffer toJson() {
+        ByteBuffer rendered = json;
+        if (rendered == null) {
+            byte[][] rows = new byte[matches.length][];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = matches[i].jsonRow();
+            }
+            rendered = join(("{\"version\":" + version + ",\"matches\":[").getBytes(StandardCharsets.UTF_8),
+                    rows, (byte) ',', new byte[]{']', '}'});
+            json = rendered;
+        }
+        // The buffer's content is shared; its position and limit are per caller
+        return rendered.duplicate();
+    }
+
+    /**
+     * Returns the summary as UTF-8 text, one {@code "Mexico 0 - Canada 5"} line per match.
+     *
+     * @return a read-only buffer over the rendering shared by all callers, positioned at its start
+     */
+    public ByteBuffer toText() {
+        ByteBuffer rendered = text;
+        if (rendered == null) {
+            byte[][] rows = new byte[matches.length][];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = matches[i].textRow();
+            }
+            rendered = join(new byte[0], rows, (byte) -1, new byte[0]);
+            text = rendered;
+        }
+        return rendered.duplicate();
+    }
+
+    /**
+     * Concatenates a prefix, the rows separated by a byte ({@code -1} for none) and a suffix.
+     */
+    private static ByteBuffer join(byte[] prefix, byte[][] rows, byte separator, byte[] suffix) {
+        int separators = separator == -1 || rows.length == 0 ? 0 : rows.length - 1;
+        int length = prefix.length + separators + suffix.length;
+        for (byte[] row : rows) {
+            length += row.length;
+        }
+        byte[] bytes = new byte[length];
+        System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+        int position = prefix.length;
+        for (int i = 0; i < rows.length; i++) {
+            if (i > 0 && separators > 0) {
+                bytes[position++] = separator;
+            }
+            System.arraycopy(rows[i], 0, bytes, position, rows[i].length);
+            position += rows[i].length;
+        }
+        System.arraycopy(suffix, 0, bytes, position, suffix.length);
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    private static final class ViewList extends AbstractList<MatchView> implements RandomAccess {
+        private final MatchView[] matches;
+
+        ViewList(MatchView[] matches) {
+            this.matches = matches;
+        }
+
+        @Override
+        public MatchView get(int index) {
+            return matches[index];
+        }
+
+        @Override
+        public int size() {
+            return matches.length;
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package com.sportradar.scoreboard;
 
-import java.util.Objects;
-
 /**
  * Value object representing a football team.
  * Team names are immutable and validated upon creation.
+ * <p>
+ * Teams created by a {@link TeamRegistry} also carry a dense id, unique within that registry,
+ * which scoreboards use to key matches by two ints. Equality stays by name, so teams of
+ * different scoreboards compare equal when their names do.
  */
 public final class Team {
+    /**
+     * Id of teams created outside a {@link TeamRegistry}.
+     */
+    static final int NO_ID = -1;
+
     private final String name;
+    private final int hash;
+    private final int id;
 
     /**
      * Creates a new Team with the given name.
@@ -16,10 +25,16 @@ public final class Team {
      * @throws IllegalArgumentException if name is null, empty or blank
      */
     public Team(String name) {
-        if (name == null || name.trim().isEmpty()) {
+        this(name, NO_ID);
+    }
+
+    Team(String name, int id) {
+        if (!isValidName(name)) {
             throw new IllegalArgumentException("Team name cannot be null or empty");
         }
         this.name = name;
+        this.hash = name.hashCode();
+        this.id = id;
     }
 
     /**
@@ -31,21 +46,52 @@ public final class Team {
         return name;
     }
 
+    /**
+     * Returns the id given by the registry that created this team.
+     *
+     * @return the id, or {@link #NO_ID} if the team was not created by a registry
+     */
+    int getId() {
+        return id;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Team team = (Team) o;
-        return Objects.equals(name, team.name);
+        return hash == team.hash && name.equals(team.name);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        return hash;
     }
 
     @Override
     public String toString() {
         return name;
     }
-}
\ No newline at end of file
+
+    /**
+     * Tells whether a team can be created with the given name, without creating it.
+     *
+     * @param name the team name
+     * @return false if name is null, empty or blank
+     */
+    static boolean isValidName(String name) {
+        return name != null && !isBlank(name);
+    }
+
+    /**
+     * Same check as {@code name.trim().isEmpty()}, without allocating the trimmed copy.
+     */
+    private static boolean isBlank(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,94 @@
+package com.sportradar.scoreboard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary of team names: interns {@link Team} instances by name, so that a name seen
+ * before maps to the same already validated team without allocating, and numbers them with
+ * dense ids from 0 in the order they are first seen.
+ * <p>
+ * Each name is held once: the interned team keeps the string it was first seen with, which
+ * is also the map key, and later calls with equal strings get that team back while their own
+ * copies stay garbage.
+ * <p>
+ * Teams are never evicted; the registry grows with the number of distinct team names.
+ * Not thread-safe.
+ */
+final class TeamRegistry {
+    private final Map<String, Team> teams;
+    private Team[] byId;
+
+    /**
+     * Creates an empty registry.
+     */
+    TeamRegistry() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty registry sized for the given number of teams.
+     *
+     * @param expectedTeams the number of distinct teams expected
+     */
+    TeamRegistry(int expectedTeams) {
+        this.teams = new HashMap<>(Math.max(16, (int) (expectedTeams / 0.75f) + 1));
+        this.byId = new Team[Math.max(16, expectedTeams)];
+    }
+
+    /**
+     * Returns the canonical team for the given name, creating it on first use.
+     *
+     * @param name the team name
+     * @return the interned team
+     * @throws IllegalArgumentException if name is null, empty or blank
+     */
+    Team intern(String name) {
+        Team team = name == null ? null : teams.get(name);
+        if (team == null) {
+            int id = teams.size();
+            team = new Team(name, id);
+            if (id == byId.length) {
+                byId = Arrays.copyOf(byId, 2 * id);
+            }
+            byId[id] = team;
+            teams.put(name, team);
+        }
+        return team;
+    }
+
+    /**
+     * Returns the team with the given id.
+     *
+     * @param id an id given by this registry
+     * @return the team, or null if no team has this id yet
+     */
+    Team get(int id) {
+        return byId[id];
+    }
+
+    /**
+     * Returns the canonical team for the given name without registering new names.
+     *
+     * @param name the team name
+     * @return the interned team, or null if no team with this name was interned
+     * @throws IllegalArgumentException if name is null, empty or blank
+     */
+    Team find(String name) {
+        Team team = name == null ? null : teams.get(name);
+        if (team == null && !Team.isValidName(name)) {
+            throw new IllegalArgumentException("Team name cannot be null or empty");
+        }
+        return team;
+    }
+
+    /**
+     * Returns the number of interned teams.
+     *
+     * @return the number of teams
+     */
+    int size() {
+        return teams.size();
+    }
+}
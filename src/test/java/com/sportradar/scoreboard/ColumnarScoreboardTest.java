@@ -0,0 +1,158 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarScoreboardTest {
+
+    private ColumnarScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new ColumnarScoreboard();
+    }
+
+    @Test
+    void shouldStartGameWithInitialScore() {
+        Match match = scoreboard.startGame("Mexico", "Canada");
+
+        assertEquals("Mexico", match.getHomeTeam().getName());
+        assertEquals("Canada", match.getAwayTeam().getName());
+        assertEquals(0, match.getTotalScore());
+        assertEquals(1, scoreboard.size());
+    }
+
+    @Test
+    void shouldOrderSummaryByTotalScoreThenMostRecentlyAdded() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.startGame("Germany", "France");
+        scoreboard.startGame("Uruguay", "Italy");
+        scoreboard.startGame("Argentina", "Australia");
+        scoreboard.updateScore("Mexico", "Canada", 0, 5);
+        scoreboard.updateScore("Spain", "Brazil", 10, 2);
+        scoreboard.updateScore("Germany", "France", 2, 2);
+        scoreboard.updateScore("Uruguay", "Italy", 6, 6);
+        scoreboard.updateScore("Argentina", "Australia", 3, 1);
+
+        assertEquals(List.of(
+                "Uruguay 6 - Italy 6 #3",
+                "Spain 10 - Brazil 2 #1",
+                "Mexico 0 - Canada 5 #0",
+                "Argentina 3 - Australia 1 #4",
+                "Germany 2 - France 2 #2"
+        ), toStrings(scoreboard.getSummary()));
+    }
+
+    @Test
+    void shouldReturnDetachedMatches() {
+        Match started = scoreboard.startGame("Mexico", "Canada");
+        started.updateScore(3, 3);
+
+        assertEquals(0, scoreboard.getSummary().get(0).getTotalScore());
+    }
+
+    @Test
+    void shouldRejectInvalidOperationsLikeScoreboard() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertEquals("Match between Mexico and Canada already exists",
+                assertThrows(IllegalStateException.class, () -> scoreboard.startGame("Mexico", "Canada")).getMessage());
+        assertEquals("Home team and away team must be different",
+                assertThrows(IllegalArgumentException.class, () -> scoreboard.startGame("Spain", "Spain")).getMessage());
+        assertEquals("Match between Spain and Brazil does not exist",
+                assertThrows(IllegalStateException.class, () -> scoreboard.updateScore("Spain", "Brazil", 1, 0)).getMessage());
+        assertThrows(IllegalStateException.class, () -> scoreboard.finishGame("Canada", "Mexico"));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.updateScore("Mexico", "Canada", -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.updateScore(" ", "Canada", 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.startGame(null, "Canada"));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarScoreboard(-1));
+    }
+
+    @Test
+    void shouldAllowRestartingFinishedGame() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.finishGame("Mexico", "Canada");
+
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertEquals(1, scoreboard.size());
+    }
+
+    @Test
+    void shouldMatchScoreboardUnderRandomChanges() {
+        Scoreboard expected = new Scoreboard();
+        List<String[]> live = new ArrayList<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 5000; i++) {
+            int action = random.nextInt(5);
+            if (action < 2 || live.isEmpty()) {
+                String[] teams = {"Home " + random.nextInt(300), "Away " + random.nextInt(300)};
+                boolean exists = false;
+                for (String[] game : live) {
+                    exists |= game[0].equals(teams[0]) && game[1].equals(teams[1]);
+                }
+                if (!exists) {
+                    expected.startGame(teams[0], teams[1]);
+                    scoreboard.startGame(teams[0], teams[1]);
+                    live.add(teams);
+                }
+            } else if (action == 2) {
+                String[] game = live.remove(random.nextInt(live.size()));
+                expected.finishGame(game[0], game[1]);
+                scoreboard.finishGame(game[0], game[1]);
+            } else {
+                String[] game = live.get(random.nextInt(live.size()));
+                int homeScore = random.nextInt(6);
+                int awayScore = random.nextInt(6);
+                expected.updateScore(game[0], game[1], homeScore, awayScore);
+                scoreboard.updateScore(game[0], game[1], homeScore, awayScore);
+            }
+
+            if (i % 50 == 0) {
+                assertEquals(toStrings(expected.getSummary()), toStrings(scoreboard.getSummary()));
+            }
+        }
+        assertEquals(toStrings(expected.getSummary()), toStrings(scoreboard.getSummary()));
+        assertEquals(live.size(), scoreboard.size());
+    }
+
+    @Test
+    void shouldOrderSummaryTheSameWhetherCountingSortingOrParallel() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            scoreboard.startGame("Home " + i, "Away " + i);
+            scoreboard.updateScore("Home " + i, "Away " + i, random.nextInt(4), random.nextInt(4));
+        }
+        List<String> counted = toStrings(scoreboard.getSummary());
+        scoreboard.setParallelThreshold(0);
+        List<String> parallelCounted = toStrings(scoreboard.getSummary());
+        // One wide total disables counting, so the packed sort orders the rest the same way
+        scoreboard.updateScore("Home 0", "Away 0", 1_000_000, 0);
+        List<String> parallelSorted = toStrings(scoreboard.getSummary());
+        scoreboard.setParallelThreshold(Integer.MAX_VALUE);
+        List<String> sorted = toStrings(scoreboard.getSummary());
+
+        assertEquals(counted, parallelCounted);
+        assertEquals("Home 0 1000000 - Away 0 0 #0", sorted.get(0));
+        assertEquals(sorted, parallelSorted);
+        counted.removeIf(match -> match.endsWith(" #0"));
+        assertEquals(counted, sorted.subList(1, sorted.size()));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.setParallelThreshold(-1));
+    }
+
+    private static List<String> toStrings(List<Match> matches) {
+        List<String> result = new ArrayList<>();
+        for (Match match : matches) {
+            result.add(match.toString() + " #" + match.getCreationOrder());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,204 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentScoreboardTest {
+
+    private ConcurrentScoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new ConcurrentScoreboard();
+    }
+
+    @Test
+    void shouldMatchExampleFromRequirements() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.startGame("Germany", "France");
+        scoreboard.startGame("Uruguay", "Italy");
+        scoreboard.startGame("Argentina", "Australia");
+
+        scoreboard.updateScore("Mexico", "Canada", 0, 5);
+        scoreboard.updateScore("Spain", "Brazil", 10, 2);
+        scoreboard.updateScore("Germany", "France", 2, 2);
+        scoreboard.updateScore("Uruguay", "Italy", 6, 6);
+        scoreboard.updateScore("Argentina", "Australia", 3, 1);
+
+        List<Match> summary = scoreboard.getSummary();
+
+        assertEquals(5, summary.size());
+        assertEquals("Uruguay 6 - Italy 6", summary.get(0).toString());
+        assertEquals("Spain 10 - Brazil 2", summary.get(1).toString());
+        assertEquals("Mexico 0 - Canada 5", summary.get(2).toString());
+        assertEquals("Argentina 3 - Australia 1", summary.get(3).toString());
+        assertEquals("Germany 2 - France 2", summary.get(4).toString());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenStartingDuplicateGame() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> scoreboard.startGame("Mexico", "Canada")
+        );
+        assertEquals("Match between Mexico and Canada already exists", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUpdatingNonExistentGame() {
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> scoreboard.updateScore("Mexico", "Canada", 0, 5)
+        );
+        assertEquals("Match between Mexico and Canada does not exist", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenFinishingNonExistentGame() {
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> scoreboard.finishGame("Mexico", "Canada")
+        );
+        assertEquals("Match between Mexico and Canada does not exist", exception.getMessage());
+    }
+
+    @Test
+    void shouldReturnSnapshotUnaffectedByLaterUpdates() {
+        scoreboard.startGame("Mexico", "Canada");
+        List<Match> before = scoreboard.getSummary();
+
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+        scoreboard.finishGame("Mexico", "Canada");
+
+        assertEquals(1, before.size());
+        assertEquals(0, before.get(0).getHomeScore());
+        assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+    @Test
+    void shouldApplyConcurrentUpdatesToDifferentMatches() throws Exception {
+        int threads = 8;
+        int updates = 1000;
+        for (int t = 0; t < threads; t++) {
+            scoreboard.startGame("Home" + t, "Away" + t);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String home = "Home" + t;
+            String away = "Away" + t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 1; i <= updates; i++) {
+                    scoreboard.updateScore(home, away, i, i);
+                    List<Match> summary = scoreboard.getSummary();
+                    assertEquals(threads, summary.size());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Match> summary = scoreboard.getSummary();
+        assertEquals(threads, summary.size());
+        for (int t = 0; t < threads; t++) {
+            // All totals are equal, so the most recently started match comes first
+            assertEquals("Home" + (threads - 1 - t), summary.get(t).getHomeTeam().getName());
+            assertEquals(2 * updates, summary.get(t).getTotalScore());
+        }
+    }
+
+    @Test
+    void shouldApplyBatchAtomically() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        scoreboard.applyBatch(List.of(
+                ScoreEvent.start("Spain", "Brazil"),
+                ScoreEvent.update("Spain", "Brazil", 2, 0),
+                ScoreEvent.finish("Mexico", "Canada")
+        ));
+
+        List<Match> summary = scoreboard.getSummary();
+        assertEquals(1, summary.size());
+        assertEquals("Spain 2 - Brazil 0", summary.get(0).toString());
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> scoreboard.applyBatch(List.of(
+                        ScoreEvent.update("Spain", "Brazil", 3, 0),
+                        ScoreEvent.start("Spain", "Brazil")
+                ))
+        );
+        assertEquals("Spain 2 - Brazil 0", scoreboard.getSummary().get(0).toString());
+    }
+
+    @Test
+    void shouldRegisterTeamsOfBatchOnlyOnceItIsValid() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertThrows(IllegalStateException.class, () -> scoreboard.applyBatch(List.of(
+                ScoreEvent.start("Spain", "Brazil"),
+                ScoreEvent.update("Germany", "France", 1, 0)
+        )));
+        assertEquals(2, scoreboard.getTeamCount());
+
+        scoreboard.applyBatch(List.of(
+                ScoreEvent.start("Spain", "Brazil"),
+                ScoreEvent.update("Spain", "Brazil", 1, 0),
+                ScoreEvent.start("Germany", "France"),
+                ScoreEvent.finish("Germany", "France"),
+                ScoreEvent.update("Mexico", "Canada", 2, 2)
+        ));
+        assertEquals(6, scoreboard.getTeamCount());
+        assertEquals("[Mexico 2 - Canada 2, Spain 1 - Brazil 0]", scoreboard.getSummary().toString());
+        scoreboard.updateScore("Spain", "Brazil", 2, 0);
+        assertEquals("Spain 2 - Brazil 0", scoreboard.getSummary().get(1).toString());
+    }
+
+    @Test
+    void shouldReadConsistentSummariesWhileStripesGrowAndShrink() throws Exception {
+        ConcurrentScoreboard board = new ConcurrentScoreboard(1);
+        board.startGame("Token 0", "Away");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(() -> {
+            for (int round = 1; round <= 200; round++) {
+                List<ScoreEvent> batch = new ArrayList<>();
+                batch.add(ScoreEvent.finish("Token " + (round - 1), "Away"));
+                batch.add(ScoreEvent.start("Token " + round, "Away"));
+                for (int i = 0; i < 100; i++) {
+                    batch.add(round % 2 == 1 ? ScoreEvent.start("Home " + i, "Away " + i)
+                            : ScoreEvent.finish("Home " + i, "Away " + i));
+                }
+                board.applyBatch(batch);
+            }
+        });
+
+        while (!writer.isDone()) {
+            List<Match> summary = board.getSummary();
+            // A token and either none or all of the others, never part of a batch
+            assertTrue(summary.size() == 1 || summary.size() == 101, "size " + summary.size());
+        }
+        writer.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertEquals(1, board.getSummary().size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentTeamRegistryTest {
+
+    @Test
+    void shouldGiveOneDenseIdPerNameAcrossThreads() throws Exception {
+        ConcurrentTeamRegistry registry = new ConcurrentTeamRegistry();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        Team[][] seen = new Team[4][500];
+        for (int t = 0; t < 4; t++) {
+            Team[] mine = seen[t];
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < mine.length; i++) {
+                    mine[i] = registry.intern("Team " + i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            for (int t = 1; t < 4; t++) {
+                assertSame(seen[0][i], seen[t][i]);
+            }
+            ids.add(seen[0][i].getId());
+        }
+        assertEquals(500, ids.size());
+        assertEquals(0, (int) ids.stream().min(Integer::compare).get());
+        assertEquals(499, (int) ids.stream().max(Integer::compare).get());
+        assertEquals(500, registry.size());
+    }
+
+    @Test
+    void shouldRejectInvalidNamesWithoutUsingAnId() {
+        ConcurrentTeamRegistry registry = new ConcurrentTeamRegistry();
+
+        assertThrows(IllegalArgumentException.class, () -> registry.intern(" "));
+        assertThrows(IllegalArgumentException.class, () -> registry.find(null));
+        assertNull(registry.find("Mexico"));
+        assertEquals(0, registry.intern("Mexico").getId());
+    }
+}
@@ -0,0 +1,57 @@
+package com.sportradar.scoreboard;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrScoreboardMetricsTest {
+
+    @Test
+    void shouldEmitEventsWhileRecording() throws Exception {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.setMetrics(new JfrScoreboardMetrics(1));
+        Path file = Files.createTempFile("scoreboard", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("com.sportradar.scoreboard.Operation");
+                recording.enable("com.sportradar.scoreboard.LiveMatches");
+                recording.start();
+
+                scoreboard.startGame("Mexico", "Canada");
+                assertThrows(IllegalStateException.class, () -> scoreboard.finishGame("Spain", "Brazil"));
+
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(event -> isOperation(event, "START_GAME")
+                    && event.getString("failure") == null));
+            assertTrue(events.stream().anyMatch(event -> isOperation(event, "FINISH_GAME")
+                    && "MATCH_NOT_FOUND".equals(event.getString("failure"))));
+            assertTrue(events.stream().anyMatch(event -> event.getEventType().getName()
+                    .equals("com.sportradar.scoreboard.LiveMatches") && event.getInt("liveMatches") == 1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void shouldTimeOneInSampleIntervalOperations() {
+        assertEquals(ScoreboardStats.DEFAULT_SAMPLE_INTERVAL, new JfrScoreboardMetrics().latencySampleInterval());
+        assertEquals(4, new JfrScoreboardMetrics(4).latencySampleInterval());
+        assertThrows(IllegalArgumentException.class, () -> new JfrScoreboardMetrics(0));
+    }
+
+    private static boolean isOperation(RecordedEvent event, String operation) {
+        return event.getEventType().getName().equals("com.sportradar.scoreboard.Operation")
+                && operation.equals(event.getString("operation"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReportZeroWhenEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    void shouldCountSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(50, histogram.getCount());
+        assertEquals(50, histogram.getMax());
+        assertEquals(25.5, histogram.getMean());
+        assertEquals(25, histogram.getValueAtPercentile(50));
+        assertEquals(50, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    void shouldKeepLargeValuesWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = {100, 1_000, 123_456, 10_000_000, 987_654_321_000L};
+
+        for (long value : values) {
+            LatencyHistogram single = new LatencyHistogram();
+            single.record(value);
+            single.record(Long.MAX_VALUE);
+            long reported = single.getValueAtPercentile(50);
+            assertTrue(reported >= value && reported <= value * 1.03, value + " reported as " + reported);
+            histogram.record(value);
+        }
+        assertEquals(987_654_321_000L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void shouldMapEveryValueToBucketContainingIt() {
+        long previous = -1;
+        for (int index = 0; index <= LatencyHistogram.index(Long.MAX_VALUE); index++) {
+            long highest = LatencyHistogram.highestValue(index);
+            assertTrue(highest > previous);
+            assertEquals(index, LatencyHistogram.index(highest));
+            assertEquals(index, LatencyHistogram.index(previous + 1));
+            previous = highest;
+        }
+        assertEquals(Long.MAX_VALUE, previous);
+    }
+
+    @Test
+    void shouldRecordNegativeValuesAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void shouldRejectInvalidPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(Double.NaN));
+    }
+}
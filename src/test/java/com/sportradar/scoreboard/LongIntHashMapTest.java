@@ -0,0 +1,58 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void shouldReturnMissingForUnknownKey() {
+        LongIntHashMap map = new LongIntHashMap(0);
+
+        assertEquals(LongIntHashMap.MISSING, map.get(42));
+        assertEquals(LongIntHashMap.MISSING, map.remove(42));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void shouldPutReplaceAndRemove() {
+        LongIntHashMap map = new LongIntHashMap(0);
+
+        map.put(7, 1);
+        map.put(7, 2);
+        assertEquals(2, map.get(7));
+        assertEquals(1, map.size());
+
+        assertEquals(2, map.remove(7));
+        assertEquals(LongIntHashMap.MISSING, map.get(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void shouldMatchHashMapUnderRandomChanges() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 50000; i++) {
+            long key = ((long) random.nextInt(200) << 32) | random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? LongIntHashMap.MISSING : removed, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.sportradar.scoreboard;
+
+import com.sportradar.scoreboard.MatchArchive.Eviction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchArchiveTest {
+
+    private Path directory;
+    private Path file;
+    private long now;
+    private Scoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("match-archive");
+        file = directory.resolve("finished.segment");
+        now = 1_000;
+        scoreboard = new Scoreboard();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.delete(directory);
+    }
+
+    @Test
+    void shouldKeepFinalResultAfterFinish() {
+        MatchArchive archive = archive(4, Eviction.LEAST_RECENTLY_USED, 0, null);
+        play("Mexico", "Canada", 0, 5);
+
+        FinishedMatch result = archive.find("Mexico", "Canada");
+
+        assertEquals("Mexico 0 - Canada 5", result.toString());
+        assertEquals(1_000, result.getFinishedAtMillis());
+        assertNull(archive.find("Canada", "Mexico"));
+        assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+    @Test
+    void shouldListRecentResultsNewestFirst() {
+        MatchArchive archive = archive(4, Eviction.LEAST_RECENTLY_USED, 0, null);
+        play("Mexico", "Canada", 0, 5);
+        play("Spain", "Brazil", 10, 2);
+        play("Germany", "France", 2, 2);
+
+        assertEquals(List.of("Germany 2 - France 2", "Spain 10 - Brazil 2"), strings(archive.getRecent(2)));
+        assertEquals(3, archive.getRecent(10).size());
+        assertTrue(archive.getRecent(0).isEmpty());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondCapacity() {
+        MatchArchive archive = archive(2, Eviction.LEAST_RECENTLY_USED, 0, null);
+        play("Mexico", "Canada", 0, 5);
+        play("Spain", "Brazil", 10, 2);
+        archive.find("Mexico", "Canada");
+        play("Germany", "France", 2, 2);
+
+        assertEquals(2, archive.size());
+        assertNotNull(archive.find("Mexico", "Canada"));
+        assertNull(archive.find("Spain", "Brazil"));
+    }
+
+    @Test
+    void shouldEvictOldestFinishedBeyondCapacity() {
+        MatchArchive archive = archive(2, Eviction.OLDEST_FINISHED, 0, null);
+        play("Mexico", "Canada", 0, 5);
+        play("Spain", "Brazil", 10, 2);
+        archive.find("Mexico", "Canada");
+        play("Germany", "France", 2, 2);
+
+        assertNull(archive.find("Mexico", "Canada"));
+        assertNotNull(archive.find("Spain", "Brazil"));
+    }
+
+    @Test
+    void shouldEvictResultsOlderThanMaximumAge() {
+        MatchArchive archive = archive(4, Eviction.LEAST_RECENTLY_USED, 100, null);
+        play("Mexico", "Canada", 0, 5);
+        now += 60;
+        play("Spain", "Brazil", 10, 2);
+        now += 50;
+
+        assertNull(archive.find("Mexico", "Canada"));
+        assertEquals(List.of("Spain 10 - Brazil 2"), strings(archive.getRecent(4)));
+    }
+
+    @Test
+    void shouldReplaceResultOfRematch() {
+        MatchArchive archive = archive(4, Eviction.LEAST_RECENTLY_USED, 0, null);
+        play("Mexico", "Canada", 0, 5);
+        play("Mexico", "Canada", 3, 1);
+
+        assertEquals(1, archive.size());
+        assertEquals("Mexico 3 - Canada 1", archive.find("Mexico", "Canada").toString());
+    }
+
+    @Test
+    void shouldFindEvictedResultsInSpillFile() throws IOException {
+        try (MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, file)) {
+            play("Mexico", "Canada", 0, 5);
+            play("Spain", "Brazil", 10, 2);
+            play("Mexico", "Canada", 3, 1);
+            play("Germany", "France", 2, 2);
+
+            assertEquals(3, archive.getSpilledCount());
+            assertEquals(1, archive.size());
+            assertEquals("Mexico 3 - Canada 1", archive.find("Mexico", "Canada").toString());
+            assertEquals("Spain 10 - Brazil 2", archive.find("Spain", "Brazil").toString());
+            assertNull(archive.find("Italy", "Japan"));
+        }
+        MatchArchive reopened = archive(1, Eviction.OLDEST_FINISHED, 0, file);
+        assertEquals("Spain 10 - Brazil 2", reopened.find("Spain", "Brazil").toString());
+    }
+
+    @Test
+    void shouldIgnoreTornRecordAtEndOfSpillFile() throws IOException {
+        try (MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, file)) {
+            play("Mexico", "Canada", 0, 5);
+            play("Spain", "Brazil", 10, 2);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length + 7));
+
+        assertEquals("Mexico 0 - Canada 5", archive(1, Eviction.OLDEST_FINISHED, 0, file).find("Mexico", "Canada").toString());
+    }
+
+    @Test
+    void shouldAppendAfterTornRecordAtEndOfSpillFile() throws IOException {
+        try (MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, file)) {
+            play("Mexico", "Canada", 0, 5);
+            play("Spain", "Brazil", 10, 2);
+            play("Argentina", "Australia", 3, 1);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        try (MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, file)) {
+            play("Germany", "France", 2, 2);
+            play("Uruguay", "Italy", 6, 6);
+        }
+
+        MatchArchive reopened = archive(1, Eviction.OLDEST_FINISHED, 0, file);
+        assertEquals("Germany 2 - France 2", reopened.find("Germany", "France").toString());
+        assertEquals("Mexico 0 - Canada 5", reopened.find("Mexico", "Canada").toString());
+        assertNull(reopened.find("Spain", "Brazil"));
+    }
+
+    @Test
+    void shouldAppendAfterGarbledRecordAtEndOfSpillFile() throws IOException {
+        try (MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, file)) {
+            play("Mexico", "Canada", 0, 5);
+            play("Spain", "Brazil", 10, 2);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        byte[] garbled = Arrays.copyOf(bytes, bytes.length + 40);
+        // A name of 3 bytes that are not valid modified UTF-8, well before the end of the file
+        garbled[bytes.length + 1] = 3;
+        Arrays.fill(garbled, bytes.length + 2, bytes.length + 5, (byte) 0xFF);
+        Files.write(file, garbled);
+
+        try (MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, file)) {
+            play("Germany", "France", 2, 2);
+            play("Uruguay", "Italy", 6, 6);
+
+            assertNull(archive.getSpillFailure());
+            assertEquals("Mexico 0 - Canada 5", archive.find("Mexico", "Canada").toString());
+            assertEquals("Germany 2 - France 2", archive.find("Germany", "France").toString());
+        }
+
+        try (MatchArchive reopened = archive(1, Eviction.OLDEST_FINISHED, 0, file)) {
+            assertEquals("Germany 2 - France 2", reopened.find("Germany", "France").toString());
+            assertEquals("Mexico 0 - Canada 5", reopened.find("Mexico", "Canada").toString());
+        }
+    }
+
+    @Test
+    void shouldRefuseSpillLookupsOnceClosed() throws IOException {
+        MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, file);
+        play("Mexico", "Canada", 0, 5);
+        play("Spain", "Brazil", 10, 2);
+        archive.close();
+        long size = Files.size(file);
+
+        play("Germany", "France", 2, 2);
+
+        assertEquals("Germany 2 - France 2", archive.find("Germany", "France").toString());
+        assertThrows(IllegalStateException.class, () -> archive.find("Mexico", "Canada"));
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    void shouldFindSpilledResultsOfPairsWithSameHash() throws IOException {
+        // "Aa" and "BB" have the same String hash code
+        try (MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, file)) {
+            play("Aa", "Canada", 1, 0);
+            play("BB", "Canada", 2, 0);
+            play("Aa", "Canada", 3, 0);
+            play("BB", "Canada", 4, 0);
+            play("Spain", "Brazil", 0, 0);
+
+            assertEquals("Aa 3 - Canada 0", archive.find("Aa", "Canada").toString());
+            assertEquals("BB 4 - Canada 0", archive.find("BB", "Canada").toString());
+        }
+    }
+
+    @Test
+    void shouldKeepSpillFailureInsteadOfThrowingAtScoreboard() {
+        // A directory cannot be opened as the spill file
+        MatchArchive archive = archive(1, Eviction.OLDEST_FINISHED, 0, directory);
+        play("Mexico", "Canada", 0, 5);
+        play("Spain", "Brazil", 10, 2);
+        play("Germany", "France", 2, 2);
+
+        assertNotNull(archive.getSpillFailure());
+        assertEquals(0, archive.getSpilledCount());
+        assertEquals("Germany 2 - France 2", archive.find("Germany", "France").toString());
+        assertThrows(UncheckedIOException.class, () -> archive.find("Mexico", "Canada"));
+        assertThrows(IOException.class, archive::close);
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MatchArchive(0));
+        assertThrows(IllegalArgumentException.class, () -> new MatchArchive(1, null, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> new MatchArchive(1, Eviction.OLDEST_FINISHED, -1, null));
+        MatchArchive archive = new MatchArchive(1);
+        assertThrows(IllegalArgumentException.class, () -> archive.find(" ", "Canada"));
+        assertThrows(IllegalArgumentException.class, () -> archive.getRecent(-1));
+    }
+
+    private MatchArchive archive(int capacity, Eviction eviction, long maxAgeMillis, Path spillFile) {
+        MatchArchive archive = new MatchArchive(capacity, eviction, maxAgeMillis, spillFile, () -> now);
+        scoreboard.addListener(archive);
+        return archive;
+    }
+
+    private void play(String home, String away, int homeScore, int awayScore) {
+        Match match = scoreboard.startGame(home, away);
+        scoreboard.updateScore(match, homeScore, awayScore);
+        scoreboard.finishGame(match);
+    }
+
+    private static List<String> strings(List<FinishedMatch> results) {
+        List<String> result = new ArrayList<>();
+        for (FinishedMatch match : results) {
+            result.add(match.toString());
+        }
+        return result;
+    }
+}
@@ -2,6 +2,8 @@ package com.sportradar.scoreboard;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Modifier;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MatchTest {
@@ -88,4 +90,13 @@ class MatchTest {
         );
         assertEquals("Scores cannot be negative", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldNotLetCallersChangeScoreOutsideScoreboard() throws NoSuchMethodException {
+        // The scoreboard's summary is ordered by score and must see every change
+        int modifiers = Match.class.getDeclaredMethod("updateScore", int.class, int.class).getModifiers();
+
+        assertFalse(Modifier.isPublic(modifiers));
+        assertFalse(Modifier.isProtected(modifiers));
+    }
+}
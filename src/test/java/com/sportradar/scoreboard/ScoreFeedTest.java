@@ -0,0 +1,223 @@
+package com.sportradar.scoreboard;
+
+import com.sportradar.scoreboard.ScoreFeed.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreFeedTest {
+
+    private Scoreboard scoreboard;
+    private ScoreFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new Scoreboard();
+        feed = new ScoreFeed(scoreboard, 4, 2);
+    }
+
+    @Test
+    void shouldApplyEventsInSequence() {
+        assertEquals(Outcome.APPLIED, feed.accept(1, ScoreEvent.start("Mexico", "Canada")));
+        assertEquals(Outcome.APPLIED, feed.accept(2, ScoreEvent.update("Mexico", "Canada", 0, 1)));
+        assertEquals(Outcome.APPLIED, feed.accept(1, ScoreEvent.start("Spain", "Brazil")));
+
+        assertEquals(List.of("Mexico 0 - Canada 1", "Spain 0 - Brazil 0"), summary());
+    }
+
+    @Test
+    void shouldDropDuplicatesAndReplays() {
+        feed.accept(1, ScoreEvent.start("Mexico", "Canada"));
+        feed.accept(2, ScoreEvent.update("Mexico", "Canada", 0, 1));
+        feed.accept(3, ScoreEvent.update("Mexico", "Canada", 0, 2));
+
+        assertEquals(Outcome.STALE, feed.accept(1, ScoreEvent.start("Mexico", "Canada")));
+        assertEquals(Outcome.STALE, feed.accept(2, ScoreEvent.update("Mexico", "Canada", 0, 1)));
+        assertEquals(Outcome.STALE, feed.accept(3, ScoreEvent.update("Mexico", "Canada", 0, 2)));
+        assertEquals(List.of("Mexico 0 - Canada 2"), summary());
+    }
+
+    @Test
+    void shouldHoldBackEarlyEventsUntilTheirTurn() {
+        assertEquals(Outcome.BUFFERED, feed.accept(3, ScoreEvent.update("Mexico", "Canada", 0, 2)));
+        assertEquals(Outcome.BUFFERED, feed.accept(2, ScoreEvent.update("Mexico", "Canada", 0, 1)));
+        assertEquals(Outcome.STALE, feed.accept(2, ScoreEvent.update("Mexico", "Canada", 0, 1)));
+        assertTrue(scoreboard.getSummary().isEmpty());
+        assertEquals(2, feed.getBuffered());
+
+        assertEquals(Outcome.APPLIED, feed.accept(1, ScoreEvent.start("Mexico", "Canada")));
+
+        assertEquals(0, feed.getBuffered());
+        assertEquals(List.of("Mexico 0 - Canada 2"), summary());
+    }
+
+    @Test
+    void shouldGiveUpOnMissingEventsBeyondReorderWindow() {
+        feed.accept(1, ScoreEvent.start("Mexico", "Canada"));
+        feed.accept(3, ScoreEvent.update("Mexico", "Canada", 0, 2));
+        feed.accept(4, ScoreEvent.update("Mexico", "Canada", 0, 3));
+
+        assertEquals(Outcome.BUFFERED, feed.accept(7, ScoreEvent.update("Mexico", "Canada", 0, 6)));
+
+        assertEquals(List.of("Mexico 0 - Canada 3"), summary());
+        assertEquals(1, feed.getBuffered());
+        assertEquals(Outcome.STALE, feed.accept(2, ScoreEvent.update("Mexico", "Canada", 0, 1)));
+    }
+
+    @Test
+    void shouldApplyAllHeldBackEventsOnFlush() {
+        feed.accept(1, ScoreEvent.start("Mexico", "Canada"));
+        feed.accept(3, ScoreEvent.update("Mexico", "Canada", 0, 2));
+        feed.accept(5, ScoreEvent.update("Mexico", "Canada", 0, 4));
+        feed.accept(2, ScoreEvent.start("Spain", "Brazil"));
+
+        assertEquals(3, feed.flush());
+
+        assertEquals(0, feed.getBuffered());
+        assertEquals(List.of("Mexico 0 - Canada 4", "Spain 0 - Brazil 0"), summary());
+        assertEquals(Outcome.STALE, feed.accept(4, ScoreEvent.update("Mexico", "Canada", 0, 3)));
+    }
+
+    @Test
+    void shouldRejectDueEventsTheScoreboardRefuses() {
+        scoreboard.startGame("Spain", "Brazil");
+
+        assertEquals(Outcome.REJECTED, feed.accept(1, ScoreEvent.update("Mexico", "Canada", 1, 0)));
+        assertEquals(Outcome.REJECTED, feed.accept(1, ScoreEvent.start("Spain", "Brazil")));
+        assertEquals(Outcome.REJECTED, feed.accept(1, ScoreEvent.start("Italy", "Italy")));
+        assertEquals(List.of("Spain 0 - Brazil 0"), summary());
+    }
+
+    @Test
+    void shouldDropReplaysOfFinishedMatches() {
+        feed.accept(1, ScoreEvent.start("Mexico", "Canada"));
+        feed.accept(2, ScoreEvent.finish("Mexico", "Canada"));
+
+        assertEquals(Outcome.STALE, feed.accept(1, ScoreEvent.start("Mexico", "Canada")));
+        assertEquals(Outcome.REJECTED, feed.accept(3, ScoreEvent.update("Mexico", "Canada", 1, 0)));
+        assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+    @Test
+    void shouldForgetOldestFinishedMatchesBeyondRetention() {
+        String[] homes = {"Mexico", "Spain", "Germany"};
+        for (String home : homes) {
+            feed.accept(1, ScoreEvent.start(home, "Canada"));
+            feed.accept(2, ScoreEvent.finish(home, "Canada"));
+        }
+
+        assertEquals(Outcome.APPLIED, feed.accept(1, ScoreEvent.start("Mexico", "Canada")));
+        assertEquals(Outcome.STALE, feed.accept(1, ScoreEvent.start("Germany", "Canada")));
+    }
+
+    @Test
+    void shouldNotRememberPairsWithoutLiveMatch() {
+        scoreboard.startGame("Spain", "Brazil");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Outcome.REJECTED, feed.accept(1, ScoreEvent.update("Home " + i, "Away " + i, 1, 0)));
+            assertEquals(Outcome.REJECTED, feed.accept(1, ScoreEvent.finish("Away " + i, "Home " + i)));
+        }
+        assertEquals(Outcome.REJECTED, feed.accept(1, ScoreEvent.start("Spain", "Brazil")));
+        assertEquals(0, feed.getStreamCount());
+        assertEquals(Outcome.BUFFERED, feed.accept(3, ScoreEvent.update("Mexico", "Canada", 1, 0)));
+        assertEquals(1, feed.getStreamCount());
+
+        assertEquals(1, feed.flush());
+
+        assertEquals(0, feed.getStreamCount());
+        assertEquals(List.of("Spain 0 - Brazil 0"), summary());
+    }
+
+    @Test
+    void shouldTreatMatchFinishedOutsideFeedAsFinished() {
+        feed.accept(1, ScoreEvent.start("Mexico", "Canada"));
+        scoreboard.finishGame("Mexico", "Canada");
+
+        assertEquals(Outcome.REJECTED, feed.accept(2, ScoreEvent.update("Mexico", "Canada", 1, 0)));
+        assertEquals(Outcome.STALE, feed.accept(1, ScoreEvent.start("Mexico", "Canada")));
+
+        feed.accept(1, ScoreEvent.start("Spain", "Brazil"));
+        scoreboard.finishGame("Spain", "Brazil");
+        assertEquals(Outcome.REJECTED, feed.accept(2, ScoreEvent.finish("Spain", "Brazil")));
+        assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+    @Test
+    void shouldReachSameBoardFromShuffledDuplicatedStream() {
+        List<Object[]> events = new ArrayList<>();
+        Random random = new Random(42);
+        for (int match = 0; match < 50; match++) {
+            String home = "Home " + match;
+            String away = "Away " + match;
+            events.add(new Object[]{1L, ScoreEvent.start(home, away)});
+            int homeScore = 0;
+            int awayScore = 0;
+            for (int sequence = 2; sequence <= 4; sequence++) {
+                if (random.nextBoolean()) {
+                    homeScore++;
+                } else {
+                    awayScore++;
+                }
+                events.add(new Object[]{(long) sequence, ScoreEvent.update(home, away, homeScore, awayScore)});
+            }
+            if (match % 5 == 0) {
+                events.add(new Object[]{5L, ScoreEvent.finish(home, away)});
+            }
+        }
+        Scoreboard expected = new Scoreboard();
+        ScoreFeed inOrder = new ScoreFeed(expected);
+        for (Object[] event : events) {
+            inOrder.accept((Long) event[0], (ScoreEvent) event[1]);
+        }
+
+        List<Object[]> shuffled = new ArrayList<>();
+        for (Object[] event : events) {
+            shuffled.add(event);
+            if (random.nextInt(4) == 0) {
+                shuffled.add(event);
+            }
+        }
+        for (int from = 0; from < shuffled.size(); from += 16) {
+            Collections.shuffle(shuffled.subList(from, Math.min(from + 16, shuffled.size())), random);
+        }
+        ScoreFeed feed = new ScoreFeed(scoreboard);
+        for (Object[] event : shuffled) {
+            feed.accept((Long) event[0], (ScoreEvent) event[1]);
+        }
+
+        // Matches are sequenced one by one, so only ties between matches may be ordered differently
+        List<String> expectedMatches = new ArrayList<>();
+        for (Match match : expected.getSummary()) {
+            expectedMatches.add(match.toString());
+        }
+        List<String> actualMatches = summary();
+        Collections.sort(expectedMatches);
+        Collections.sort(actualMatches);
+        assertEquals(0, feed.getBuffered());
+        assertEquals(expectedMatches, actualMatches);
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoreFeed(null));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreFeed(scoreboard, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreFeed(scoreboard, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> feed.accept(0, ScoreEvent.start("Mexico", "Canada")));
+        assertThrows(IllegalArgumentException.class, () -> feed.accept(1, null));
+        assertThrows(IllegalArgumentException.class, () -> feed.accept(1, ScoreEvent.start(null, "Canada")));
+    }
+
+    private List<String> summary() {
+        List<String> result = new ArrayList<>();
+        for (Match match : scoreboard.getSummary()) {
+            result.add(match.toString());
+        }
+        return result;
+    }
+}
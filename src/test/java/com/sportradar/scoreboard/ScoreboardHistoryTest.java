@@ -0,0 +1,139 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardHistoryTest {
+
+    private Scoreboard scoreboard;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new Scoreboard();
+        now = 1_000;
+    }
+
+    @Test
+    void shouldStartFromMatchesLiveWhenCreated() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.updateScore("Mexico", "Canada", 0, 5);
+        ScoreboardHistory history = history(4, 100);
+
+        scoreboard.finishGame("Mexico", "Canada");
+
+        assertEquals(List.of("Mexico 0 - Canada 5 #0"), toStrings(history.getSummaryAt(0)));
+        assertTrue(history.getSummaryAt(1).isEmpty());
+        assertEquals(1, history.getVersion());
+    }
+
+    @Test
+    void shouldIgnoreMatchesRestoredAfterCreation() {
+        ScoreboardHistory history = history(4, 100);
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.restoreGame("Mexico", "Canada", 7, 0, 5);
+
+        scoreboard.updateScore("Mexico", "Canada", 1, 5);
+        scoreboard.finishGame("Mexico", "Canada");
+        scoreboard.updateScore("Spain", "Brazil", 10, 2);
+
+        assertEquals(2, history.getVersion());
+        assertEquals(List.of("Spain 10 - Brazil 2 #0"), toStrings(history.getSummaryAt(2)));
+    }
+
+    @Test
+    void shouldReturnSummaryAfterEveryVersionAcrossCheckpoints() {
+        ScoreboardHistory history = history(7, 100_000);
+        List<List<String>> expected = new ArrayList<>();
+        expected.add(toStrings(scoreboard.getSummary()));
+        Random random = new Random(3);
+        List<String[]> live = new ArrayList<>();
+
+        while (expected.size() <= 1000) {
+            int action = random.nextInt(5);
+            if (action < 2 || live.isEmpty()) {
+                String[] teams = {"Home " + random.nextInt(40), "Away " + random.nextInt(40)};
+                if (scoreboard.tryStartGame(teams[0], teams[1]) != Scoreboard.Status.OK) {
+                    continue;
+                }
+                live.add(teams);
+            } else if (action == 2) {
+                String[] game = live.remove(random.nextInt(live.size()));
+                scoreboard.finishGame(game[0], game[1]);
+            } else {
+                String[] game = live.get(random.nextInt(live.size()));
+                scoreboard.updateScore(game[0], game[1], random.nextInt(200), random.nextInt(3));
+            }
+            expected.add(toStrings(scoreboard.getSummary()));
+        }
+
+        assertEquals(1000, history.getVersion());
+        for (int version = 0; version <= 1000; version++) {
+            assertEquals(expected.get(version), toStrings(history.getSummaryAt(version)), "version " + version);
+        }
+    }
+
+    @Test
+    void shouldReturnSummaryAtInstant() {
+        ScoreboardHistory history = history(2, 100);
+        scoreboard.startGame("Mexico", "Canada");
+        now = 2_000;
+        scoreboard.updateScore("Mexico", "Canada", 0, 1);
+        now = 3_000;
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.updateScore("Mexico", "Canada", 0, 2);
+        now = 4_000;
+        scoreboard.finishGame("Mexico", "Canada");
+
+        assertEquals(List.of("Mexico 0 - Canada 0 #0"), toStrings(history.getSummaryAtTime(1_999)));
+        assertEquals(List.of("Mexico 0 - Canada 1 #0"), toStrings(history.getSummaryAtTime(2_999)));
+        assertEquals(List.of("Mexico 0 - Canada 2 #0", "Spain 0 - Brazil 0 #1"), toStrings(history.getSummaryAtTime(3_000)));
+        assertEquals(List.of("Spain 0 - Brazil 0 #1"), toStrings(history.getSummaryAtTime(10_000)));
+        assertThrows(IllegalArgumentException.class, () -> history.getSummaryAtTime(999));
+    }
+
+    @Test
+    void shouldDropHistoryBeyondRetention() {
+        ScoreboardHistory history = history(10, 50);
+        scoreboard.startGame("Mexico", "Canada");
+        for (int score = 1; score <= 1000; score++) {
+            scoreboard.updateScore("Mexico", "Canada", 0, score);
+        }
+        long bytes = history.getRetainedBytes();
+        for (int score = 1001; score <= 2000; score++) {
+            scoreboard.updateScore("Mexico", "Canada", 0, score);
+        }
+
+        long oldest = history.getOldestVersion();
+        assertTrue(oldest <= history.getVersion() - 50 && oldest > history.getVersion() - 60, "oldest " + oldest);
+        assertEquals(List.of("Mexico 0 - Canada " + (oldest - 1) + " #0"), toStrings(history.getSummaryAt(oldest)));
+        assertThrows(IllegalArgumentException.class, () -> history.getSummaryAt(oldest - 1));
+        assertThrows(IllegalArgumentException.class, () -> history.getSummaryAt(history.getVersion() + 1));
+        assertTrue(history.getRetainedBytes() <= bytes + 16, history.getRetainedBytes() + " > " + bytes);
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardHistory(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardHistory(scoreboard, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardHistory(scoreboard, 10, 0));
+    }
+
+    private ScoreboardHistory history(int checkpointInterval, long retainedChanges) {
+        return new ScoreboardHistory(scoreboard, checkpointInterval, retainedChanges, () -> now);
+    }
+
+    private static List<String> toStrings(List<Match> matches) {
+        List<String> result = new ArrayList<>();
+        for (Match match : matches) {
+            result.add(match + " #" + match.getCreationOrder());
+        }
+        return result;
+    }
+}
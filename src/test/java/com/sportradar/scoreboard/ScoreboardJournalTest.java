@@ -0,0 +1,230 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardJournalTest {
+
+    private Path directory;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("scoreboard-journal");
+        file = directory.resolve("scoreboard.journal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void shouldRecoverEmptyScoreboardFromNewJournal() throws Exception {
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            assertTrue(journal.recover().getSummary().isEmpty());
+        }
+    }
+
+    @Test
+    void shouldRestoreScoresAndTieBreakOrderAfterRestart() throws Exception {
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            Scoreboard scoreboard = journal.recover();
+            scoreboard.startGame("Mexico", "Canada");
+            scoreboard.startGame("Spain", "Brazil");
+            scoreboard.startGame("Germany", "France");
+            scoreboard.updateScore("Mexico", "Canada", 2, 3);
+            scoreboard.updateScore("Spain", "Brazil", 3, 2);
+            scoreboard.finishGame("Germany", "France");
+        }
+
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            Scoreboard scoreboard = journal.recover();
+            assertSummary(scoreboard, "Spain 3 - Brazil 2", "Mexico 2 - Canada 3");
+
+            // New games must still be ordered after every game started before the restart
+            scoreboard.startGame("Germany", "France");
+            scoreboard.updateScore("Germany", "France", 4, 1);
+            assertSummary(scoreboard, "Germany 4 - France 1", "Spain 3 - Brazil 2", "Mexico 2 - Canada 3");
+        }
+    }
+
+    @Test
+    void shouldMakeChangesDurableOnSync() throws Exception {
+        ScoreboardJournal journal = new ScoreboardJournal(file, 1000, 60_000);
+        Scoreboard scoreboard = journal.recover();
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+
+        journal.sync();
+
+        // Read the file while the first journal is still open, as after a crash
+        try (ScoreboardJournal reader = new ScoreboardJournal(file, 16, 5)) {
+            assertSummary(reader.recover(), "Mexico 1 - Canada 0");
+        }
+        journal.close();
+    }
+
+    @Test
+    void shouldRecoverFromCheckpointPlusTail() throws Exception {
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            Scoreboard scoreboard = journal.recover();
+            for (int i = 0; i < 100; i++) {
+                scoreboard.startGame("Home " + i, "Away " + i);
+                scoreboard.updateScore("Home " + i, "Away " + i, i % 3, 0);
+                scoreboard.finishGame("Home " + i, "Away " + i);
+            }
+            scoreboard.startGame("Mexico", "Canada");
+            scoreboard.updateScore("Mexico", "Canada", 1, 1);
+            journal.sync();
+            long beforeCheckpoint = Files.size(file);
+
+            journal.checkpoint(scoreboard);
+            assertTrue(Files.size(file) < beforeCheckpoint);
+
+            scoreboard.startGame("Spain", "Brazil");
+            scoreboard.updateScore("Spain", "Brazil", 2, 0);
+        }
+
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            Scoreboard scoreboard = journal.recover();
+            assertSummary(scoreboard, "Spain 2 - Brazil 0", "Mexico 1 - Canada 1");
+
+            scoreboard.startGame("Germany", "France");
+            assertTrue(scoreboard.getSummary().get(2).getCreationOrder() > 100);
+        }
+    }
+
+    @Test
+    void shouldDropTornRecordAtEndOfJournal() throws Exception {
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            Scoreboard scoreboard = journal.recover();
+            scoreboard.startGame("Mexico", "Canada");
+            scoreboard.updateScore("Mexico", "Canada", 1, 0);
+        }
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2}));
+        }
+
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            Scoreboard scoreboard = journal.recover();
+            assertSummary(scoreboard, "Mexico 1 - Canada 0");
+            assertEquals(intact, Files.size(file));
+
+            scoreboard.updateScore("Mexico", "Canada", 2, 0);
+        }
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            assertSummary(journal.recover(), "Mexico 2 - Canada 0");
+        }
+    }
+
+    @Test
+    void shouldDropRecordWhoseLengthRunsPastEndOfJournal() throws Exception {
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            journal.recover().startGame("Mexico", "Canada");
+        }
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(64).putInt(Integer.MAX_VALUE - 4).putInt(7).rewind());
+        }
+
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            assertSummary(journal.recover(), "Mexico 0 - Canada 0");
+            assertEquals(intact, Files.size(file));
+        }
+    }
+
+    @Test
+    void shouldJournalEveryEventOfBatch() throws Exception {
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            journal.recover().applyBatch(List.of(
+                    ScoreEvent.start("Mexico", "Canada"),
+                    ScoreEvent.start("Spain", "Brazil"),
+                    ScoreEvent.update("Mexico", "Canada", 1, 0),
+                    ScoreEvent.finish("Spain", "Brazil")
+            ));
+        }
+
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            assertSummary(journal.recover(), "Mexico 1 - Canada 0");
+        }
+    }
+
+    @Test
+    void shouldFailJournalButKeepBoardWhenNameIsTooLongToJournal() throws Exception {
+        String longName = "x".repeat(70_000);
+        ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5);
+        Scoreboard scoreboard = journal.recover();
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertThrows(UncheckedIOException.class, () -> scoreboard.applyBatch(List.of(
+                ScoreEvent.update("Mexico", "Canada", 1, 0),
+                ScoreEvent.start(longName, "Brazil"),
+                ScoreEvent.start("Germany", "France")
+        )));
+
+        assertSummary(scoreboard, "Mexico 1 - Canada 0", "Germany 0 - France 0", longName + " 0 - Brazil 0");
+        assertThrows(UncheckedIOException.class, () -> scoreboard.updateScore("Mexico", "Canada", 2, 0));
+        assertEquals(2, scoreboard.getSummary().get(0).getHomeScore());
+        assertThrows(IOException.class, journal::sync);
+        assertThrows(IOException.class, journal::close);
+
+        try (ScoreboardJournal reader = new ScoreboardJournal(file, 16, 5)) {
+            assertSummary(reader.recover(), "Mexico 1 - Canada 0");
+        }
+    }
+
+    @Test
+    void shouldKeepJournalWhenCheckpointFails() throws Exception {
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 1000, 60_000)) {
+            Scoreboard scoreboard = journal.recover();
+            scoreboard.startGame("Mexico", "Canada");
+            // A directory where the snapshot is to be written makes writing it fail
+            Files.createDirectory(directory.resolve(file.getFileName() + ".tmp"));
+
+            assertThrows(IOException.class, () -> journal.checkpoint(scoreboard));
+            scoreboard.updateScore("Mexico", "Canada", 1, 0);
+            journal.sync();
+        }
+
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            assertSummary(journal.recover(), "Mexico 1 - Canada 0");
+        }
+    }
+
+    @Test
+    void shouldRejectSecondRecovery() throws Exception {
+        try (ScoreboardJournal journal = new ScoreboardJournal(file, 16, 5)) {
+            journal.recover();
+
+            assertThrows(IllegalStateException.class, journal::recover);
+        }
+    }
+
+    private void assertSummary(Scoreboard scoreboard, String... expected) {
+        List<String> actual = scoreboard.getSummary().stream()
+                .map(Match::toString)
+                .collect(Collectors.toList());
+        assertEquals(List.of(expected), actual);
+    }
+}
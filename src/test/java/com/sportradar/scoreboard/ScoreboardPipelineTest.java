@@ -0,0 +1,170 @@
+package com.sportradar.scoreboard;
+
+import com.sportradar.scoreboard.ScoreboardPipeline.WaitStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardPipelineTest {
+
+    @Test
+    void shouldApplyCommandsInPublishOrder() {
+        Scoreboard scoreboard = new Scoreboard();
+        ScoreboardPipeline pipeline = new ScoreboardPipeline(scoreboard, 8, WaitStrategy.YIELD);
+
+        pipeline.startGame("Mexico", "Canada");
+        pipeline.updateScore("Mexico", "Canada", 0, 5);
+        pipeline.startGame("Spain", "Brazil");
+        long last = pipeline.updateScore("Spain", "Brazil", 3, 2);
+        pipeline.awaitApplied(last);
+        pipeline.close();
+
+        assertEquals(4, last);
+        assertEquals(4, pipeline.getAppliedSequence());
+        assertEquals(List.of("Spain 3 - Brazil 2", "Mexico 0 - Canada 5"), toStrings(scoreboard.getSummary()));
+    }
+
+    @Test
+    void shouldKeepEachProducersOrderThroughSmallRingWithEveryWaitStrategy() throws Exception {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            Scoreboard scoreboard = new Scoreboard();
+            ScoreboardPipeline pipeline = new ScoreboardPipeline(scoreboard, 4, waitStrategy);
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < 4; p++) {
+                String home = "Home " + p;
+                producers.add(new Thread(() -> {
+                    for (int match = 0; match < 20; match++) {
+                        String away = "Away " + match;
+                        pipeline.startGame(home, away);
+                        for (int score = 1; score <= 10; score++) {
+                            pipeline.updateScore(home, away, score, 0);
+                        }
+                        if (match % 2 == 0) {
+                            pipeline.finishGame(home, away);
+                        }
+                    }
+                }));
+            }
+            for (Thread producer : producers) {
+                producer.start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            pipeline.close();
+
+            List<String> expected = new ArrayList<>();
+            for (int p = 0; p < 4; p++) {
+                for (int match = 1; match < 20; match += 2) {
+                    expected.add("Home " + p + " 10 - Away " + match + " 0");
+                }
+            }
+            List<String> actual = toStrings(scoreboard.getSummary());
+            Collections.sort(expected);
+            Collections.sort(actual);
+            assertEquals(expected, actual, waitStrategy.name());
+            assertEquals(0, pipeline.getRejected());
+            assertEquals(0, pipeline.getBacklog());
+        }
+    }
+
+    @Test
+    void shouldCountCommandsTheScoreboardRefuses() {
+        Scoreboard scoreboard = new Scoreboard();
+        ScoreboardPipeline pipeline = new ScoreboardPipeline(scoreboard, 8, WaitStrategy.PARK);
+
+        pipeline.startGame("Mexico", "Canada");
+        pipeline.startGame("Mexico", "Canada");
+        pipeline.updateScore("Spain", "Brazil", 1, 0);
+        pipeline.updateScore("Mexico", "Canada", -1, 0);
+        pipeline.awaitApplied(pipeline.finishGame(" ", "Canada"));
+        pipeline.close();
+
+        assertEquals(4, pipeline.getRejected());
+        assertEquals(List.of("Mexico 0 - Canada 0"), toStrings(scoreboard.getSummary()));
+    }
+
+    @Test
+    void shouldKeepDrainingWhenCommandThrows() {
+        Scoreboard scoreboard = new Scoreboard();
+        IllegalStateException boom = new IllegalStateException("boom");
+        scoreboard.addListener(new ScoreboardListener() {
+            @Override
+            public void onScoreUpdated(Match match) {
+                throw boom;
+            }
+        });
+        ScoreboardPipeline pipeline = new ScoreboardPipeline(scoreboard, 8, WaitStrategy.YIELD);
+
+        pipeline.startGame("Mexico", "Canada");
+        pipeline.updateScore("Mexico", "Canada", 1, 0);
+        pipeline.awaitApplied(pipeline.startGame("Spain", "Brazil"));
+        pipeline.close();
+
+        assertEquals(1, pipeline.getRejected());
+        assertSame(boom, pipeline.getFailure());
+        assertEquals(List.of("Mexico 1 - Canada 0", "Spain 0 - Brazil 0"), toStrings(scoreboard.getSummary()));
+    }
+
+    @Test
+    void shouldApplyEveryCommandPublishedWhileClosing() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            Scoreboard scoreboard = new Scoreboard();
+            ScoreboardPipeline pipeline = new ScoreboardPipeline(scoreboard, 64, WaitStrategy.YIELD);
+            long[] last = new long[4];
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < last.length; p++) {
+                int producer = p;
+                producers.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; ; i++) {
+                            last[producer] = pipeline.startGame("Home " + producer, "Away " + i);
+                        }
+                    } catch (IllegalStateException e) {
+                        // Closed
+                    }
+                }));
+            }
+            for (Thread producer : producers) {
+                producer.start();
+            }
+            Thread.sleep(1);
+            pipeline.close();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            for (long sequence : last) {
+                assertTrue(sequence <= pipeline.getAppliedSequence());
+            }
+            assertEquals(0, pipeline.getBacklog());
+        }
+    }
+
+    @Test
+    void shouldRefuseCommandsOnceClosed() {
+        ScoreboardPipeline pipeline = new ScoreboardPipeline(new Scoreboard(), 8, WaitStrategy.BUSY_SPIN);
+        pipeline.close();
+
+        assertThrows(IllegalStateException.class, () -> pipeline.startGame("Mexico", "Canada"));
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardPipeline(null, 8, WaitStrategy.YIELD));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardPipeline(new Scoreboard(), 8, null));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardPipeline(new Scoreboard(), 0, WaitStrategy.YIELD));
+    }
+
+    private static List<String> toStrings(List<Match> matches) {
+        List<String> result = new ArrayList<>();
+        for (Match match : matches) {
+            result.add(match.toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,181 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardRegistryTest {
+    private final ScoreboardRegistry registry = new ScoreboardRegistry(4);
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void shouldOrderSummaryAcrossShardsLikeSingleScoreboard() {
+        Scoreboard expected = new Scoreboard();
+        String[][] games = {
+                {"Mexico", "Canada", "0", "5"},
+                {"Spain", "Brazil", "10", "2"},
+                {"Germany", "France", "2", "2"},
+                {"Uruguay", "Italy", "6", "6"},
+                {"Argentina", "Australia", "3", "1"}
+        };
+        for (String[] game : games) {
+            registry.startGame(game[0], game[1]).join();
+            expected.startGame(game[0], game[1]);
+        }
+        for (String[] game : games) {
+            int homeScore = Integer.parseInt(game[2]);
+            int awayScore = Integer.parseInt(game[3]);
+            registry.updateScore(game[0], game[1], homeScore, awayScore).join();
+            expected.updateScore(game[0], game[1], homeScore, awayScore);
+        }
+
+        List<String> summary = new ArrayList<>();
+        for (MatchView match : registry.getSummary()) {
+            summary.add(match.toString());
+        }
+        List<String> expectedSummary = new ArrayList<>();
+        for (Match match : expected.getSummary()) {
+            expectedSummary.add(match.toString());
+        }
+        assertEquals(expectedSummary, summary);
+        assertEquals(expectedSummary.subList(0, 2), toStrings(registry.getTopN(2)));
+    }
+
+    @Test
+    void shouldBreakTiesInOrderOfStartCallsWhenPipelined() {
+        // Shards interleave differently from run to run, so try a few
+        for (int round = 0; round < 20; round++) {
+            try (ScoreboardRegistry pipelined = new ScoreboardRegistry(4)) {
+                List<CompletableFuture<MatchView>> pending = new ArrayList<>();
+                List<String> expected = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    pending.add(pipelined.startGame("Home " + i, "Away " + i));
+                    expected.add(0, "Home " + i + " 0 - Away " + i + " 0");
+                }
+                CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
+                assertEquals(expected, toStrings(pipelined.getSummary()));
+            }
+        }
+    }
+
+    @Test
+    void shouldRemoveFinishedGames() {
+        registry.startGame("Mexico", "Canada").join();
+        registry.startGame("Spain", "Brazil").join();
+
+        registry.finishGame("Mexico", "Canada").join();
+
+        assertEquals(List.of("Spain 0 - Brazil 0"), toStrings(registry.getSummary()));
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWithScoreboardErrors() {
+        registry.startGame("Mexico", "Canada").join();
+
+        CompletionException duplicate = assertThrows(CompletionException.class,
+                () -> registry.startGame("Mexico", "Canada").join());
+        assertTrue(duplicate.getCause() instanceof IllegalStateException);
+        CompletionException missing = assertThrows(CompletionException.class,
+                () -> registry.updateScore("Spain", "Brazil", 1, 0).join());
+        assertTrue(missing.getCause() instanceof IllegalStateException);
+        CompletionException negative = assertThrows(CompletionException.class,
+                () -> registry.updateScore("Mexico", "Canada", -1, 0).join());
+        assertTrue(negative.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void shouldRejectInvalidTeamNamesImmediately() {
+        assertThrows(IllegalArgumentException.class, () -> registry.startGame(" ", "Canada"));
+        assertThrows(IllegalArgumentException.class, () -> registry.finishGame("Mexico", null));
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardRegistry(0));
+        assertThrows(IllegalArgumentException.class, () -> registry.getTopN(-1));
+    }
+
+    @Test
+    void shouldRejectOperationsAfterClose() {
+        registry.close();
+
+        assertThrows(IllegalStateException.class, () -> registry.startGame("Mexico", "Canada"));
+    }
+
+    @Test
+    void shouldApplyConcurrentWritesFromManyThreads() throws Exception {
+        int threads = 8;
+        int gamesPerThread = 50;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            results.add(callers.submit(() -> {
+                start.await();
+                List<CompletableFuture<Void>> pending = new ArrayList<>();
+                for (int i = 0; i < gamesPerThread; i++) {
+                    String home = "Home " + thread + "-" + i;
+                    String away = "Away " + thread + "-" + i;
+                    registry.startGame(home, away).join();
+                    pending.add(registry.updateScore(home, away, i % 5, 1));
+                }
+                CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        callers.shutdown();
+
+        List<MatchView> summary = registry.getSummary();
+        assertEquals(threads * gamesPerThread, summary.size());
+        for (int i = 1; i < summary.size(); i++) {
+            assertTrue(SummaryIndex.VIEW_ORDER.compare(summary.get(i - 1), summary.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void shouldMergeOrderedParts() {
+        MatchView a = view("A", "B", 0, 3, 0);
+        MatchView b = view("C", "D", 1, 1, 0);
+        MatchView c = view("E", "F", 2, 1, 0);
+        MatchView d = view("G", "H", 3, 0, 0);
+
+        assertEquals(List.of(a, c, b, d), ScoreboardRegistry.merge(
+                new MatchView[][]{{a, b}, {}, {c, d}}, Integer.MAX_VALUE));
+        assertEquals(List.of(a, c), ScoreboardRegistry.merge(new MatchView[][]{{a, b}, {c, d}}, 2));
+        assertTrue(ScoreboardRegistry.merge(new MatchView[0][], 5).isEmpty());
+    }
+
+    private static MatchView view(String home, String away, long creationOrder, int homeScore, int awayScore) {
+        Match match = new Match(new Team(home), new Team(away), creationOrder);
+        match.updateScore(homeScore, awayScore);
+        return match.view();
+    }
+
+    private static List<String> toStrings(List<MatchView> matches) {
+        List<String> result = new ArrayList<>();
+        for (MatchView match : matches) {
+            result.add(match.toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardReplicationTest {
+
+    private Scoreboard primary;
+    private ScoreboardReplicator replicator;
+    private final List<ScoreboardReplica> replicas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primary = new Scoreboard();
+        primary.startGame("Mexico", "Canada");
+        primary.updateScore("Mexico", "Canada", 0, 5);
+        replicator = new ScoreboardReplicator(primary,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 20, 64 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (ScoreboardReplica replica : replicas) {
+            replica.close();
+        }
+        replicator.close();
+    }
+
+    @Test
+    void shouldLoadLiveMatchesOnConnect() throws Exception {
+        ScoreboardReplica replica = connect();
+
+        assertEquals(0, replica.getAppliedSequence());
+        assertEquals(toStrings(primary.getSummary()), toStrings(replica));
+        assertEquals(1, replicator.getReplicaCount());
+    }
+
+    @Test
+    void shouldOrderEveryReplicaLikePrimaryUnderRandomChanges() throws Exception {
+        connect();
+        connect();
+        Random random = new Random(5);
+        List<String[]> live = new ArrayList<>();
+        live.add(new String[]{"Mexico", "Canada"});
+
+        for (int i = 0; i < 3000; i++) {
+            if (i == 1500) {
+                connect();
+            }
+            int action = random.nextInt(5);
+            if (action < 2 || live.isEmpty()) {
+                String[] teams = {"Home " + random.nextInt(100), "Away " + random.nextInt(100)};
+                if (primary.tryStartGame(teams[0], teams[1]) == Scoreboard.Status.OK) {
+                    live.add(teams);
+                }
+            } else if (action == 2) {
+                String[] game = live.remove(random.nextInt(live.size()));
+                primary.finishGame(game[0], game[1]);
+            } else {
+                String[] game = live.get(random.nextInt(live.size()));
+                // Few distinct totals, so that most of the order comes from creation order
+                primary.updateScore(game[0], game[1], random.nextInt(3), random.nextInt(3));
+            }
+        }
+
+        List<String> expected = toStrings(primary.getSummary());
+        for (ScoreboardReplica replica : replicas) {
+            assertTrue(replica.awaitSequence(replicator.getSequence(), 5000));
+            assertEquals(expected, toStrings(replica));
+        }
+    }
+
+    @Test
+    void shouldReportLagWithinHeartbeatWhileIdle() throws Exception {
+        ScoreboardReplica replica = connect();
+        primary.finishGame("Mexico", "Canada");
+
+        assertTrue(replica.awaitSequence(1, 5000));
+        Thread.sleep(100);
+
+        assertTrue(replica.getLagMillis() < 1000, "lag " + replica.getLagMillis());
+        assertTrue(replica.getSummary().isEmpty());
+    }
+
+    @Test
+    void shouldDisconnectReplicaThatFallsTooFarBehind() throws Exception {
+        ScoreboardReplica reading = connect();
+        try (SocketChannel stalled = SocketChannel.open(replicator.getAddress())) {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (replicator.getReplicaCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            int score = 0;
+            while (replicator.getReplicaCount() == 2 && System.currentTimeMillis() < deadline) {
+                // In bursts the reading replica keeps up with, while the stalled one never reads
+                for (int i = 0; i < 100; i++) {
+                    primary.updateScore("Mexico", "Canada", 0, score++ % 100);
+                }
+                assertTrue(reading.awaitSequence(replicator.getSequence(), 5000));
+            }
+
+            assertEquals(1, replicator.getReplicaCount());
+            assertTrue(reading.awaitSequence(replicator.getSequence(), 5000));
+            assertTrue(reading.isConnected());
+        }
+    }
+
+    @Test
+    void shouldStopReplicasWhenPrimaryCloses() throws Exception {
+        ScoreboardReplica replica = connect();
+
+        replicator.close();
+
+        assertFalse(replica.awaitSequence(1, 5000));
+        assertFalse(replica.isConnected());
+        assertNotNull(replica.getFailure());
+        assertEquals(toStrings(primary.getSummary()), toStrings(replica));
+    }
+
+    @Test
+    void shouldDisconnectEveryReplicaWhenNameCannotBeStreamed() throws Exception {
+        ScoreboardReplica replica = connect();
+        String longName = "x".repeat(70_000);
+
+        primary.startGame(longName, "Canada");
+        primary.updateScore(longName, "Canada", 1, 0);
+
+        assertNotNull(replicator.getFailure());
+        assertEquals(0, replicator.getReplicaCount());
+        assertFalse(replica.awaitSequence(1, 5000));
+        assertFalse(replica.isConnected());
+        assertEquals(2, primary.getSummary().size());
+    }
+
+    @Test
+    void shouldFailOnConnectWhenLiveMatchCannotBeStreamed() throws Exception {
+        replicator.close();
+        primary.startGame("x".repeat(70_000), "Canada");
+        replicator = new ScoreboardReplicator(primary, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        try (SocketChannel channel = SocketChannel.open(replicator.getAddress())) {
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+        assertNotNull(replicator.getFailure());
+        assertEquals(0, replicator.getReplicaCount());
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardReplicator(null, address));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardReplicator(primary, null));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardReplicator(primary, address, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardReplica(null));
+    }
+
+    private ScoreboardReplica connect() throws IOException {
+        ScoreboardReplica replica = new ScoreboardReplica(replicator.getAddress());
+        replicas.add(replica);
+        return replica;
+    }
+
+    private static List<String> toStrings(List<Match> matches) {
+        List<String> result = new ArrayList<>();
+        for (Match match : matches) {
+            result.add(match + " #" + match.getCreationOrder());
+        }
+        return result;
+    }
+
+    private static List<String> toStrings(ScoreboardReplica replica) {
+        List<String> result = new ArrayList<>();
+        for (MatchView match : replica.getSummary()) {
+            result.add(match + " #" + match.getCreationOrder());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardSnapshotTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("scoreboard", ".snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".tmp"));
+    }
+
+    @Test
+    void shouldRestoreEmptyScoreboard() throws IOException {
+        ScoreboardSnapshot.write(new Scoreboard(), file);
+
+        assertTrue(ScoreboardSnapshot.load(file).getSummary().isEmpty());
+    }
+
+    @Test
+    void shouldRestoreScoresAndTieBreakOrder() throws IOException {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.startGame("Germany", "France");
+        scoreboard.startGame("Uruguay", "Italy");
+        scoreboard.startGame("Argentina", "Australia");
+        scoreboard.updateScore("Mexico", "Canada", 0, 5);
+        scoreboard.updateScore("Spain", "Brazil", 10, 2);
+        scoreboard.updateScore("Germany", "France", 2, 2);
+        scoreboard.updateScore("Uruguay", "Italy", 6, 6);
+        scoreboard.updateScore("Argentina", "Australia", 3, 1);
+        scoreboard.finishGame("Germany", "France");
+
+        ScoreboardSnapshot.write(scoreboard, file);
+        Scoreboard restored = ScoreboardSnapshot.load(file);
+
+        assertEquals(summary(scoreboard), summary(restored));
+
+        restored.startGame("Germany", "France");
+        assertEquals("Germany 0 - France 0", restored.getSummary().get(4).toString());
+        assertEquals(5, restored.getSummary().get(4).getCreationOrder());
+    }
+
+    @Test
+    void shouldRestoreNonAsciiTeamNamesSharedByMatches() throws IOException {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("C\u00f4te d'Ivoire", "T\u00fcrkiye");
+        scoreboard.startGame("T\u00fcrkiye", "\u65e5\u672c");
+        scoreboard.updateScore("T\u00fcrkiye", "\u65e5\u672c", 1, 0);
+
+        ScoreboardSnapshot.write(scoreboard, file);
+
+        assertEquals(summary(scoreboard), summary(ScoreboardSnapshot.load(file)));
+    }
+
+    @Test
+    void shouldKeepPreviousSnapshotWhenWriteFails() throws IOException {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("Mexico", "Canada");
+        ScoreboardSnapshot.write(scoreboard, file);
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+        // A directory where the new snapshot is to be written makes writing it fail
+        Files.createDirectory(file.resolveSibling(file.getFileName() + ".tmp"));
+
+        assertThrows(IOException.class, () -> ScoreboardSnapshot.write(scoreboard, file));
+
+        assertEquals(List.of("Mexico 0 - Canada 0 #0"), summary(ScoreboardSnapshot.load(file)));
+        ScoreboardSnapshot.write(scoreboard, file);
+        assertEquals(summary(scoreboard), summary(ScoreboardSnapshot.load(file)));
+    }
+
+    @Test
+    void shouldRejectFileThatIsNotASnapshot() throws IOException {
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> ScoreboardSnapshot.load(file));
+    }
+
+    @Test
+    void shouldRejectTruncatedSnapshot() throws IOException {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("Mexico", "Canada");
+        ScoreboardSnapshot.write(scoreboard, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+
+        assertThrows(IOException.class, () -> ScoreboardSnapshot.load(file));
+    }
+
+    private List<String> summary(Scoreboard scoreboard) {
+        return scoreboard.getSummary().stream()
+                .map(match -> match.toString() + " #" + match.getCreationOrder())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,119 @@
+package com.sportradar.scoreboard;
+
+import com.sportradar.scoreboard.ScoreboardMetrics.Failure;
+import com.sportradar.scoreboard.ScoreboardMetrics.Operation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardStatsTest {
+
+    private Scoreboard scoreboard;
+    private ScoreboardStats stats;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new Scoreboard();
+        stats = new ScoreboardStats(1);
+        scoreboard.setMetrics(stats);
+    }
+
+    @Test
+    void shouldCountCompletedOperations() {
+        Match match = scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+        scoreboard.updateScore(match, 2, 0);
+        scoreboard.getSummary();
+        scoreboard.finishGame(match);
+        scoreboard.applyBatch(List.of(ScoreEvent.finish("Spain", "Brazil")));
+
+        assertEquals(2, stats.getCount(Operation.START_GAME));
+        assertEquals(2, stats.getCount(Operation.UPDATE_SCORE));
+        assertEquals(1, stats.getCount(Operation.GET_SUMMARY));
+        assertEquals(1, stats.getCount(Operation.FINISH_GAME));
+        assertEquals(1, stats.getCount(Operation.APPLY_BATCH));
+        assertTrue(stats.getLatency(Operation.UPDATE_SCORE).getMax() > 0);
+    }
+
+    @Test
+    void shouldCountEveryOperationButTimeOnlySampledOnes() {
+        ScoreboardStats sampled = new ScoreboardStats(4);
+        scoreboard.setMetrics(sampled);
+        Match match = scoreboard.startGame("Mexico", "Canada");
+
+        for (int i = 1; i <= 16; i++) {
+            scoreboard.updateScore(match, i, 0);
+        }
+
+        assertEquals(16, sampled.getCount(Operation.UPDATE_SCORE));
+        assertEquals(4, sampled.getLatency(Operation.UPDATE_SCORE).getCount());
+    }
+
+    @Test
+    void shouldRejectNonPositiveSampleInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoreboardStats(0));
+    }
+
+    @Test
+    void shouldCountFailuresByCause() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertThrows(IllegalStateException.class, () -> scoreboard.startGame("Mexico", "Canada"));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.startGame("Mexico", "Mexico"));
+        assertThrows(IllegalStateException.class, () -> scoreboard.updateScore("Spain", "Brazil", 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.updateScore("Mexico", "Canada", -1, 0));
+        assertThrows(IllegalStateException.class, () -> scoreboard.finishGame("Spain", "Brazil"));
+        assertThrows(IllegalStateException.class,
+                () -> scoreboard.applyBatch(List.of(ScoreEvent.start("Mexico", "Canada"))));
+        assertThrows(IllegalStateException.class,
+                () -> scoreboard.applyBatch(List.of(ScoreEvent.finish("Spain", "Brazil"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> scoreboard.applyBatch(List.of(ScoreEvent.start("Spain", "Spain"))));
+
+        assertEquals(1, stats.getFailures(Operation.START_GAME, Failure.DUPLICATE_MATCH));
+        assertEquals(1, stats.getFailures(Operation.START_GAME, Failure.BAD_INPUT));
+        assertEquals(1, stats.getFailures(Operation.UPDATE_SCORE, Failure.MATCH_NOT_FOUND));
+        assertEquals(1, stats.getFailures(Operation.UPDATE_SCORE, Failure.BAD_INPUT));
+        assertEquals(1, stats.getFailures(Operation.FINISH_GAME, Failure.MATCH_NOT_FOUND));
+        assertEquals(1, stats.getFailures(Operation.APPLY_BATCH, Failure.DUPLICATE_MATCH));
+        assertEquals(1, stats.getFailures(Operation.APPLY_BATCH, Failure.MATCH_NOT_FOUND));
+        assertEquals(1, stats.getFailures(Operation.APPLY_BATCH, Failure.BAD_INPUT));
+        assertEquals(1, stats.getCount(Operation.START_GAME));
+        assertEquals(0, stats.getCount(Operation.UPDATE_SCORE));
+    }
+
+    @Test
+    void shouldTrackLiveMatches() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.finishGame("Mexico", "Canada");
+
+        assertEquals(1, stats.getLiveMatches());
+        assertEquals(2, stats.getPeakLiveMatches());
+    }
+
+    @Test
+    void shouldReportLiveMatchesWhenInstalled() {
+        Scoreboard other = new Scoreboard();
+        other.startGame("Mexico", "Canada");
+        ScoreboardStats installed = new ScoreboardStats();
+
+        other.setMetrics(installed);
+
+        assertEquals(1, installed.getLiveMatches());
+    }
+
+    @Test
+    void shouldStopRecordingWhenNoopInstalled() {
+        scoreboard.setMetrics(ScoreboardMetrics.NOOP);
+
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertEquals(0, stats.getCount(Operation.START_GAME));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.setMetrics(null));
+    }
+}
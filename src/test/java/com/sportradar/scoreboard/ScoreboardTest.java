@@ -3,6 +3,7 @@ package com.sportradar.scoreboard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -165,4 +166,301 @@ class ScoreboardTest {
         assertEquals("Spain", summary.get(0).getHomeTeam().getName());
         assertEquals("Mexico", summary.get(1).getHomeTeam().getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReorderSummaryWhenScoreChanges() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+        assertEquals("Mexico", scoreboard.getSummary().get(0).getHomeTeam().getName());
+
+        scoreboard.updateScore("Spain", "Brazil", 1, 1);
+        assertEquals("Spain", scoreboard.getSummary().get(0).getHomeTeam().getName());
+
+        scoreboard.updateScore("Spain", "Brazil", 0, 0);
+        assertEquals("Mexico", scoreboard.getSummary().get(0).getHomeTeam().getName());
+    }
+
+    @Test
+    void shouldKeepSummaryOrderWhenUpdateIsRejected() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.updateScore("Mexico", "Canada", 2, 0);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> scoreboard.updateScore("Mexico", "Canada", -1, 0)
+        );
+
+        List<Match> summary = scoreboard.getSummary();
+        assertEquals(2, summary.size());
+        assertEquals("Mexico", summary.get(0).getHomeTeam().getName());
+        assertEquals(2, summary.get(0).getHomeScore());
+    }
+
+    @Test
+    void shouldUpdateScoreThroughMatchHandle() {
+        Match mexicoCanada = scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+
+        scoreboard.updateScore(mexicoCanada, 1, 2);
+
+        List<Match> summary = scoreboard.getSummary();
+        assertSame(mexicoCanada, summary.get(0));
+        assertEquals(3, summary.get(0).getTotalScore());
+    }
+
+    @Test
+    void shouldFinishGameThroughMatchHandle() {
+        Match mexicoCanada = scoreboard.startGame("Mexico", "Canada");
+
+        scoreboard.finishGame(mexicoCanada);
+
+        assertTrue(scoreboard.getSummary().isEmpty());
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> scoreboard.updateScore(mexicoCanada, 1, 0)
+        );
+        assertEquals("Match between Mexico and Canada does not exist", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectMatchHandleFromAnotherScoreboard() {
+        scoreboard.startGame("Mexico", "Canada");
+        Match foreign = new Scoreboard().startGame("Mexico", "Canada");
+
+        assertThrows(IllegalStateException.class, () -> scoreboard.finishGame(foreign));
+        assertEquals(1, scoreboard.getSummary().size());
+    }
+
+    @Test
+    void shouldRejectNullMatchHandle() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> scoreboard.updateScore(null, 1, 0)
+        );
+        assertEquals("Match cannot be null", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectInvalidTeamNameWhenUpdating() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> scoreboard.updateScore(" ", "Canada", 1, 0)
+        );
+    }
+
+    @Test
+    void shouldReportStartRefusalsAsStatus() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertEquals(Scoreboard.Status.OK, scoreboard.tryStartGame("Spain", "Brazil"));
+        assertEquals(Scoreboard.Status.MATCH_EXISTS, scoreboard.tryStartGame("Mexico", "Canada"));
+        assertEquals(Scoreboard.Status.SAME_TEAMS, scoreboard.tryStartGame("Spain", "Spain"));
+        assertEquals(Scoreboard.Status.INVALID_TEAM_NAME, scoreboard.tryStartGame(null, "Spain"));
+        assertEquals(Scoreboard.Status.INVALID_TEAM_NAME, scoreboard.tryStartGame("Spain", " "));
+        assertEquals(2, scoreboard.getSummary().size());
+    }
+
+    @Test
+    void shouldNotRegisterTeamOfRefusedStart() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertEquals(Scoreboard.Status.SAME_TEAMS, scoreboard.tryStartGame("Spain", "Spain"));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.startGame("Brazil", "Brazil"));
+
+        assertEquals(2, scoreboard.getTeamCount());
+    }
+
+    @Test
+    void shouldRegisterTeamsOfBatchOnlyOnceItIsValid() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertThrows(IllegalStateException.class,
+                () -> scoreboard.applyBatch(List.of(ScoreEvent.update("Foo", "Bar", 1, 0))));
+        assertThrows(IllegalStateException.class, () -> scoreboard.applyBatch(List.of(
+                ScoreEvent.start("Spain", "Brazil"), ScoreEvent.start("Spain", "Brazil"))));
+        assertEquals(2, scoreboard.getTeamCount());
+
+        scoreboard.applyBatch(List.of(ScoreEvent.start("Spain", "Brazil"),
+                ScoreEvent.update("Spain", "Brazil", 1, 0), ScoreEvent.start("Brazil", "Mexico")));
+        assertEquals(4, scoreboard.getTeamCount());
+        assertEquals("Spain 1 - Brazil 0", scoreboard.getSummary().get(0).toString());
+        assertEquals(3, scoreboard.getSummary().size());
+    }
+
+    @Test
+    void shouldReportUpdateRefusalsAsStatus() {
+        Match match = scoreboard.startGame("Mexico", "Canada");
+
+        assertEquals(Scoreboard.Status.OK, scoreboard.tryUpdateScore("Mexico", "Canada", 1, 0));
+        assertEquals(Scoreboard.Status.OK, scoreboard.tryUpdateScore(match, 2, 0));
+        assertEquals(Scoreboard.Status.MATCH_NOT_FOUND, scoreboard.tryUpdateScore("Spain", "Brazil", 1, 0));
+        assertEquals(Scoreboard.Status.MATCH_NOT_FOUND, scoreboard.tryUpdateScore("Canada", "Mexico", 1, 0));
+        assertEquals(Scoreboard.Status.INVALID_TEAM_NAME, scoreboard.tryUpdateScore("", "Canada", 1, 0));
+        assertEquals(Scoreboard.Status.NEGATIVE_SCORE, scoreboard.tryUpdateScore("Mexico", "Canada", -1, 0));
+        assertEquals(Scoreboard.Status.NEGATIVE_SCORE, scoreboard.tryUpdateScore(match, 0, -1));
+        assertEquals(Scoreboard.Status.NULL_MATCH, scoreboard.tryUpdateScore(null, 1, 0));
+        assertEquals("Mexico 2 - Canada 0", scoreboard.getSummary().get(0).toString());
+    }
+
+    @Test
+    void shouldReportFinishRefusalsAsStatus() {
+        Match match = scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+
+        assertEquals(Scoreboard.Status.OK, scoreboard.tryFinishGame("Spain", "Brazil"));
+        assertEquals(Scoreboard.Status.MATCH_NOT_FOUND, scoreboard.tryFinishGame("Spain", "Brazil"));
+        assertEquals(Scoreboard.Status.INVALID_TEAM_NAME, scoreboard.tryFinishGame("Spain", null));
+        assertEquals(Scoreboard.Status.NULL_MATCH, scoreboard.tryFinishGame(null));
+        assertEquals(Scoreboard.Status.OK, scoreboard.tryFinishGame(match));
+        assertEquals(Scoreboard.Status.MATCH_NOT_FOUND, scoreboard.tryFinishGame(match));
+        assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+    @Test
+    void shouldFindLiveMatchesByTeam() {
+        Match mexicoCanada = scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+
+        assertEquals(List.of(mexicoCanada), scoreboard.findByTeam("Mexico"));
+        assertEquals(List.of(mexicoCanada), scoreboard.findByTeam("Canada"));
+        assertTrue(scoreboard.findByTeam("Germany").isEmpty());
+    }
+
+    @Test
+    void shouldKeepTeamIndexUpToDate() {
+        scoreboard.findByTeam("Mexico");
+        Match first = scoreboard.startGame("Mexico", "Canada");
+        Match second = scoreboard.startGame("Spain", "Mexico");
+        scoreboard.applyBatch(List.of(
+                ScoreEvent.start("Mexico", "Brazil"),
+                ScoreEvent.finish("Mexico", "Canada")
+        ));
+
+        List<Match> found = scoreboard.findByTeam("Mexico");
+
+        assertEquals(2, found.size());
+        assertSame(second, found.get(0));
+        assertEquals("Mexico 0 - Brazil 0", found.get(1).toString());
+        assertTrue(scoreboard.findByTeam("Canada").isEmpty());
+        scoreboard.finishGame(second);
+        assertEquals(1, scoreboard.findByTeam("Mexico").size());
+        assertTrue(scoreboard.findByTeam("Spain").isEmpty());
+        assertFalse(scoreboard.findByTeam("Brazil").contains(first));
+    }
+
+    @Test
+    void shouldRejectInvalidTeamNameWhenFinding() {
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.findByTeam(" "));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.findByTeam(null));
+    }
+
+    @Test
+    void shouldApplyBatchInOrder() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        scoreboard.applyBatch(List.of(
+                ScoreEvent.start("Spain", "Brazil"),
+                ScoreEvent.update("Mexico", "Canada", 0, 1),
+                ScoreEvent.update("Spain", "Brazil", 1, 0),
+                ScoreEvent.update("Mexico", "Canada", 0, 2),
+                ScoreEvent.start("Germany", "France"),
+                ScoreEvent.finish("Germany", "France"),
+                ScoreEvent.start("Germany", "France"),
+                ScoreEvent.update("Germany", "France", 1, 1)
+        ));
+
+        List<Match> summary = scoreboard.getSummary();
+        assertEquals(3, summary.size());
+        assertEquals("Germany 1 - France 1", summary.get(0).toString());
+        assertEquals("Mexico 0 - Canada 2", summary.get(1).toString());
+        assertEquals("Spain 1 - Brazil 0", summary.get(2).toString());
+    }
+
+    @Test
+    void shouldApplyNothingWhenAnyBatchEventIsInvalid() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> scoreboard.applyBatch(List.of(
+                        ScoreEvent.update("Mexico", "Canada", 3, 0),
+                        ScoreEvent.finish("Mexico", "Canada"),
+                        ScoreEvent.update("Mexico", "Canada", 4, 0)
+                ))
+        );
+        assertEquals("Match between Mexico and Canada does not exist", exception.getMessage());
+
+        List<Match> summary = scoreboard.getSummary();
+        assertEquals(1, summary.size());
+        assertEquals("Mexico 0 - Canada 0", summary.get(0).toString());
+    }
+
+    @Test
+    void shouldRejectBatchWithNegativeScore() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> scoreboard.applyBatch(List.of(ScoreEvent.update("Mexico", "Canada", -1, 0)))
+        );
+        assertEquals("Scores cannot be negative", exception.getMessage());
+    }
+
+    @Test
+    void shouldReturnTopNMatches() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.startGame("Germany", "France");
+        scoreboard.updateScore("Mexico", "Canada", 3, 0);
+
+        List<Match> top = scoreboard.getTopN(2);
+
+        assertEquals(2, top.size());
+        assertEquals("Mexico", top.get(0).getHomeTeam().getName());
+        assertEquals("Germany", top.get(1).getHomeTeam().getName());
+        assertEquals(3, scoreboard.getTopN(10).size());
+        assertTrue(scoreboard.getTopN(0).isEmpty());
+    }
+
+    @Test
+    void shouldRejectNegativeTopN() {
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.getTopN(-1));
+    }
+
+    @Test
+    void shouldPageThroughSummaryInOrder() {
+        for (int i = 0; i < 7; i++) {
+            scoreboard.startGame("Home " + i, "Away " + i);
+            scoreboard.updateScore("Home " + i, "Away " + i, i % 3, 0);
+        }
+        List<Match> expected = scoreboard.getSummary();
+
+        List<Match> paged = new ArrayList<>();
+        SummaryPage page = scoreboard.getSummaryPage(null, 3);
+        paged.addAll(page.getMatches());
+        while (page.hasNext()) {
+            page = scoreboard.getSummaryPage(page.getNextCursor(), 3);
+            paged.addAll(page.getMatches());
+        }
+
+        assertEquals(expected, paged);
+        assertEquals(1, page.getMatches().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldReturnEmptyLastPageWhenSummaryIsEmpty() {
+        SummaryPage page = scoreboard.getSummaryPage(null, 20);
+
+        assertTrue(page.getMatches().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void shouldRejectNonPositivePageSize() {
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.getSummaryPage(null, 0));
+    }
+}
@@ -0,0 +1,355 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryDeltaPublisherTest {
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    void shouldSendCurrentSummaryOnSubscribe() {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        assertEquals(List.of(
+                "INSERTED Spain 0 - Brazil 0 (-1 -> 0, version 2)",
+                "INSERTED Mexico 0 - Canada 0 (-1 -> 1, version 2)"
+        ), subscriber.received());
+    }
+
+    @Test
+    void shouldEmitOneDeltaPerChange() {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("Mexico", "Canada");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreboard.subscribe(subscriber, DIRECT);
+        subscriber.deltas.clear();
+
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+        scoreboard.updateScore("Mexico", "Canada", 2, 0);
+        scoreboard.finishGame("Spain", "Brazil");
+
+        assertEquals(List.of(
+                "INSERTED Spain 0 - Brazil 0 (-1 -> 0, version 2)",
+                "MOVED Mexico 1 - Canada 0 (1 -> 0, version 3)",
+                "SCORE_CHANGED Mexico 2 - Canada 0 (0 -> 0, version 4)",
+                "REMOVED Spain 0 - Brazil 0 (1 -> -1, version 5)"
+        ), subscriber.received());
+    }
+
+    @Test
+    void shouldHoldDeltasUntilRequested() {
+        Scoreboard scoreboard = new Scoreboard();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        assertTrue(subscriber.deltas.isEmpty());
+
+        subscriber.subscription.request(1);
+        assertEquals(List.of("INSERTED Mexico 0 - Canada 0 (-1 -> 0, version 1)"), subscriber.received());
+
+        subscriber.subscription.request(5);
+        assertEquals(2, subscriber.deltas.size());
+        assertEquals("INSERTED Spain 0 - Brazil 0 (-1 -> 0, version 2)", subscriber.deltas.get(1).toString());
+    }
+
+    @Test
+    void shouldCoalesceChangesWhileSubscriberIsBehind() {
+        Scoreboard scoreboard = new Scoreboard();
+        Match mexico = scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.subscribe(subscriber, DIRECT);
+        subscriber.subscription.request(2);
+        subscriber.deltas.clear();
+
+        for (int i = 1; i <= 1000; i++) {
+            scoreboard.updateScore(mexico, i, 0);
+        }
+        scoreboard.startGame("Germany", "France");
+        scoreboard.finishGame("Germany", "France");
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(List.of("MOVED Mexico 1000 - Canada 0 (1 -> 0, version 1002)"), subscriber.received());
+    }
+
+    @Test
+    void shouldEmitNetChangesOfBatch() {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreboard.subscribe(subscriber, DIRECT);
+        subscriber.deltas.clear();
+
+        scoreboard.applyBatch(List.of(
+                ScoreEvent.finish("Spain", "Brazil"),
+                ScoreEvent.start("Germany", "France"),
+                ScoreEvent.update("Mexico", "Canada", 1, 0),
+                ScoreEvent.update("Germany", "France", 2, 2),
+                ScoreEvent.start("Uruguay", "Italy"),
+                ScoreEvent.finish("Uruguay", "Italy")
+        ));
+
+        List<String> received = subscriber.received();
+        assertEquals(3, received.size());
+        assertEquals("REMOVED Spain 0 - Brazil 0 (0 -> -1, version 3)", received.get(0));
+        assertTrue(received.contains("INSERTED Germany 2 - France 2 (-1 -> 0, version 3)"));
+        assertTrue(received.contains("SCORE_CHANGED Mexico 1 - Canada 0 (1 -> 1, version 3)"));
+    }
+
+    @Test
+    void shouldReplayToSummaryAfterChangesInterleaveWhileBehind() {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("Uruguay", "Italy");
+        scoreboard.startGame("Mexico", "Canada");
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        scoreboard.updateScore("Uruguay", "Italy", 1, 0);
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.updateScore("Uruguay", "Italy", 0, 0);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(views(scoreboard.getSummary()), replay(subscriber.deltas));
+    }
+
+    @Test
+    void shouldReplayToSummaryAfterRandomChanges() {
+        Random random = new Random(42);
+        Scoreboard scoreboard = new Scoreboard();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        for (int round = 0; round < 200; round++) {
+            List<ScoreEvent> events = new ArrayList<>();
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                events.add(randomEvent(random));
+            }
+            if (events.size() > 1) {
+                try {
+                    scoreboard.applyBatch(events);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    // Rejected as a whole, the board is unchanged
+                }
+            } else {
+                ScoreEvent event = events.get(0);
+                if (event.getType() == ScoreEvent.Type.START) {
+                    scoreboard.tryStartGame(event.getHomeTeamName(), event.getAwayTeamName());
+                } else if (event.getType() == ScoreEvent.Type.UPDATE) {
+                    scoreboard.tryUpdateScore(event.getHomeTeamName(), event.getAwayTeamName(),
+                            event.getHomeScore(), event.getAwayScore());
+                } else {
+                    scoreboard.tryFinishGame(event.getHomeTeamName(), event.getAwayTeamName());
+                }
+            }
+            if (random.nextInt(5) == 0) {
+                subscriber.subscription.request(1 + random.nextInt(3));
+            }
+        }
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(views(scoreboard.getSummary()), replay(subscriber.deltas));
+    }
+
+    @Test
+    void shouldResyncSubscriberThatFallsTooFarBehind() {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.startGame("Mexico", "Canada");
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        for (int i = 0; i < 2 * SummaryDeltaPublisher.SLACK; i++) {
+            scoreboard.startGame("Home " + i, "Away " + i);
+        }
+        for (int i = 0; i < 2 * SummaryDeltaPublisher.SLACK; i++) {
+            scoreboard.finishGame("Home " + i, "Away " + i);
+        }
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(SummaryDelta.Type.RESET, subscriber.deltas.get(0).getType());
+        assertTrue(subscriber.deltas.size() <= 2 + SummaryDeltaPublisher.SLACK);
+        assertEquals(views(scoreboard.getSummary()), replay(subscriber.deltas));
+    }
+
+    @Test
+    void shouldStopDeliveringAfterCancel() {
+        Scoreboard scoreboard = new Scoreboard();
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        subscriber.subscription.cancel();
+        scoreboard.startGame("Mexico", "Canada");
+
+        assertTrue(subscriber.deltas.isEmpty());
+    }
+
+    @Test
+    void shouldCancelSubscriberThatThrows() {
+        Scoreboard scoreboard = new Scoreboard();
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(SummaryDelta item) {
+                super.onNext(item);
+                throw new IllegalStateException("boom");
+            }
+        };
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+
+        assertEquals(1, subscriber.deltas.size());
+    }
+
+    @Test
+    void shouldSignalErrorForNonPositiveRequest() {
+        Scoreboard scoreboard = new Scoreboard();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void shouldRejectDuplicateSubscription() {
+        Scoreboard scoreboard = new Scoreboard();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        scoreboard.subscribe(subscriber, DIRECT);
+
+        assertTrue(subscriber.error instanceof IllegalStateException);
+    }
+
+    @Test
+    void shouldRejectNullSubscriberOrExecutor() {
+        Scoreboard scoreboard = new Scoreboard();
+
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.subscribe(null));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.subscribe(new RecordingSubscriber(0), null));
+    }
+
+    @Test
+    void shouldDeliverOnDefaultExecutor() throws InterruptedException {
+        Scoreboard scoreboard = new Scoreboard();
+        CountDownLatch received = new CountDownLatch(3);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(SummaryDelta item) {
+                super.onNext(item);
+                received.countDown();
+            }
+        };
+        scoreboard.subscribe(subscriber);
+
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.startGame("Germany", "France");
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+    }
+
+    private static ScoreEvent randomEvent(Random random) {
+        int pairing = random.nextInt(8);
+        String home = "Home " + pairing;
+        String away = "Away " + pairing;
+        switch (random.nextInt(4)) {
+            case 0:
+                return ScoreEvent.start(home, away);
+            case 1:
+                return ScoreEvent.finish(home, away);
+            default:
+                return ScoreEvent.update(home, away, random.nextInt(4), random.nextInt(4));
+        }
+    }
+
+    /**
+     * Applies deltas in delivery order: each removes its match at its old rank, if any, then
+     * inserts it at its new rank, if any.
+     */
+    private static List<MatchView> replay(List<SummaryDelta> deltas) {
+        List<MatchView> summary = new ArrayList<>();
+        for (SummaryDelta delta : deltas) {
+            if (delta.getType() == SummaryDelta.Type.RESET) {
+                summary.clear();
+                continue;
+            }
+            if (delta.getOldRank() != SummaryDelta.NO_RANK) {
+                summary.remove(delta.getOldRank());
+            }
+            if (delta.getNewRank() != SummaryDelta.NO_RANK) {
+                summary.add(delta.getNewRank(), delta.getMatch());
+            }
+        }
+        return summary;
+    }
+
+    private static List<MatchView> views(List<Match> matches) {
+        List<MatchView> views = new ArrayList<>();
+        for (Match match : matches) {
+            views.add(match.view());
+        }
+        return views;
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<SummaryDelta> {
+        private final long initialRequest;
+        final List<SummaryDelta> deltas = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(SummaryDelta item) {
+            deltas.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        List<String> received() {
+            List<String> result = new ArrayList<>();
+            for (SummaryDelta delta : deltas) {
+                result.add(delta.toString());
+            }
+            return result;
+        }
+    }
+}
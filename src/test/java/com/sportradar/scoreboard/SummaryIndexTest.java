@@ -0,0 +1,173 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryIndexTest {
+
+    @Test
+    void shouldReturnEmptyListWhenEmpty() {
+        SummaryIndex index = new SummaryIndex();
+
+        assertTrue(index.toList().isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void shouldOrderByTotalScoreThenMostRecentlyAdded() {
+        SummaryIndex index = new SummaryIndex();
+        Match first = newMatch("Mexico", "Canada", 0, 2, 3);
+        Match second = newMatch("Spain", "Brazil", 1, 3, 2);
+        Match third = newMatch("Germany", "France", 2, 1, 0);
+
+        index.insert(first);
+        index.insert(second);
+        index.insert(third);
+
+        assertEquals(List.of(second, first, third), index.toList());
+    }
+
+    @Test
+    void shouldRepositionMatchAfterScoreChange() {
+        SummaryIndex index = new SummaryIndex();
+        Match first = newMatch("Mexico", "Canada", 0, 0, 0);
+        Match second = newMatch("Spain", "Brazil", 1, 0, 0);
+        index.insert(first);
+        index.insert(second);
+
+        index.remove(first);
+        first.updateScore(1, 0);
+        index.insert(first);
+
+        assertEquals(List.of(first, second), index.toList());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void shouldMatchSortedOrderUnderRandomChanges() {
+        SummaryIndex index = new SummaryIndex();
+        List<Match> live = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            int action = random.nextInt(4);
+            if (action == 0 || live.isEmpty()) {
+                Match match = newMatch("Home" + i, "Away" + i, i, 0, 0);
+                index.insert(match);
+                live.add(match);
+            } else if (action == 1) {
+                Match match = live.remove(random.nextInt(live.size()));
+                index.remove(match);
+            } else {
+                Match match = live.get(random.nextInt(live.size()));
+                index.remove(match);
+                match.updateScore(random.nextInt(6), random.nextInt(6));
+                index.insert(match);
+            }
+
+            List<Match> expected = new ArrayList<>(live);
+            expected.sort(SummaryIndex.ORDER);
+            assertEquals(expected, index.toList());
+        }
+    }
+
+    @Test
+    void shouldReportRankUnderRandomChanges() {
+        SummaryIndex index = new SummaryIndex();
+        List<Match> live = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 2000; i++) {
+            int action = random.nextInt(4);
+            if (action == 0 || live.isEmpty()) {
+                Match match = newMatch("Home" + i, "Away" + i, i, random.nextInt(6), 0);
+                index.insert(match);
+                live.add(match);
+            } else if (action == 1) {
+                index.remove(live.remove(random.nextInt(live.size())));
+            } else {
+                Match match = live.get(random.nextInt(live.size()));
+                index.remove(match);
+                match.updateScore(random.nextInt(6), random.nextInt(6));
+                index.insert(match);
+            }
+
+            List<Match> expected = index.toList();
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(j, index.rank(expected.get(j)));
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectRankOfMatchNotInIndex() {
+        SummaryIndex index = new SummaryIndex();
+        index.insert(newMatch("Mexico", "Canada", 0, 0, 0));
+
+        assertThrows(IllegalStateException.class, () -> index.rank(newMatch("Spain", "Brazil", 1, 0, 0)));
+    }
+
+    @Test
+    void shouldLoadMatchesInSummaryOrderAndKeepThemUpdatable() {
+        SummaryIndex index = new SummaryIndex();
+        List<Match> ordered = new ArrayList<>();
+        for (int i = 999; i >= 0; i--) {
+            ordered.add(newMatch("Home" + i, "Away" + i, i, i / 100, 0));
+        }
+
+        index.load(ordered);
+        assertEquals(ordered, index.toList());
+        assertEquals(0, index.rank(ordered.get(0)));
+        assertEquals(999, index.rank(ordered.get(999)));
+
+        Match last = ordered.get(ordered.size() - 1);
+        index.remove(last);
+        last.updateScore(20, 0);
+        index.insert(last);
+        assertSame(last, index.toList().get(0));
+        assertEquals(0, index.rank(last));
+        assertEquals(500, index.rank(ordered.get(499)));
+        assertEquals(1000, index.size());
+    }
+
+    @Test
+    void shouldRejectLoadingMatchesOutOfOrder() {
+        SummaryIndex index = new SummaryIndex();
+        List<Match> unordered = List.of(
+                newMatch("Mexico", "Canada", 0, 0, 0),
+                newMatch("Spain", "Brazil", 1, 0, 0)
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> index.load(unordered));
+        assertEquals(0, index.size());
+        assertTrue(index.toList().isEmpty());
+    }
+
+    @Test
+    void shouldReturnMatchesAfterPosition() {
+        SummaryIndex index = new SummaryIndex();
+        Match first = newMatch("Mexico", "Canada", 0, 2, 0);
+        Match second = newMatch("Spain", "Brazil", 1, 1, 0);
+        Match third = newMatch("Germany", "France", 2, 1, 0);
+        index.insert(first);
+        index.insert(second);
+        index.insert(third);
+
+        assertEquals(List.of(third, second), index.after(2, 0, 5));
+        assertEquals(List.of(second), index.after(1, 2, 5));
+        assertEquals(List.of(third), index.after(1, 5, 1));
+        assertTrue(index.after(1, 1, 5).isEmpty());
+        assertEquals(List.of(first, third), index.first(2));
+    }
+
+    private Match newMatch(String home, String away, long creationOrder, int homeScore, int awayScore) {
+        Match match = new Match(new Team(home), new Team(away), creationOrder);
+        match.updateScore(homeScore, awayScore);
+        return match;
+    }
+}
@@ -0,0 +1,185 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummarySnapshotTest {
+
+    private Scoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        scoreboard = new Scoreboard();
+    }
+
+    @Test
+    void shouldRejectSnapshotWhenNotEnabled() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, scoreboard::getSnapshot);
+        assertEquals("Snapshots are not enabled", exception.getMessage());
+    }
+
+    @Test
+    void shouldPublishSnapshotAfterEveryChange() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.enableSnapshots();
+        SummarySnapshot first = scoreboard.getSnapshot();
+
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+        SummarySnapshot second = scoreboard.getSnapshot();
+
+        assertEquals(1, first.size());
+        assertEquals("Mexico 0 - Canada 0", first.getMatches().get(0).toString());
+        assertEquals(2, second.size());
+        assertEquals("Mexico 1 - Canada 0", second.getMatches().get(0).toString());
+        assertEquals("Spain 0 - Brazil 0", second.getMatches().get(1).toString());
+        assertTrue(second.getVersion() > first.getVersion());
+        assertEquals(scoreboard.getVersion(), second.getVersion());
+    }
+
+    @Test
+    void shouldReuseViewsOfUnchangedMatches() {
+        scoreboard.enableSnapshots();
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        MatchView spainBefore = scoreboard.getSnapshot().getMatches().get(0);
+
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+
+        List<MatchView> after = scoreboard.getSnapshot().getMatches();
+        assertSame(spainBefore, after.get(1));
+        assertEquals(1, after.get(0).getTotalScore());
+    }
+
+    @Test
+    void shouldRenderSummaryAsJsonAndText() {
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.updateScore("Mexico", "Canada", 0, 5);
+
+        assertEquals("{\"version\":3,\"matches\":["
+                        + "{\"home\":\"Mexico\",\"away\":\"Canada\",\"homeScore\":0,\"awayScore\":5},"
+                        + "{\"home\":\"Spain\",\"away\":\"Brazil\",\"homeScore\":0,\"awayScore\":0}]}",
+                decode(scoreboard.getSummaryJson()));
+        assertEquals("Mexico 0 - Canada 5\nSpain 0 - Brazil 0\n", decode(scoreboard.getSummaryText()));
+    }
+
+    @Test
+    void shouldRenderEmptySummary() {
+        assertEquals("{\"version\":0,\"matches\":[]}", decode(scoreboard.getSummaryJson()));
+        assertEquals("", decode(scoreboard.getSummaryText()));
+    }
+
+    @Test
+    void shouldEscapeTeamNamesInJson() {
+        scoreboard.startGame("C\u00f4te \"d'Ivoire\"", "Back\\slash");
+
+        String json = decode(scoreboard.getSummaryJson());
+
+        assertTrue(json.contains("\"home\":\"C\u00f4te \\\"d'Ivoire\\\"\",\"away\":\"Back\\\\slash\""), json);
+    }
+
+    @Test
+    void shouldRenderOnlyChangedRowsAfterChange() {
+        scoreboard.enableSnapshots();
+        scoreboard.startGame("Mexico", "Canada");
+        scoreboard.startGame("Spain", "Brazil");
+        scoreboard.getSnapshot().toJson();
+        MatchView spain = scoreboard.getSnapshot().getMatches().get(0);
+        byte[] spainRow = spain.jsonRow();
+
+        scoreboard.updateScore("Mexico", "Canada", 1, 0);
+
+        assertTrue(decode(scoreboard.getSummaryJson()).contains("\"homeScore\":1"));
+        assertSame(spainRow, scoreboard.getSnapshot().getMatches().get(1).jsonRow());
+    }
+
+    @Test
+    void shouldHandOutIndependentReadOnlyBuffers() {
+        scoreboard.startGame("Mexico", "Canada");
+
+        ByteBuffer first = scoreboard.getSummaryText();
+        first.get(new byte[first.remaining()]);
+        ByteBuffer second = scoreboard.getSummaryText();
+
+        assertTrue(second.isReadOnly());
+        assertEquals(0, second.position());
+        assertEquals("Mexico 0 - Canada 0\n", decode(second));
+    }
+
+    @Test
+    void shouldPublishOnceForBatch() {
+        scoreboard.enableSnapshots();
+        long before = scoreboard.getSnapshot().getVersion();
+
+        scoreboard.applyBatch(List.of(
+                ScoreEvent.start("Mexico", "Canada"),
+                ScoreEvent.update("Mexico", "Canada", 2, 2)
+        ));
+
+        SummarySnapshot snapshot = scoreboard.getSnapshot();
+        assertEquals(before + 1, snapshot.getVersion());
+        assertEquals("Mexico 2 - Canada 2", snapshot.getMatches().get(0).toString());
+    }
+
+    @Test
+    void shouldNotAllowModifyingSnapshot() {
+        scoreboard.enableSnapshots();
+        scoreboard.startGame("Mexico", "Canada");
+
+        List<MatchView> matches = scoreboard.getSnapshot().getMatches();
+
+        assertThrows(UnsupportedOperationException.class, () -> matches.remove(0));
+    }
+
+    @Test
+    void shouldGiveReaderThreadsConsistentSnapshotsWhileWriterRuns() throws Exception {
+        scoreboard.enableSnapshots();
+        for (int i = 0; i < 10; i++) {
+            scoreboard.startGame("Home " + i, "Away " + i);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        Future<?> reader = readers.submit(() -> {
+            long lastVersion = -1;
+            while (running.get()) {
+                SummarySnapshot snapshot = scoreboard.getSnapshot();
+                assertTrue(snapshot.getVersion() >= lastVersion);
+                lastVersion = snapshot.getVersion();
+                // Every update sets both scores to the same value
+                for (MatchView view : snapshot.getMatches()) {
+                    assertEquals(view.getHomeScore(), view.getAwayScore());
+                }
+                List<MatchView> matches = snapshot.getMatches();
+                for (int i = 1; i < matches.size(); i++) {
+                    assertTrue(matches.get(i - 1).getTotalScore() >= matches.get(i).getTotalScore());
+                }
+            }
+            return null;
+        });
+
+        for (int round = 0; round < 2000; round++) {
+            int i = round % 10;
+            scoreboard.updateScore("Home " + i, "Away " + i, round % 7, round % 7);
+        }
+        running.set(false);
+        reader.get(10, TimeUnit.SECONDS);
+        readers.shutdown();
+    }
+
+    private static String decode(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+}
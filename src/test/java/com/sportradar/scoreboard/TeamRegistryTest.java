@@ -0,0 +1,55 @@
+package com.sportradar.scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamRegistryTest {
+
+    @Test
+    void shouldReturnSameInstanceForSameName() {
+        TeamRegistry registry = new TeamRegistry();
+
+        Team first = registry.intern("Mexico");
+        Team second = registry.intern(new String("Mexico"));
+
+        assertSame(first, second);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void shouldNumberTeamsDenselyInFirstSeenOrder() {
+        TeamRegistry registry = new TeamRegistry(1);
+        for (int i = 0; i < 40; i++) {
+            registry.intern("Team " + i);
+            registry.intern("Team " + (i / 2));
+        }
+
+        for (int id = 0; id < 40; id++) {
+            assertEquals(id, registry.get(id).getId());
+            assertEquals("Team " + id, registry.get(id).getName());
+        }
+        assertEquals(40, registry.size());
+    }
+
+    @Test
+    void shouldFindOnlyInternedTeams() {
+        TeamRegistry registry = new TeamRegistry();
+        Team mexico = registry.intern("Mexico");
+
+        assertSame(mexico, registry.find("Mexico"));
+        assertNull(registry.find("Canada"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void shouldRejectInvalidNames() {
+        TeamRegistry registry = new TeamRegistry();
+
+        assertThrows(IllegalArgumentException.class, () -> registry.intern(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.intern("  "));
+        assertThrows(IllegalArgumentException.class, () -> registry.find(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.find(""));
+        assertEquals(0, registry.size());
+    }
+}
@@ -66,4 +66,17 @@ class TeamTest {
         Team team2 = new Team("mexico");
         assertNotEquals(team1, team2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void teamsOfDifferentRegistriesShouldBeEqualByName() {
+        TeamRegistry first = new TeamRegistry();
+        TeamRegistry second = new TeamRegistry();
+        first.intern("Canada");
+        Team team1 = first.intern("Mexico");
+        Team team2 = second.intern("Mexico");
+
+        assertNotEquals(team1.getId(), team2.getId());
+        assertEquals(team1, team2);
+        assertEquals(Team.NO_ID, new Team("Mexico").getId());
+    }
+}